@@ -1,13 +1,15 @@
 package com.cydeo;
 
 import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
-@SpringBootApplication
+// TaskStreamRepository owns the R2DBC pool, a ConnectionFactory bean would switch off the JDBC DataSource
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
 public class TicketingProjectRestApplication {
 
     public static void main(String[] args) {
@@ -20,9 +22,10 @@ public class TicketingProjectRestApplication {
         return new ModelMapper();
     }
 
+    // the work factor: each step up doubles the cost of a hash
     @Bean
-    public PasswordEncoder encoder(){
-        return new BCryptPasswordEncoder();
+    public BCryptPasswordEncoder encoder(@Value("${password-hashing.strength:10}") int strength){
+        return new BCryptPasswordEncoder(strength);
     }
 
 }
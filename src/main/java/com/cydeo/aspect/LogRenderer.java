@@ -0,0 +1,87 @@
+package com.cydeo.aspect;
+
+import com.cydeo.dto.PageDTO;
+import com.cydeo.dto.ResponseWrapper;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+
+// Renders log arguments up to a character budget. Collections are walked element by element
+// and rendering stops once the budget is used, so a large list response is never turned into
+// one big string.
+final class LogRenderer {
+
+    private static final String TRUNCATED = "...";
+
+    private LogRenderer() {
+    }
+
+    // defers rendering until the logging framework formats the message, which for the async
+    // appender is still on the calling thread
+    static Object lazy(Object value, int maxLength) {
+        return new Object() {
+            @Override
+            public String toString() {
+                return render(value, maxLength);
+            }
+        };
+    }
+
+    static String render(Object value, int maxLength) {
+        StringBuilder builder = new StringBuilder();
+        append(builder, value, maxLength);
+        if (builder.length() > maxLength) {
+            builder.setLength(maxLength);
+            builder.append(TRUNCATED);
+        }
+        return builder.toString();
+    }
+
+    private static void append(StringBuilder builder, Object value, int maxLength) {
+        if (builder.length() > maxLength) {
+            return;
+        }
+
+        if (value instanceof ResponseEntity) {
+            ResponseEntity<?> entity = (ResponseEntity<?>) value;
+            builder.append("ResponseEntity(status=").append(entity.getStatusCodeValue()).append(", body=");
+            append(builder, entity.getBody(), maxLength);
+            builder.append(')');
+        } else if (value instanceof ResponseWrapper) {
+            ResponseWrapper wrapper = (ResponseWrapper) value;
+            builder.append("ResponseWrapper(code=").append(wrapper.getCode())
+                    .append(", message=").append(wrapper.getMessage())
+                    .append(", data=");
+            append(builder, wrapper.getData(), maxLength);
+            builder.append(')');
+        } else if (value instanceof WebRequest) {
+            // the conditional GETs take the request; its toString would add the session id and user
+            builder.append(((WebRequest) value).getDescription(false));
+        } else if (value instanceof PageDTO) {
+            append(builder, ((PageDTO<?>) value).getContent(), maxLength);
+        } else if (value instanceof Object[]) {
+            append(builder, Arrays.asList((Object[]) value), maxLength);
+        } else if (value instanceof Collection) {
+            appendCollection(builder, (Collection<?>) value, maxLength);
+        } else {
+            // passwords never get this far, UserDTO leaves them out of its toString
+            builder.append(value);
+        }
+    }
+
+    private static void appendCollection(StringBuilder builder, Collection<?> values, int maxLength) {
+        builder.append("(size=").append(values.size()).append(")[");
+        Iterator<?> iterator = values.iterator();
+        while (iterator.hasNext() && builder.length() <= maxLength) {
+            append(builder, iterator.next(), maxLength);
+            if (iterator.hasNext()) {
+                builder.append(", ");
+            }
+        }
+        builder.append(']');
+    }
+
+}
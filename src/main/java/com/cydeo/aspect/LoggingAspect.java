@@ -1,77 +1,72 @@
 package com.cydeo.aspect;
 
+import com.cydeo.config.RequestLoggingProperties;
 import lombok.extern.slf4j.Slf4j;
-import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.*;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.ThreadLocalRandom;
+
+// One structured line per sampled controller call. Arguments and results are rendered within the
+// configured size limits, and only for calls in the sample. The rendering still happens on the request
+// thread: the AsyncAppender of this logger (see logback-spring.xml) formats the message before queueing
+// it, and only the write to the console is handed to its background thread.
 @Aspect
 @Component
 @Slf4j
 public class LoggingAspect {
 
-    @Pointcut("execution(* com.cydeo.controller.ProjectController.*(..))")
-    public void projectControllerMethodsPC() {
-    }
+    private final RequestLoggingProperties properties;
 
-    @Before("projectControllerMethodsPC()")
-    public void beforeProjectControllerMethods(JoinPoint joinPoint) {
-        log.info(
-                "Method: {} \n Arguments : {}",
-                joinPoint.getSignature().toShortString(),
-                joinPoint.getArgs()
-        );
+    public LoggingAspect(RequestLoggingProperties properties) {
+        this.properties = properties;
     }
 
-    @AfterReturning(pointcut = "projectControllerMethodsPC()", returning = "results")
-    public void afterProjectControllerMethods(JoinPoint joinPoint, Object results){
-        log.info(
-                "Method : {} \n Arguments: {}\nResult: {}",
-                joinPoint.getSignature().toShortString(),
-                joinPoint.getArgs(),
-                results.toString()
-        );
-    }
-
-
-    @AfterThrowing(pointcut = "projectControllerMethodsPC()", throwing = "exception")
-    public void afterProjectControllerMethods(JoinPoint joinPoint, Exception exception){
-        log.info(
-                "Method : {} \n Arguments: {}\nException: {}",
-                joinPoint.getSignature().toShortString(),
-                joinPoint.getArgs(),
-                exception.getMessage()
-        );
+    @Pointcut("execution(* com.cydeo.controller.ProjectController.*(..))")
+    public void projectControllerMethodsPC() {
     }
 
     @Pointcut("within(com.cydeo.controller.TaskController)")
     public void taskControllerPC(){}
 
-    @Around("taskControllerPC()")
-    public Object aroundTaskControllerMethods(ProceedingJoinPoint proceedingJoinPoint){
-        log.info(
-                "Method : {} \n Arguments: {}",
-                proceedingJoinPoint.getSignature().toShortString(),
-                proceedingJoinPoint.getArgs()
-        );
+    @Around("projectControllerMethodsPC() || taskControllerPC()")
+    public Object aroundControllerMethods(ProceedingJoinPoint proceedingJoinPoint) throws Throwable {
 
-        Object result = null;
+        String endpoint = proceedingJoinPoint.getSignature().getDeclaringType().getSimpleName()
+                + "." + proceedingJoinPoint.getSignature().getName();
+
+        if (!log.isInfoEnabled() || !isSampled(endpoint)) {
+            return proceedingJoinPoint.proceed();
+        }
+
+        Object result;
         try {
             result = proceedingJoinPoint.proceed();
         } catch (Throwable e) {
-            e.printStackTrace();
+            log.info(
+                    "endpoint={} outcome=error arguments={} exception={}",
+                    endpoint,
+                    LogRenderer.lazy(proceedingJoinPoint.getArgs(), properties.getMaxArgumentLength()),
+                    e.toString()
+            );
+            throw e;
         }
 
         log.info(
-                "Method : {} \n Arguments: {}\nResult: {}",
-                proceedingJoinPoint.getSignature().toShortString(),
-                proceedingJoinPoint.getArgs(),
-                result.toString()
+                "endpoint={} outcome=success arguments={} result={}",
+                endpoint,
+                LogRenderer.lazy(proceedingJoinPoint.getArgs(), properties.getMaxArgumentLength()),
+                LogRenderer.lazy(result, properties.getMaxResultLength())
         );
 
         return result;
 
     }
 
+    private boolean isSampled(String endpoint) {
+        double rate = properties.sampleRateOf(endpoint);
+        return rate >= 1.0 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
 }
@@ -1,12 +1,12 @@
 package com.cydeo.aspect;
 
 
+import com.cydeo.service.LatencyStatsService;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
-import org.checkerframework.checker.units.qual.C;
 import org.springframework.stereotype.Component;
 
 @Aspect
@@ -14,32 +14,33 @@ import org.springframework.stereotype.Component;
 @Slf4j
 public class PerformanceAspect {
 
+    private final LatencyStatsService latencyStatsService;
+
+    public PerformanceAspect(LatencyStatsService latencyStatsService) {
+        this.latencyStatsService = latencyStatsService;
+    }
+
     @Pointcut("@annotation(com.cydeo.annotation.ExecutionTime)")
     private void executionTimePC(){}
 
     @Around("executionTimePC()")
-    public Object aroundUserControllerExecutionTimePC(ProceedingJoinPoint proceedingJoinPoint){
+    public Object aroundExecutionTimePC(ProceedingJoinPoint proceedingJoinPoint) throws Throwable {
 
-        Object result = null;
-        Long before = System.currentTimeMillis();
+        String method = proceedingJoinPoint.getSignature().toShortString();
+        boolean failed = true;
+        long before = System.nanoTime();
 
         try {
-            result = proceedingJoinPoint.proceed();
-        } catch (Throwable e) {
-            throw new RuntimeException(e);
+            Object result = proceedingJoinPoint.proceed();
+            failed = false;
+            return result;
+        } finally {
+            long elapsed = System.nanoTime() - before;
+            latencyStatsService.record(method, elapsed, failed);
+
+            log.debug("Method: {} Execution Time: {} ns", method, elapsed);
         }
 
-        Long after = System.currentTimeMillis();
-        result = after - before;
-
-        log.info(
-                "Method: {} \n Execution Time: {}",
-                proceedingJoinPoint.getSignature().toShortString(),
-                result.toString()
-        );
-
-
-        return result;
     }
 
 
@@ -0,0 +1,47 @@
+package com.cydeo.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.Callable;
+
+// A StreamingResponseBody is written as an async request, so it runs under the async timeout: Tomcat's 30s
+// unless spring.mvc.async.request-timeout says otherwise. A large export takes longer, and once the response
+// is committed a timeout only cuts the file short. Requests marked as exports get export.request-timeout-ms
+// instead; every other async request keeps the default.
+@Configuration
+public class ExportAsyncConfig implements WebMvcConfigurer {
+
+    private static final String EXPORT_REQUEST = ExportAsyncConfig.class.getName() + ".EXPORT_REQUEST";
+
+    private final long exportTimeoutMs;
+
+    public ExportAsyncConfig(@Value("${export.request-timeout-ms:3600000}") long exportTimeoutMs) {
+        this.exportTimeoutMs = exportTimeoutMs;
+    }
+
+    public static void markAsExport(WebRequest request) {
+        request.setAttribute(EXPORT_REQUEST, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(new CallableProcessingInterceptor() {
+            // called with the AsyncWebRequest just before it starts async processing
+            @Override
+            public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+                if (request instanceof AsyncWebRequest && request.getAttribute(EXPORT_REQUEST, RequestAttributes.SCOPE_REQUEST) != null) {
+                    ((AsyncWebRequest) request).setTimeout(exportTimeoutMs);
+                }
+            }
+        });
+    }
+
+}
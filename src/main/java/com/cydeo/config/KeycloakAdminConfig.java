@@ -0,0 +1,29 @@
+package com.cydeo.config;
+
+import org.jboss.resteasy.client.jaxrs.ResteasyClientBuilder;
+import org.keycloak.admin.client.Keycloak;
+import org.keycloak.admin.client.KeycloakBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class KeycloakAdminConfig {
+
+    // One admin client for the whole application. It keeps a pooled HTTP client
+    // and its TokenManager refreshes the master realm token when it expires.
+    @Bean(destroyMethod = "close")
+    public Keycloak keycloakAdminClient(KeycloakProperties keycloakProperties) {
+        return KeycloakBuilder.builder()
+                .serverUrl(keycloakProperties.getAuthServerUrl())
+                .realm(keycloakProperties.getMasterRealm())
+                .username(keycloakProperties.getMasterUser())
+                .password(keycloakProperties.getMasterUserPswd())
+                .clientId(keycloakProperties.getMasterClient())
+                .resteasyClient(new ResteasyClientBuilder()
+                        .connectionPoolSize(keycloakProperties.getMasterClientPoolSize())
+                        .maxPooledPerRoute(keycloakProperties.getMasterClientPoolSize())
+                        .build())
+                .build();
+    }
+
+}
@@ -26,5 +26,9 @@ public class KeycloakProperties {
     private String masterRealm;
     @Value("${master.client}")
     private String masterClient;
+    @Value("${master.client.connection-pool-size:10}")
+    private int masterClientPoolSize;
+    @Value("${master.client.cache-ttl-seconds:300}")
+    private long masterClientCacheTtlSeconds;
 
 }
\ No newline at end of file
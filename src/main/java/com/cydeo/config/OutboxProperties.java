@@ -0,0 +1,24 @@
+package com.cydeo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+@Getter
+@Setter
+public class OutboxProperties {
+
+    @Value("${outbox.batch-size:50}")
+    private int batchSize;
+    @Value("${outbox.max-attempts:10}")
+    private int maxAttempts;
+    @Value("${outbox.initial-backoff-ms:1000}")
+    private long initialBackoffMs;
+    @Value("${outbox.max-backoff-ms:300000}")
+    private long maxBackoffMs;
+    @Value("${outbox.lease-ms:600000}")
+    private long leaseMs;
+
+}
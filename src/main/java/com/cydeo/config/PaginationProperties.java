@@ -0,0 +1,34 @@
+package com.cydeo.config;
+
+import com.cydeo.exception.InvalidPageException;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+@Getter
+@Setter
+public class PaginationProperties {
+
+    @Value("${pagination.default-limit:100}")
+    private int defaultLimit;
+    @Value("${pagination.max-limit:1000}")
+    private int maxLimit;
+
+    public int resolveLimit(Integer requested) {
+        if (requested == null || requested < 1) {
+            return defaultLimit;
+        }
+        return Math.min(requested, maxLimit);
+    }
+
+    // PageRequest.of would throw IllegalArgumentException, a 500, for a negative page
+    public int resolvePage(int requested) {
+        if (requested < 0) {
+            throw new InvalidPageException("Invalid page");
+        }
+        return requested;
+    }
+
+}
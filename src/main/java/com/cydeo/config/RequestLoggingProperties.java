@@ -0,0 +1,28 @@
+package com.cydeo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Bound with @ConfigurationProperties because the per-endpoint sample rates are a map,
+// e.g. request-logging.sample-rates[TaskController.getTasks]=0.05
+@Component
+@ConfigurationProperties(prefix = "request-logging")
+@Getter
+@Setter
+public class RequestLoggingProperties {
+
+    private double defaultSampleRate = 1.0;
+    private Map<String, Double> sampleRates = new HashMap<>();
+    private int maxArgumentLength = 256;
+    private int maxResultLength = 512;
+
+    public double sampleRateOf(String endpoint) {
+        return sampleRates.getOrDefault(endpoint, defaultSampleRate);
+    }
+
+}
@@ -0,0 +1,32 @@
+package com.cydeo.config;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.ObjectUtils;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+
+@Configuration
+public class SecondLevelCacheConfig {
+
+    // Hibernate closes its CacheManager together with the SessionFactory, and the caching provider
+    // hands out one manager per URI. A URI per application context keeps contexts that live in the
+    // same JVM (tests, benchmarks) from sharing regions or closing each other's caches.
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheManager(ApplicationContext applicationContext) {
+        return properties -> {
+            CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+            URI uri = URI.create("ticketing-app:" + ObjectUtils.getIdentityHexString(applicationContext));
+            CacheManager cacheManager = provider.getCacheManager(uri, provider.getDefaultClassLoader());
+            properties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+        };
+    }
+
+}
@@ -0,0 +1,39 @@
+package com.cydeo.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Opt-in: serves every request on its own virtual thread instead of Tomcat's bounded pool, so requests
+// blocked on JDBC or on the Keycloak admin API no longer hold one of server.tomcat.threads.max platform
+// threads. Needs Java 21 at runtime; the build still targets 11, so the executor is looked up reflectively
+// and startup fails when the JDK has none. The property is the one Spring Boot 3.2 reads for the same
+// switch, so this class goes away with that upgrade.
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+@Slf4j
+public class VirtualThreadConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        ExecutorService executor = newVirtualThreadPerTaskExecutor();
+        log.info("Serving requests on virtual threads, start with -Djdk.tracePinnedThreads=short to report pinning");
+        return protocolHandler -> protocolHandler.setExecutor(executor);
+    }
+
+    static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("spring.threads.virtual.enabled needs Java 21 or later, this is " + Runtime.version(), e);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Virtual thread executor cannot be created", e);
+        }
+    }
+
+}
@@ -0,0 +1,48 @@
+package com.cydeo.controller;
+
+import com.cydeo.annotation.ExecutionTime;
+import com.cydeo.dto.DashboardDTO;
+import com.cydeo.dto.ResponseWrapper;
+import com.cydeo.service.DashboardService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.annotation.security.RolesAllowed;
+
+@RestController
+@RequestMapping("/api/v1/dashboard")
+@Tag(name = "DashboardController", description = "Dashboard API")
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+
+    public DashboardController(DashboardService dashboardService) {
+        this.dashboardService = dashboardService;
+    }
+
+    @GetMapping
+    @RolesAllowed({"Manager","Admin"})
+    @Operation(summary = "Get dashboard")
+    @ExecutionTime
+    public ResponseEntity<ResponseWrapper> getDashboard() {
+        DashboardDTO dashboard = dashboardService.getDashboard();
+
+        ResponseWrapper wrapper = new ResponseWrapper(
+                "Dashboard is retrieved successfully",
+                dashboard,
+                HttpStatus.OK
+        );
+
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .header("Company", "Cydeo")
+                .body(wrapper);
+
+    }
+
+}
@@ -0,0 +1,52 @@
+package com.cydeo.controller;
+
+import com.cydeo.dto.ResponseWrapper;
+import com.cydeo.service.LatencyStatsService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.annotation.security.RolesAllowed;
+
+@RestController
+@RequestMapping("/api/v1/performance")
+public class PerformanceController {
+
+    private final LatencyStatsService latencyStatsService;
+
+    public PerformanceController(LatencyStatsService latencyStatsService) {
+        this.latencyStatsService = latencyStatsService;
+    }
+
+    @GetMapping
+    @RolesAllowed("Admin")
+    public ResponseEntity<ResponseWrapper> getLatencyStats() {
+        return ResponseEntity.ok(new ResponseWrapper(
+                "Latency stats since the last reset are retrieved successfully",
+                latencyStatsService.listCumulativeStats(),
+                HttpStatus.OK
+        ));
+    }
+
+    // each call closes the current interval and opens the next one
+    @GetMapping("/interval")
+    @RolesAllowed("Admin")
+    public ResponseEntity<ResponseWrapper> getIntervalLatencyStats() {
+        return ResponseEntity.ok(new ResponseWrapper(
+                "Latency stats since the previous interval are retrieved successfully",
+                latencyStatsService.listIntervalStats(),
+                HttpStatus.OK
+        ));
+    }
+
+    @DeleteMapping
+    @RolesAllowed("Admin")
+    public ResponseEntity<ResponseWrapper> resetLatencyStats() {
+        latencyStatsService.reset();
+        return ResponseEntity.ok(new ResponseWrapper("Latency stats are reset", HttpStatus.OK));
+    }
+
+}
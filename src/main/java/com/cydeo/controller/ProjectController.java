@@ -1,14 +1,24 @@
 package com.cydeo.controller;
 
 import com.cydeo.annotation.DefaultExceptionMessage;
+import com.cydeo.annotation.ExecutionTime;
+import com.cydeo.config.ExportAsyncConfig;
+import com.cydeo.dto.PageDTO;
+import com.cydeo.dto.PageRequestDTO;
 import com.cydeo.dto.ProjectDTO;
+import com.cydeo.dto.ResourceVersionDTO;
 import com.cydeo.dto.ResponseWrapper;
 import com.cydeo.dto.UserDTO;
+import com.cydeo.enums.Status;
+import com.cydeo.service.ExportService;
 import com.cydeo.service.ProjectService;
 import com.cydeo.service.UserService;
+import com.cydeo.util.ConditionalGet;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.annotation.security.RolesAllowed;
 import java.util.HashMap;
@@ -21,17 +31,25 @@ public class ProjectController {
 
     private final ProjectService projectService;
     private final UserService userService;
+    private final ExportService exportService;
 
-    public ProjectController(ProjectService projectService, UserService userService) {
+    public ProjectController(ProjectService projectService, UserService userService, ExportService exportService) {
         this.projectService = projectService;
         this.userService = userService;
+        this.exportService = exportService;
     }
 
     @GetMapping
     @RolesAllowed({"Manager","Admin"})
     @DefaultExceptionMessage(defaultMessage = "Projects cannot be retrieved")
-    public ResponseEntity<ResponseWrapper> getProjects(){
-        List<ProjectDTO> projects = projectService.listAllProjectDetails();
+    @ExecutionTime
+    public ResponseEntity<ResponseWrapper> getProjects(PageRequestDTO pageRequest, WebRequest request){
+        ResourceVersionDTO version = projectService.listAllProjectDetailsVersion();
+        if (ConditionalGet.isNotModified(request, version)) {
+            return ConditionalGet.notModified();
+        }
+
+        PageDTO<ProjectDTO> projects = projectService.listAllProjectDetails(pageRequest);
 
         ResponseWrapper wrapper = new ResponseWrapper(
                 "All the projects retrieved.",
@@ -42,10 +60,21 @@ public class ProjectController {
         return ResponseEntity
                 .status(HttpStatus.OK)
                 .header("Company","Cydeo")
+                .cacheControl(ConditionalGet.CACHE_CONTROL)
                 .body(wrapper);
     }
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    @RolesAllowed({"Manager","Admin"})
+    public ResponseEntity<StreamingResponseBody> exportProjects(@RequestParam(value = "status", required = false) Status status, WebRequest request){
+        ExportAsyncConfig.markAsExport(request);
+        Long managerId = exportService.projectExportManagerId();
+        StreamingResponseBody body = outputStream -> exportService.exportProjects(managerId, status, outputStream);
+        return ResponseEntity.ok(body);
+    }
+
     @GetMapping("/{projectCode}")
     @RolesAllowed("Manager")
+    @ExecutionTime
     public ResponseEntity<ResponseWrapper> getProjectByCode(@PathVariable("projectCode") String code){
         ProjectDTO projectDTO = projectService.getByProjectCode(code);
 
@@ -63,6 +92,7 @@ public class ProjectController {
 
     @PostMapping
     @RolesAllowed({"Admin","Manager"})
+    @ExecutionTime
     public ResponseEntity<ResponseWrapper> createProject(@RequestBody ProjectDTO projectDTO){
         projectService.save(projectDTO);
 
@@ -79,6 +109,7 @@ public class ProjectController {
     }
     @PutMapping
     @RolesAllowed("Manager")
+    @ExecutionTime
     public ResponseEntity<ResponseWrapper> updateProject(@RequestBody ProjectDTO projectDTO){
         projectService.update(projectDTO);
 
@@ -94,6 +125,7 @@ public class ProjectController {
     }
     @DeleteMapping("/{projectCode}")
     @RolesAllowed("Manager")
+    @ExecutionTime
     public ResponseEntity<ResponseWrapper> deleteProject(@PathVariable("projectCode") String code){
         projectService.delete(code);
 
@@ -110,6 +142,7 @@ public class ProjectController {
 
     @GetMapping("/project-status")
     @RolesAllowed("Manager")
+    @ExecutionTime
     public ResponseEntity<ResponseWrapper> getProjectByManager(@RequestBody UserDTO assignedManager){
         List<ProjectDTO> projects = projectService.listAllProjectDetails();
 
@@ -129,6 +162,7 @@ public class ProjectController {
 
     @GetMapping("/complete/{projectCode}")
     @RolesAllowed("Manager")
+    @ExecutionTime
     public ResponseEntity<ResponseWrapper> managerCompleteByProject(@PathVariable("projectCode") String code){
         projectService.complete(code);
 
@@ -1,12 +1,24 @@
 package com.cydeo.controller;
 
+import com.cydeo.annotation.ExecutionTime;
+import com.cydeo.config.ExportAsyncConfig;
+import com.cydeo.dto.PageDTO;
+import com.cydeo.dto.PageRequestDTO;
+import com.cydeo.dto.ResourceVersionDTO;
 import com.cydeo.dto.ResponseWrapper;
 import com.cydeo.dto.TaskDTO;
+import com.cydeo.dto.TaskFilterDTO;
+import com.cydeo.dto.TaskImportResultDTO;
 import com.cydeo.enums.Status;
+import com.cydeo.service.ExportService;
+import com.cydeo.service.TaskImportService;
 import com.cydeo.service.TaskService;
+import com.cydeo.util.ConditionalGet;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.annotation.security.RolesAllowed;
 import java.util.List;
@@ -16,15 +28,20 @@ import java.util.List;
 public class TaskController {
 
     private final TaskService taskService;
+    private final ExportService exportService;
+    private final TaskImportService taskImportService;
 
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, ExportService exportService, TaskImportService taskImportService) {
         this.taskService = taskService;
+        this.exportService = exportService;
+        this.taskImportService = taskImportService;
     }
 
     @GetMapping
     @RolesAllowed("Manager")
-    public ResponseEntity<ResponseWrapper> getTasks() {
-        List<TaskDTO> tasks = taskService.listAllTasks();
+    @ExecutionTime
+    public ResponseEntity<ResponseWrapper> getTasks(PageRequestDTO pageRequest) {
+        PageDTO<TaskDTO> tasks = taskService.listAllTasks(pageRequest);
 
         return ResponseEntity.ok(new ResponseWrapper(
                 "All Tasks are retrieved successfully.",
@@ -33,8 +50,17 @@ public class TaskController {
         ));
     }
 
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    @RolesAllowed("Manager")
+    public ResponseEntity<StreamingResponseBody> exportTasks(TaskFilterDTO filter, WebRequest request) {
+        ExportAsyncConfig.markAsExport(request);
+        StreamingResponseBody body = outputStream -> exportService.exportTasks(filter, outputStream);
+        return ResponseEntity.ok(body);
+    }
+
     @GetMapping("/{taskId}")
     @RolesAllowed("Manager")
+    @ExecutionTime
     public ResponseEntity<ResponseWrapper> getTaskById(@PathVariable("taskId") Long id) {
         TaskDTO taskDTO = taskService.findById(id);
 
@@ -47,6 +73,7 @@ public class TaskController {
 
     @PostMapping
     @RolesAllowed("Manager")
+    @ExecutionTime
     public ResponseEntity<ResponseWrapper> createTask(@RequestBody TaskDTO taskDTO) {
         taskService.save(taskDTO);
 
@@ -60,8 +87,28 @@ public class TaskController {
                 );
     }
 
+    @PostMapping("/batch")
+    @RolesAllowed("Manager")
+    @ExecutionTime
+    public ResponseEntity<ResponseWrapper> createTasks(@RequestBody List<TaskDTO> taskDTOs) {
+        TaskImportResultDTO result = taskImportService.importTasks(taskDTOs);
+
+        // 207 tells the client to read the per-item report
+        HttpStatus status = result.getCreated() == result.getReceived() ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+
+        return ResponseEntity
+                .status(status)
+                .body(new ResponseWrapper(
+                                result.getCreated() + " of " + result.getReceived() + " tasks are created.",
+                                result,
+                                status
+                        )
+                );
+    }
+
     @DeleteMapping("/{taskId}")
     @RolesAllowed("Manager")
+    @ExecutionTime
     public ResponseEntity<ResponseWrapper> deleteTask(@PathVariable("taskId") Long id) {
         taskService.delete(id);
 
@@ -73,6 +120,7 @@ public class TaskController {
 
     @PutMapping
     @RolesAllowed("Manager")
+    @ExecutionTime
     public ResponseEntity<ResponseWrapper> updateTask(@RequestBody TaskDTO taskDTO) {
         taskService.update(taskDTO);
 
@@ -85,32 +133,48 @@ public class TaskController {
 
     @GetMapping("/employee/pending-tasks")
     @RolesAllowed("Employee")
-    public ResponseEntity<ResponseWrapper> employeePendingTasks() {
+    @ExecutionTime
+    public ResponseEntity<ResponseWrapper> employeePendingTasks(WebRequest request) {
+        ResourceVersionDTO version = taskService.listAllTasksOfEmployeeVersion();
+        if (ConditionalGet.isNotModified(request, version)) {
+            return ConditionalGet.notModified();
+        }
+
         List<TaskDTO> tasks = taskService.listAllTasksByStatusIsNot(Status.COMPLETE);
 
-        return ResponseEntity.ok(new ResponseWrapper(
-                "Tasks are retrieved succesfully.",
-                tasks,
-                HttpStatus.OK
-        ));
+        return ResponseEntity.ok()
+                .cacheControl(ConditionalGet.CACHE_CONTROL)
+                .body(new ResponseWrapper(
+                        "Tasks are retrieved succesfully.",
+                        tasks,
+                        HttpStatus.OK
+                ));
     }
 
 
     @GetMapping("/employee/archive")
     @RolesAllowed("Employee")
-    public ResponseEntity<ResponseWrapper> employeeArchivedTasks() {
+    @ExecutionTime
+    public ResponseEntity<ResponseWrapper> employeeArchivedTasks(WebRequest request) {
+        ResourceVersionDTO version = taskService.listAllTasksOfEmployeeVersion();
+        if (ConditionalGet.isNotModified(request, version)) {
+            return ConditionalGet.notModified();
+        }
 
         List<TaskDTO> tasks = taskService.listAllTasksByStatus(Status.COMPLETE);
 
-        return ResponseEntity.ok(new ResponseWrapper(
-                "Tasks are retrieved succesfully.",
-                tasks,
-                HttpStatus.OK
-        ));
+        return ResponseEntity.ok()
+                .cacheControl(ConditionalGet.CACHE_CONTROL)
+                .body(new ResponseWrapper(
+                        "Tasks are retrieved succesfully.",
+                        tasks,
+                        HttpStatus.OK
+                ));
     }
 
     @PutMapping("/employee/update")
     @RolesAllowed("Employee")
+    @ExecutionTime
     public ResponseEntity<ResponseWrapper> employeeUpdateTasks(@RequestBody TaskDTO taskDTO) {
         taskService.update(taskDTO);
 
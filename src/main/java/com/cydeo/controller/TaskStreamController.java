@@ -0,0 +1,38 @@
+package com.cydeo.controller;
+
+import com.cydeo.dto.TaskDTO;
+import com.cydeo.enums.Status;
+import com.cydeo.service.TaskStreamService;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+import javax.annotation.security.RolesAllowed;
+
+// Non-blocking variants of the employee listings in TaskController, one task per NDJSON line. Spring MVC
+// handles a Flux as an async request, so the servlet thread goes back to Tomcat while R2DBC reads the rows.
+// They live on their own paths so Accept: */* keeps getting the wrapped JSON listings.
+@RestController
+@RequestMapping("/api/v1/task/employee")
+public class TaskStreamController {
+
+    private final TaskStreamService taskStreamService;
+
+    public TaskStreamController(TaskStreamService taskStreamService) {
+        this.taskStreamService = taskStreamService;
+    }
+
+    @GetMapping(value = "/pending-tasks/stream", produces = "application/x-ndjson")
+    @RolesAllowed("Employee")
+    public Flux<TaskDTO> employeePendingTasks() {
+        return taskStreamService.listAllTasksByStatusIsNot(Status.COMPLETE);
+    }
+
+    @GetMapping(value = "/archive/stream", produces = "application/x-ndjson")
+    @RolesAllowed("Employee")
+    public Flux<TaskDTO> employeeArchivedTasks() {
+        return taskStreamService.listAllTasksByStatus(Status.COMPLETE);
+    }
+
+}
@@ -2,17 +2,22 @@ package com.cydeo.controller;
 
 import com.cydeo.annotation.DefaultExceptionMessage;
 import com.cydeo.annotation.ExecutionTime;
+import com.cydeo.dto.PageDTO;
+import com.cydeo.dto.PageRequestDTO;
+import com.cydeo.dto.ResourceVersionDTO;
 import com.cydeo.dto.ResponseWrapper;
 import com.cydeo.dto.RoleDTO;
 import com.cydeo.dto.UserDTO;
 import com.cydeo.exception.TicketingProjectException;
 import com.cydeo.service.RoleService;
 import com.cydeo.service.UserService;
+import com.cydeo.util.ConditionalGet;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.annotation.security.RolesAllowed;
 import java.util.HashMap;
@@ -36,8 +41,13 @@ public class UserController {
     @RolesAllowed({"Manager","Admin"})
     @Operation(summary = "Get users")
     @ExecutionTime
-    public ResponseEntity<ResponseWrapper> getUsers() {
-        List<UserDTO> userList = userService.listAllUsers();
+    public ResponseEntity<ResponseWrapper> getUsers(PageRequestDTO pageRequest, WebRequest request) {
+        ResourceVersionDTO version = userService.listAllUsersVersion();
+        if (ConditionalGet.isNotModified(request, version)) {
+            return ConditionalGet.notModified();
+        }
+
+        PageDTO<UserDTO> userList = userService.listAllUsers(pageRequest);
 
         ResponseWrapper wrapper = new ResponseWrapper(
                 "User list is retrieved successfully",
@@ -48,6 +58,7 @@ public class UserController {
         return ResponseEntity
                 .status(HttpStatus.OK)
                 .header("Company", "Cydeo")
+                .cacheControl(ConditionalGet.CACHE_CONTROL)
                 .body(wrapper);
 
     }
@@ -0,0 +1,15 @@
+package com.cydeo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// The authenticated user's identity, resolved once per request by CurrentUserService
+@Getter
+@AllArgsConstructor
+public class CurrentUserDTO {
+
+    private final Long id;
+    private final String userName;
+    private final String roleDescription;
+
+}
@@ -0,0 +1,43 @@
+package com.cydeo.dto;
+
+import com.cydeo.enums.Status;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+// Counts only, so the size depends on the number of statuses and roles and on dashboard.top-limit,
+// never on how many projects, tasks or users there are
+@Getter
+@AllArgsConstructor
+public class DashboardDTO {
+
+    private final Map<Status, Long> projectsByStatus;
+    private final Map<Status, Long> tasksByStatus;
+    // the projects and employees with the most unfinished tasks, most first
+    private final List<ProjectSummary> busiestProjects;
+    private final List<EmployeeSummary> busiestEmployees;
+    private final Map<String, Long> usersByRole;
+    // the dashboard is cached, this says how old it is
+    private final LocalDateTime generatedAt;
+
+    @Getter
+    @AllArgsConstructor
+    public static class ProjectSummary {
+        private final String projectCode;
+        private final String projectName;
+        private final Map<Status, Long> tasksByStatus;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class EmployeeSummary {
+        private final String userName;
+        private final String firstName;
+        private final String lastName;
+        private final long openTasks;
+    }
+
+}
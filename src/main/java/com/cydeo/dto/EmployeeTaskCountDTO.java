@@ -0,0 +1,11 @@
+package com.cydeo.dto;
+
+// Projection filled by TaskRepository.findBusiestEmployees
+public interface EmployeeTaskCountDTO {
+
+    String getUserName();
+    String getFirstName();
+    String getLastName();
+    Long getCount();
+
+}
@@ -0,0 +1,25 @@
+package com.cydeo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// Latency of one @ExecutionTime method over a window, times are in milliseconds
+@Getter
+@AllArgsConstructor
+public class LatencyStatsDTO {
+
+    private String method;
+    private LocalDateTime windowStart;
+    private long count;
+    private long errorCount;
+    private double throughputPerSecond;
+    private double meanMs;
+    private double p50Ms;
+    private double p90Ms;
+    private double p99Ms;
+    private double p999Ms;
+    private double maxMs;
+
+}
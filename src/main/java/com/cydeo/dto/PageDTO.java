@@ -0,0 +1,34 @@
+package com.cydeo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Getter
+@AllArgsConstructor
+public class PageDTO<T> {
+
+    private final List<T> content;
+    private final PageInfoDTO pageInfo;
+
+    // rows were fetched with limit + 1, the extra row only tells whether another page exists
+    public static <E, T> PageDTO<T> ofKeyset(List<E> rows, int limit, Function<E, T> mapper,
+                                             Function<E, String> cursorOf, Long totalElements) {
+        boolean hasNext = rows.size() > limit;
+        List<E> pageRows = hasNext ? rows.subList(0, limit) : rows;
+        String nextCursor = hasNext ? cursorOf.apply(pageRows.get(pageRows.size() - 1)) : null;
+
+        List<T> content = pageRows.stream().map(mapper).collect(Collectors.toList());
+        return new PageDTO<>(content, new PageInfoDTO(limit, hasNext, nextCursor, null, totalElements));
+    }
+
+    public static <E, T> PageDTO<T> ofOffset(Slice<E> slice, Function<E, T> mapper, Long totalElements) {
+        List<T> content = slice.getContent().stream().map(mapper).collect(Collectors.toList());
+        return new PageDTO<>(content, new PageInfoDTO(slice.getSize(), slice.hasNext(), null, slice.getNumber(), totalElements));
+    }
+
+}
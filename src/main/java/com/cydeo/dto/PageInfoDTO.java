@@ -0,0 +1,20 @@
+package com.cydeo.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PageInfoDTO {
+
+    private int limit;
+    private boolean hasNext;
+    private String nextCursor;
+    private Integer page;
+    private Long totalElements;
+
+}
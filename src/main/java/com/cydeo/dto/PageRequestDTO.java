@@ -0,0 +1,24 @@
+package com.cydeo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Bound from the query string of list endpoints: ?limit=50&cursor=... or ?page=2&limit=50
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageRequestDTO {
+
+    private Integer limit;
+
+    // opaque keyset cursor taken from the previous page's nextCursor
+    private String cursor;
+
+    // zero based page number, switches to offset pagination when present
+    private Integer page;
+
+    // COUNT(*) is only issued when the client asks for it
+    private boolean includeTotal;
+
+}
@@ -0,0 +1,14 @@
+package com.cydeo.dto;
+
+import com.cydeo.enums.Status;
+
+// Projection filled by TaskRepository.countGroupedByProjectAndStatus
+public interface ProjectStatusCountDTO {
+
+    Long getProjectId();
+    String getProjectCode();
+    String getProjectName();
+    Status getStatus();
+    Long getCount();
+
+}
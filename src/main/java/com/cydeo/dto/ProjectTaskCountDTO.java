@@ -0,0 +1,10 @@
+package com.cydeo.dto;
+
+// Projection filled by TaskRepository.countTasksGroupedByProject[Ids] and the ProjectTaskStatsRepository sums
+public interface ProjectTaskCountDTO {
+
+    Long getProjectId();
+    Long getCompletedCount();
+    Long getNonCompletedCount();
+
+}
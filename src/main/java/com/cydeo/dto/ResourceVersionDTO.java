@@ -0,0 +1,58 @@
+package com.cydeo.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+// Version of a listing, read with one aggregate query instead of loading the rows: how many rows it
+// covers and the newest lastUpdateDateTime among them and the rows their DTOs embed. Every write bumps
+// lastUpdateDateTime (the bulk updates in TaskRepository set it by hand) and a soft delete drops the
+// row from the count, so any change to the listing changes the tag. A delete leaves the newest
+// timestamp alone, so the timestamp on its own is no version and is not sent as Last-Modified.
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class ResourceVersionDTO {
+
+    private final String tag;
+
+    // constructor expressions in the repositories, the extra timestamps come from the joined associations
+    public ResourceVersionDTO(Long count, LocalDateTime lastModified) {
+        this(count + "-" + micros(lastModified));
+    }
+
+    public ResourceVersionDTO(Long count, LocalDateTime lastModified, LocalDateTime embedded) {
+        this(count, latest(lastModified, embedded));
+    }
+
+    public ResourceVersionDTO(Long count, LocalDateTime lastModified, LocalDateTime first, LocalDateTime second, LocalDateTime third) {
+        this(count, latest(lastModified, first, second, third));
+    }
+
+    public ResourceVersionDTO and(ResourceVersionDTO other) {
+        return new ResourceVersionDTO(tag + "." + other.tag);
+    }
+
+    // the same counts and timestamps can describe two users' listings, so per-user listings carry the user id
+    public ResourceVersionDTO scopedTo(Long userId) {
+        return new ResourceVersionDTO(userId + ":" + tag);
+    }
+
+    // weak: the tag names a version of the data, not the bytes of one encoding of it
+    public String getETag() {
+        return "W/\"" + tag + "\"";
+    }
+
+    private static long micros(LocalDateTime dateTime) {
+        return dateTime == null ? 0 : dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + dateTime.getNano() / 1_000;
+    }
+
+    private static LocalDateTime latest(LocalDateTime... dateTimes) {
+        return Stream.of(dateTimes).filter(Objects::nonNull).max(LocalDateTime::compareTo).orElse(null);
+    }
+
+}
@@ -16,6 +16,7 @@ public class ResponseWrapper {
     private String message;
     private Integer code;
     private Object data;
+    private PageInfoDTO page;
 
     public ResponseWrapper(String message, Object data,HttpStatus httpStatus) {
         this.success = true;
@@ -24,6 +25,11 @@ public class ResponseWrapper {
         this.data = data;
     }
 
+    public ResponseWrapper(String message, PageDTO<?> page, HttpStatus httpStatus) {
+        this(message, page.getContent(), httpStatus);
+        this.page = page.getPageInfo();
+    }
+
     public ResponseWrapper(String message,HttpStatus httpStatus) {
         this.message = message;
         this.code = httpStatus.value();
@@ -0,0 +1,9 @@
+package com.cydeo.dto;
+
+// Projection filled by UserRepository.countGroupedByRole
+public interface RoleUserCountDTO {
+
+    String getRole();
+    Long getCount();
+
+}
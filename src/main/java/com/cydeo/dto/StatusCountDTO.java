@@ -0,0 +1,11 @@
+package com.cydeo.dto;
+
+import com.cydeo.enums.Status;
+
+// Projection filled by the countGroupedByStatus queries of ProjectRepository and TaskRepository
+public interface StatusCountDTO {
+
+    Status getStatus();
+    Long getCount();
+
+}
@@ -0,0 +1,27 @@
+package com.cydeo.dto;
+
+import com.cydeo.enums.Status;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+// Optional filters of the task export, every null field matches all tasks
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskFilterDTO {
+
+    private String projectCode;
+
+    private Status status;
+
+    @DateTimeFormat(pattern = "yyyy-MM-dd")
+    private LocalDate assignedDateFrom;
+
+    @DateTimeFormat(pattern = "yyyy-MM-dd")
+    private LocalDate assignedDateTo;
+
+}
@@ -0,0 +1,23 @@
+package com.cydeo.dto;
+
+import com.cydeo.enums.ImportStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskImportItemDTO {
+
+    // position of the task in the request array
+    private int index;
+    private ImportStatus status;
+    private Long id;
+    private List<String> errors;
+
+}
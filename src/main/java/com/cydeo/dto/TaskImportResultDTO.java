@@ -0,0 +1,20 @@
+package com.cydeo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskImportResultDTO {
+
+    private int received;
+    private int created;
+    private int rejected;
+    private int failed;
+    private List<TaskImportItemDTO> items;
+
+}
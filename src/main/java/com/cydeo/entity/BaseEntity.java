@@ -3,6 +3,9 @@ package com.cydeo.entity;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 import javax.persistence.*;
 import java.time.LocalDateTime;
@@ -13,8 +16,14 @@ import java.time.LocalDateTime;
 @MappedSuperclass
 public class BaseEntity {
 
+    // One sequence per table (TableIdSequenceGenerator), allocated in blocks of ID_ALLOCATION_SIZE
+    // so inserts need no round trip per row and can be batched.
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "table_id_sequence")
+    @GenericGenerator(name = "table_id_sequence", strategy = "com.cydeo.entity.TableIdSequenceGenerator",
+            parameters = @Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = "" + ID_ALLOCATION_SIZE))
     private Long id;
 
     @Column(nullable = false, updatable = false)
@@ -15,8 +15,14 @@ import java.time.LocalDate;
 @Entity
 @Table(name = "projects")
 @Where(clause = "is_deleted=false")
+// fetch plan for listings: the manager and the manager's role come back in the same row as the project
+@NamedEntityGraph(name = Project.LISTING_GRAPH,
+        attributeNodes = @NamedAttributeNode(value = "assignedManager", subgraph = "user"),
+        subgraphs = @NamedSubgraph(name = "user", attributeNodes = @NamedAttributeNode("role")))
 public class Project extends BaseEntity {
 
+    public static final String LISTING_GRAPH = "Project.listing";
+
     @Column(unique = true)
     private String projectCode;
 
@@ -0,0 +1,41 @@
+package com.cydeo.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.IdClass;
+import javax.persistence.Table;
+import java.io.Serializable;
+
+// One stripe of a project's task counters, see V5__project_task_stats.sql. Only ever changed by the
+// relative updates in ProjectTaskStatsRepository, never loaded and saved back.
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "project_task_stats")
+@IdClass(ProjectTaskStats.Key.class)
+public class ProjectTaskStats {
+
+    @Id
+    private Long projectId;
+    @Id
+    private int slot;
+
+    private long completedCount;
+    private long nonCompletedCount;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long projectId;
+        private int slot;
+    }
+
+}
@@ -0,0 +1,24 @@
+package com.cydeo.entity;
+
+import org.hibernate.boot.model.relational.QualifiedName;
+import org.hibernate.boot.model.relational.QualifiedNameParser;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.jdbc.env.spi.JdbcEnvironment;
+import org.hibernate.id.PersistentIdentifierGenerator;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+
+import java.util.Properties;
+
+// The id generator of BaseEntity: a pooled sequence named after the entity's table, <table>_id_seq, as
+// created by the migrations. One generator definition serves every entity, where a @SequenceGenerator per
+// entity would need a name of its own, and generator names are global to the persistence unit.
+public class TableIdSequenceGenerator extends SequenceStyleGenerator {
+
+    @Override
+    protected QualifiedName determineSequenceName(Properties params, Dialect dialect, JdbcEnvironment jdbcEnv, ServiceRegistry serviceRegistry) {
+        String table = params.getProperty(PersistentIdentifierGenerator.TABLE);
+        return new QualifiedNameParser.NameParts(null, null, jdbcEnv.getIdentifierHelper().toIdentifier(table + "_id_seq"));
+    }
+
+}
@@ -15,8 +15,20 @@ import java.time.LocalDate;
 @Setter
 @NoArgsConstructor
 @Where(clause = "is_deleted=false")
+// fetch plan for listings: everything TaskMapper walks, i.e. the project with its manager and the employee, each user with its role
+@NamedEntityGraph(name = Task.LISTING_GRAPH,
+        attributeNodes = {
+                @NamedAttributeNode(value = "project", subgraph = "project"),
+                @NamedAttributeNode(value = "assignedEmployee", subgraph = "user")
+        },
+        subgraphs = {
+                @NamedSubgraph(name = "project", attributeNodes = @NamedAttributeNode(value = "assignedManager", subgraph = "user")),
+                @NamedSubgraph(name = "user", attributeNodes = @NamedAttributeNode("role"))
+        })
 public class Task extends BaseEntity{
 
+    public static final String LISTING_GRAPH = "Task.listing";
+
     private String taskSubject;
     private String taskDetail;
 
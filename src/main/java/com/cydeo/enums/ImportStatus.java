@@ -0,0 +1,8 @@
+package com.cydeo.enums;
+
+public enum ImportStatus {
+
+    // saved; REJECTED items failed validation, FAILED items were valid but their chunk could not be saved
+    CREATED, REJECTED, FAILED
+
+}
@@ -24,6 +24,30 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(ResponseWrapper.builder().success(false).code(HttpStatus.CONFLICT.value()).message(message).build(),HttpStatus.CONFLICT);
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ResponseWrapper> invalidCursorException(InvalidCursorException se){
+        String message = se.getMessage();
+        return new ResponseEntity<>(ResponseWrapper.builder().success(false).code(HttpStatus.BAD_REQUEST.value()).message(message).build(),HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidPageException.class)
+    public ResponseEntity<ResponseWrapper> invalidPageException(InvalidPageException se){
+        String message = se.getMessage();
+        return new ResponseEntity<>(ResponseWrapper.builder().success(false).code(HttpStatus.BAD_REQUEST.value()).message(message).build(),HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidBatchException.class)
+    public ResponseEntity<ResponseWrapper> invalidBatchException(InvalidBatchException se){
+        String message = se.getMessage();
+        return new ResponseEntity<>(ResponseWrapper.builder().success(false).code(HttpStatus.BAD_REQUEST.value()).message(message).build(),HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<ResponseWrapper> passwordHashingBusyException(PasswordHashingBusyException se){
+        String message = se.getMessage();
+        return new ResponseEntity<>(ResponseWrapper.builder().success(false).code(HttpStatus.SERVICE_UNAVAILABLE.value()).message(message).build(),HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     @ExceptionHandler(AccessDeniedException.class)
     public ResponseEntity<ResponseWrapper> accessDeniedException(AccessDeniedException se){
         String message = se.getMessage();
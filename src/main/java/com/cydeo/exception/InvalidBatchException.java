@@ -0,0 +1,9 @@
+package com.cydeo.exception;
+
+public class InvalidBatchException extends RuntimeException{
+
+    public InvalidBatchException(String message){
+        super(message);
+    }
+
+}
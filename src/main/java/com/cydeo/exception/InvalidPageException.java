@@ -0,0 +1,9 @@
+package com.cydeo.exception;
+
+public class InvalidPageException extends RuntimeException{
+
+    public InvalidPageException(String message){
+        super(message);
+    }
+
+}
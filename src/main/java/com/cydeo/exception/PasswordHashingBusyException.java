@@ -0,0 +1,9 @@
+package com.cydeo.exception;
+
+public class PasswordHashingBusyException extends RuntimeException{
+
+    public PasswordHashingBusyException(String message){
+        super(message);
+    }
+
+}
@@ -1,5 +1,13 @@
 package com.cydeo.mapper;
 
+import com.cydeo.dto.ProjectDTO;
+import com.cydeo.dto.RoleDTO;
+import com.cydeo.dto.TaskDTO;
+import com.cydeo.dto.UserDTO;
+import com.cydeo.entity.Project;
+import com.cydeo.entity.Role;
+import com.cydeo.entity.Task;
+import com.cydeo.entity.User;
 import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Component;
 
@@ -9,14 +17,51 @@ import java.lang.reflect.Type;
 public class MapperUtil {
 
     private final ModelMapper modelMapper;
+    private final RoleMapper roleMapper;
+    private final UserMapper userMapper;
+    private final ProjectMapper projectMapper;
+    private final TaskMapper taskMapper;
 
-    public MapperUtil(ModelMapper modelMapper) {
+    public MapperUtil(ModelMapper modelMapper, RoleMapper roleMapper, UserMapper userMapper, ProjectMapper projectMapper, TaskMapper taskMapper) {
         this.modelMapper = modelMapper;
+        this.roleMapper = roleMapper;
+        this.userMapper = userMapper;
+        this.projectMapper = projectMapper;
+        this.taskMapper = taskMapper;
     }
 
-    // Some comments to explain what it does.
+    // Converts with the hand-written mappers for the entity/DTO pairs we own,
+    // and falls back to ModelMapper for any other type.
+    @SuppressWarnings("unchecked")
     public <T> T convert(Object objectToBeConverted, T convertedObject) {
-        return modelMapper.map(objectToBeConverted, (Type) convertedObject.getClass());
+        Class<?> target = convertedObject.getClass();
+
+        if (target == RoleDTO.class && objectToBeConverted instanceof Role) {
+            return (T) roleMapper.convertToDto((Role) objectToBeConverted);
+        }
+        if (target == Role.class && objectToBeConverted instanceof RoleDTO) {
+            return (T) roleMapper.convertToEntity((RoleDTO) objectToBeConverted);
+        }
+        if (target == UserDTO.class && objectToBeConverted instanceof User) {
+            return (T) userMapper.convertToDto((User) objectToBeConverted);
+        }
+        if (target == User.class && objectToBeConverted instanceof UserDTO) {
+            return (T) userMapper.convertToEntity((UserDTO) objectToBeConverted);
+        }
+        if (target == ProjectDTO.class && objectToBeConverted instanceof Project) {
+            return (T) projectMapper.convertToDto((Project) objectToBeConverted);
+        }
+        if (target == Project.class && objectToBeConverted instanceof ProjectDTO) {
+            return (T) projectMapper.convertToEntity((ProjectDTO) objectToBeConverted);
+        }
+        if (target == TaskDTO.class && objectToBeConverted instanceof Task) {
+            return (T) taskMapper.convertToDto((Task) objectToBeConverted);
+        }
+        if (target == Task.class && objectToBeConverted instanceof TaskDTO) {
+            return (T) taskMapper.convertToEntity((TaskDTO) objectToBeConverted);
+        }
+
+        return modelMapper.map(objectToBeConverted, (Type) target);
     }
 
 //    public <T> T convert(Object objectToBeConverted, Class<T> convertedObject) {
@@ -2,26 +2,42 @@ package com.cydeo.mapper;
 
 import com.cydeo.dto.ProjectDTO;
 import com.cydeo.entity.Project;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Component;
 
 @Component
 public class ProjectMapper {
 
-    private final ModelMapper modelMapper;
+    private final UserMapper userMapper;
 
-    public ProjectMapper(ModelMapper modelMapper) {
-        this.modelMapper = modelMapper;
+    public ProjectMapper(UserMapper userMapper) {
+        this.userMapper = userMapper;
     }
 
     public Project convertToEntity(ProjectDTO dto){
-        return modelMapper.map(dto,Project.class);
+        Project project = new Project();
+        project.setId(dto.getId());
+        project.setProjectName(dto.getProjectName());
+        project.setProjectCode(dto.getProjectCode());
+        project.setAssignedManager(dto.getAssignedManager() == null ? null : userMapper.convertToEntity(dto.getAssignedManager()));
+        project.setStartDate(dto.getStartDate());
+        project.setEndDate(dto.getEndDate());
+        project.setProjectDetail(dto.getProjectDetail());
+        project.setProjectStatus(dto.getProjectStatus());
+        return project;
 
     }
 
     public ProjectDTO convertToDto(Project entity){
-
-        return modelMapper.map(entity,ProjectDTO.class);
+        ProjectDTO dto = new ProjectDTO();
+        dto.setId(entity.getId());
+        dto.setProjectName(entity.getProjectName());
+        dto.setProjectCode(entity.getProjectCode());
+        dto.setAssignedManager(entity.getAssignedManager() == null ? null : userMapper.convertToDto(entity.getAssignedManager()));
+        dto.setStartDate(entity.getStartDate());
+        dto.setEndDate(entity.getEndDate());
+        dto.setProjectDetail(entity.getProjectDetail());
+        dto.setProjectStatus(entity.getProjectStatus());
+        return dto;
     }
 
 }
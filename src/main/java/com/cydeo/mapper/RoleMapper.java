@@ -2,24 +2,20 @@ package com.cydeo.mapper;
 
 import com.cydeo.dto.RoleDTO;
 import com.cydeo.entity.Role;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Component;
 
 @Component
 public class RoleMapper {
 
-    private ModelMapper modelMapper;
-
-    public RoleMapper(ModelMapper modelMapper) {
-        this.modelMapper = modelMapper;
-    }
-
     public Role convertToEntity(RoleDTO dto){
-        return modelMapper.map(dto,Role.class);
+        Role role = new Role();
+        role.setId(dto.getId());
+        role.setDescription(dto.getDescription());
+        return role;
     }
 
     public RoleDTO convertToDto(Role entity){
-        return modelMapper.map(entity,RoleDTO.class);
+        return new RoleDTO(entity.getId(), entity.getDescription());
     }
 
 }
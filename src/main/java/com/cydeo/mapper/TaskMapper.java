@@ -2,23 +2,40 @@ package com.cydeo.mapper;
 
 import com.cydeo.dto.TaskDTO;
 import com.cydeo.entity.Task;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Component;
 
 @Component
 public class TaskMapper {
 
-    private final  ModelMapper modelMapper;
+    private final ProjectMapper projectMapper;
+    private final UserMapper userMapper;
 
-    public TaskMapper(ModelMapper modelMapper) {
-        this.modelMapper = modelMapper;
+    public TaskMapper(ProjectMapper projectMapper, UserMapper userMapper) {
+        this.projectMapper = projectMapper;
+        this.userMapper = userMapper;
     }
 
     public Task convertToEntity(TaskDTO dto){
-        return modelMapper.map(dto,Task.class);
+        Task task = new Task();
+        task.setId(dto.getId());
+        task.setProject(dto.getProject() == null ? null : projectMapper.convertToEntity(dto.getProject()));
+        task.setAssignedEmployee(dto.getAssignedEmployee() == null ? null : userMapper.convertToEntity(dto.getAssignedEmployee()));
+        task.setTaskSubject(dto.getTaskSubject());
+        task.setTaskDetail(dto.getTaskDetail());
+        task.setTaskStatus(dto.getTaskStatus());
+        task.setAssignedDate(dto.getAssignedDate());
+        return task;
     }
 
     public TaskDTO convertToDto(Task entity){
-        return modelMapper.map(entity,TaskDTO.class);
+        TaskDTO dto = new TaskDTO();
+        dto.setId(entity.getId());
+        dto.setProject(entity.getProject() == null ? null : projectMapper.convertToDto(entity.getProject()));
+        dto.setAssignedEmployee(entity.getAssignedEmployee() == null ? null : userMapper.convertToDto(entity.getAssignedEmployee()));
+        dto.setTaskSubject(entity.getTaskSubject());
+        dto.setTaskDetail(entity.getTaskDetail());
+        dto.setTaskStatus(entity.getTaskStatus());
+        dto.setAssignedDate(entity.getAssignedDate());
+        return dto;
     }
 }
@@ -2,25 +2,44 @@ package com.cydeo.mapper;
 
 import com.cydeo.dto.UserDTO;
 import com.cydeo.entity.User;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Component;
 
 @Component
 public class UserMapper {
 
-    private final ModelMapper modelMapper;
+    private final RoleMapper roleMapper;
 
-    public UserMapper(ModelMapper modelMapper) {
-        this.modelMapper = modelMapper;
+    public UserMapper(RoleMapper roleMapper) {
+        this.roleMapper = roleMapper;
     }
 
     public User convertToEntity(UserDTO dto){
-        return modelMapper.map(dto,User.class);
+        User user = new User();
+        user.setId(dto.getId());
+        user.setFirstName(dto.getFirstName());
+        user.setLastName(dto.getLastName());
+        user.setUserName(dto.getUserName());
+        user.setPassWord(dto.getPassWord());
+        user.setEnabled(dto.isEnabled());
+        user.setPhone(dto.getPhone());
+        user.setRole(dto.getRole() == null ? null : roleMapper.convertToEntity(dto.getRole()));
+        user.setGender(dto.getGender());
+        return user;
 
     }
 
     public UserDTO convertToDto(User entity){
-        return modelMapper.map(entity,UserDTO.class);
+        UserDTO dto = new UserDTO();
+        dto.setId(entity.getId());
+        dto.setFirstName(entity.getFirstName());
+        dto.setLastName(entity.getLastName());
+        dto.setUserName(entity.getUserName());
+        dto.setPassWord(entity.getPassWord());
+        dto.setEnabled(entity.isEnabled());
+        dto.setPhone(entity.getPhone());
+        dto.setRole(entity.getRole() == null ? null : roleMapper.convertToDto(entity.getRole()));
+        dto.setGender(entity.getGender());
+        return dto;
     }
 
 }
@@ -0,0 +1,33 @@
+package com.cydeo.repository;
+
+import com.cydeo.entity.KeycloakOutboxEvent;
+import com.cydeo.enums.OutboxStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface KeycloakOutboxRepository extends JpaRepository<KeycloakOutboxEvent, Long> {
+
+    // -2 is Hibernate's SKIP LOCKED, so several instances can drain the outbox side by side. Events of one
+    // user go out in order: one waits while an earlier event for the same user is still pending, so a
+    // delete cannot overtake a create that is backing off and be undone by its retry.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM KeycloakOutboxEvent e WHERE e.status = ?1 AND e.nextAttemptAt <= ?2 " +
+            "AND NOT EXISTS (SELECT p.id FROM KeycloakOutboxEvent p WHERE p.userName = e.userName AND p.status = ?1 AND p.id < e.id) " +
+            "ORDER BY e.id")
+    List<KeycloakOutboxEvent> findDueEvents(OutboxStatus status, LocalDateTime now, Pageable pageable);
+
+    long countByStatus(OutboxStatus status);
+
+    @Query("SELECT MIN(e.insertDateTime) FROM KeycloakOutboxEvent e WHERE e.status = ?1")
+    LocalDateTime findOldestInsertDateTime(OutboxStatus status);
+
+}
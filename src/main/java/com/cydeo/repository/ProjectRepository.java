@@ -1,16 +1,85 @@
 package com.cydeo.repository;
 
+import com.cydeo.dto.ResourceVersionDTO;
+import com.cydeo.dto.StatusCountDTO;
 import com.cydeo.entity.Project;
 import com.cydeo.entity.User;
 import com.cydeo.enums.Status;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 public interface ProjectRepository extends JpaRepository<Project,Long> {
 
     Project findByProjectCode(String code);
+    List<Project> findAllByProjectCodeIn(Collection<String> codes);
+
+    // listings are mapped to ProjectDTO right away, so they load Project.LISTING_GRAPH in one statement
+    @Override
+    @EntityGraph(Project.LISTING_GRAPH)
+    List<Project> findAll(Sort sort);
+
+    @EntityGraph(Project.LISTING_GRAPH)
     List<Project> findAllByAssignedManager(User manager);
+    // the manager queries are written out because the derived form compares the id of the fetched manager
+    // join, not the manager_id column, and then projects_manager_id_project_code_id_idx cannot drive the plan
+    @EntityGraph(Project.LISTING_GRAPH)
+    @Query("SELECT p FROM Project p WHERE p.assignedManager.id = ?1")
+    List<Project> findAllByAssignedManagerId(Long managerId);
+
+    // keyset pages ordered by projectCode then id, List return types so no COUNT(*) is issued
+    @EntityGraph(Project.LISTING_GRAPH)
+    @Query("SELECT p FROM Project p WHERE p.assignedManager.id = ?1 ORDER BY p.projectCode, p.id")
+    List<Project> findAllByAssignedManagerIdOrderByProjectCodeAscIdAsc(Long managerId, Pageable pageable);
+
+    @EntityGraph(Project.LISTING_GRAPH)
+    @Query("SELECT p FROM Project p WHERE p.assignedManager.id = ?1 " +
+            "AND (p.projectCode > ?2 OR (p.projectCode = ?2 AND p.id > ?3)) ORDER BY p.projectCode, p.id")
+    List<Project> findPageByAssignedManagerIdAfter(Long managerId, String projectCode, Long id, Pageable pageable);
+
+    @EntityGraph(Project.LISTING_GRAPH)
+    @Query("SELECT p FROM Project p WHERE p.assignedManager.id = ?1")
+    Slice<Project> findAllByAssignedManagerId(Long managerId, Pageable pageable);
+
+    @Query("SELECT COUNT(p) FROM Project p WHERE p.assignedManager.id = ?1")
+    long countByAssignedManagerId(Long managerId);
+
+    // conditional GET of the manager's project listing, which embeds the manager
+    @Query("SELECT new com.cydeo.dto.ResourceVersionDTO(COUNT(p), MAX(p.lastUpdateDateTime), MAX(m.lastUpdateDateTime)) " +
+            "FROM Project p JOIN p.assignedManager m WHERE p.assignedManager.id = ?1")
+    ResourceVersionDTO findVersionByAssignedManagerId(Long managerId);
+
+    @EntityGraph(Project.LISTING_GRAPH)
     List<Project> findAllByProjectStatusIsNotAndAssignedManager(Status status, User assignedManager);
 
+    // dashboard, for the manager's projects or for every project when managerId is null
+    @Query("SELECT p.projectStatus AS status, COUNT(p) AS count FROM Project p " +
+            "WHERE (:managerId IS NULL OR p.assignedManager.id = :managerId) GROUP BY p.projectStatus")
+    List<StatusCountDTO> countGroupedByStatus(@Param("managerId") Long managerId);
+
+    // streamed by the NDJSON export, for the manager's projects or for every project when managerId is null
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READONLY, value = "true"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT p FROM Project p LEFT JOIN FETCH p.assignedManager m LEFT JOIN FETCH m.role " +
+            "WHERE (:managerId IS NULL OR m.id = :managerId) " +
+            "AND (:status IS NULL OR p.projectStatus = :status) ORDER BY p.id")
+    Stream<Project> streamAllForExport(@Param("managerId") Long managerId, @Param("status") Status status);
+
 }
@@ -0,0 +1,58 @@
+package com.cydeo.repository;
+
+import com.cydeo.dto.ProjectTaskCountDTO;
+import com.cydeo.entity.ProjectTaskStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ProjectTaskStatsRepository extends JpaRepository<ProjectTaskStats, ProjectTaskStats.Key> {
+
+    // Listing counts: the sum of the stripes, or the grouped task count for a project that has none yet
+    // (created outside the services, e.g. by data.sql, and not reconciled since). Both are one statement,
+    // and the COUNT subqueries only run for the projects that need them.
+    String COUNTS = "SELECT p.id AS projectId, " +
+            "COALESCE(SUM(s.completedCount), " +
+            "(SELECT COUNT(t) FROM Task t WHERE t.project.id = p.id AND t.taskStatus = 'COMPLETE')) AS completedCount, " +
+            "COALESCE(SUM(s.nonCompletedCount), " +
+            "(SELECT COUNT(t) FROM Task t WHERE t.project.id = p.id AND t.taskStatus <> 'COMPLETE')) AS nonCompletedCount " +
+            "FROM Project p LEFT JOIN ProjectTaskStats s ON s.projectId = p.id ";
+
+    @Query(COUNTS + "WHERE p.assignedManager.id = ?1 GROUP BY p.id")
+    List<ProjectTaskCountDTO> sumByAssignedManagerId(Long managerId);
+
+    @Query(COUNTS + "WHERE p.id IN ?1 GROUP BY p.id")
+    List<ProjectTaskCountDTO> sumByProjectIds(Collection<Long> projectIds);
+
+    @Query("SELECT s.projectId AS projectId, SUM(s.completedCount) AS completedCount, SUM(s.nonCompletedCount) AS nonCompletedCount " +
+            "FROM ProjectTaskStats s GROUP BY s.projectId")
+    List<ProjectTaskCountDTO> sumAll();
+
+    @Query("SELECT p.id FROM Project p WHERE NOT EXISTS (SELECT s FROM ProjectTaskStats s WHERE s.projectId = p.id)")
+    List<Long> findProjectIdsWithoutStats();
+
+    @Modifying
+    @Query(value = "INSERT INTO project_task_stats (project_id, slot, completed_count, non_completed_count) VALUES (?1, ?2, ?3, ?4)",
+            nativeQuery = true)
+    int insertSlot(Long projectId, int slot, long completedCount, long nonCompletedCount);
+
+    // relative, so concurrent writers to one stripe only wait for each other's row lock, never overwrite
+    @Modifying
+    @Query("UPDATE ProjectTaskStats s SET s.completedCount = s.completedCount + ?3, s.nonCompletedCount = s.nonCompletedCount + ?4 " +
+            "WHERE s.projectId = ?1 AND s.slot = ?2")
+    int addToSlot(Long projectId, int slot, long completedDelta, long nonCompletedDelta);
+
+    // every stripe moves its own unfinished count over, so the sums stay right without reading them
+    @Modifying
+    @Query("UPDATE ProjectTaskStats s SET s.completedCount = s.completedCount + s.nonCompletedCount, s.nonCompletedCount = 0 " +
+            "WHERE s.projectId = ?1")
+    int completeAll(Long projectId);
+
+    @Modifying
+    @Query("UPDATE ProjectTaskStats s SET s.completedCount = 0, s.nonCompletedCount = 0 WHERE s.projectId = ?1")
+    int clearAll(Long projectId);
+
+}
@@ -1,13 +1,33 @@
 package com.cydeo.repository;
 
+import com.cydeo.dto.EmployeeTaskCountDTO;
+import com.cydeo.dto.ProjectStatusCountDTO;
+import com.cydeo.dto.ProjectTaskCountDTO;
+import com.cydeo.dto.ResourceVersionDTO;
+import com.cydeo.dto.StatusCountDTO;
 import com.cydeo.entity.Project;
 import com.cydeo.entity.Task;
 import com.cydeo.entity.User;
 import com.cydeo.enums.Status;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import javax.persistence.QueryHint;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 public interface TaskRepository extends JpaRepository<Task,Long> {
 
@@ -20,10 +40,122 @@ public interface TaskRepository extends JpaRepository<Task,Long> {
             "WHERE p.project_code=?1 AND t.task_status='COMPLETE'", nativeQuery = true)
     int totalCompletedTasks(String projectCode);
 
+    @Query("SELECT t.project.id AS projectId, " +
+            "SUM(CASE WHEN t.taskStatus = 'COMPLETE' THEN 1 ELSE 0 END) AS completedCount, " +
+            "SUM(CASE WHEN t.taskStatus <> 'COMPLETE' THEN 1 ELSE 0 END) AS nonCompletedCount " +
+            "FROM Task t WHERE t.project.assignedManager.id = ?1 GROUP BY t.project.id")
+    List<ProjectTaskCountDTO> countTasksGroupedByProject(Long managerId);
+
+    @Query("SELECT t.project.id AS projectId, " +
+            "SUM(CASE WHEN t.taskStatus = 'COMPLETE' THEN 1 ELSE 0 END) AS completedCount, " +
+            "SUM(CASE WHEN t.taskStatus <> 'COMPLETE' THEN 1 ELSE 0 END) AS nonCompletedCount " +
+            "FROM Task t WHERE t.project.id IN ?1 GROUP BY t.project.id")
+    List<ProjectTaskCountDTO> countTasksGroupedByProjectIds(Collection<Long> projectIds);
+
+    // what ProjectTaskStatsServiceImpl.reconcile compares the stripes against
+    @Query("SELECT t.project.id AS projectId, " +
+            "SUM(CASE WHEN t.taskStatus = 'COMPLETE' THEN 1 ELSE 0 END) AS completedCount, " +
+            "SUM(CASE WHEN t.taskStatus <> 'COMPLETE' THEN 1 ELSE 0 END) AS nonCompletedCount " +
+            "FROM Task t WHERE t.project.id IS NOT NULL GROUP BY t.project.id")
+    List<ProjectTaskCountDTO> countTasksGroupedByAllProjects();
+
+    // dashboard, for the tasks of the manager's projects or for every task when managerId is null; the
+    // rankings are Pageable so only the top rows leave the database
+    @Query("SELECT t.taskStatus AS status, COUNT(t) AS count FROM Task t LEFT JOIN t.project p " +
+            "WHERE (:managerId IS NULL OR p.assignedManager.id = :managerId) GROUP BY t.taskStatus")
+    List<StatusCountDTO> countGroupedByStatus(@Param("managerId") Long managerId);
+
+    @Query("SELECT p.id FROM Task t JOIN t.project p " +
+            "WHERE t.taskStatus <> 'COMPLETE' AND (:managerId IS NULL OR p.assignedManager.id = :managerId) " +
+            "GROUP BY p.id ORDER BY COUNT(t) DESC, p.id")
+    List<Long> findBusiestProjectIds(@Param("managerId") Long managerId, Pageable pageable);
+
+    @Query("SELECT p.id AS projectId, p.projectCode AS projectCode, p.projectName AS projectName, " +
+            "t.taskStatus AS status, COUNT(t) AS count " +
+            "FROM Task t JOIN t.project p WHERE p.id IN ?1 GROUP BY p.id, p.projectCode, p.projectName, t.taskStatus")
+    List<ProjectStatusCountDTO> countGroupedByProjectAndStatus(Collection<Long> projectIds);
+
+    @Query("SELECT e.userName AS userName, e.firstName AS firstName, e.lastName AS lastName, COUNT(t) AS count " +
+            "FROM Task t JOIN t.assignedEmployee e LEFT JOIN t.project p " +
+            "WHERE t.taskStatus <> 'COMPLETE' AND e.isDeleted = false " +
+            "AND (:managerId IS NULL OR p.assignedManager.id = :managerId) " +
+            "GROUP BY e.id, e.userName, e.firstName, e.lastName ORDER BY COUNT(t) DESC, e.id")
+    List<EmployeeTaskCountDTO> findBusiestEmployees(@Param("managerId") Long managerId, Pageable pageable);
+
+    // the task counts in the manager's project listing
+    @Query("SELECT new com.cydeo.dto.ResourceVersionDTO(COUNT(t), MAX(t.lastUpdateDateTime)) " +
+            "FROM Task t WHERE t.project.assignedManager.id = ?1")
+    ResourceVersionDTO findVersionByAssignedManagerId(Long managerId);
+
+    // every task of the employee, whatever its status, with the project, manager and employee its DTO embeds;
+    // tasks without a project are listed too, so they count here as well
+    @Query("SELECT new com.cydeo.dto.ResourceVersionDTO(COUNT(t), MAX(t.lastUpdateDateTime), " +
+            "MAX(p.lastUpdateDateTime), MAX(m.lastUpdateDateTime), MAX(e.lastUpdateDateTime)) " +
+            "FROM Task t LEFT JOIN t.project p JOIN t.assignedEmployee e LEFT JOIN p.assignedManager m " +
+            "WHERE t.assignedEmployee.id = ?1")
+    ResourceVersionDTO findVersionByAssignedEmployeeId(Long employeeId);
+
+    // listings are mapped to TaskDTO right away, so they load Task.LISTING_GRAPH in one statement
+    @Override
+    @EntityGraph(Task.LISTING_GRAPH)
+    List<Task> findAll();
+
+    // keyset pages ordered by id, List return types so no COUNT(*) is issued
+    @EntityGraph(Task.LISTING_GRAPH)
+    List<Task> findAllByOrderByIdAsc(Pageable pageable);
+    @EntityGraph(Task.LISTING_GRAPH)
+    List<Task> findAllByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    @EntityGraph(Task.LISTING_GRAPH)
+    Slice<Task> findAllBy(Pageable pageable);
+
     List<Task> findAllByProject(Project project);
 
+    @EntityGraph(Task.LISTING_GRAPH)
     List<Task> findAllByTaskStatusIsNotAndAssignedEmployee(Status status, User user);
 
+    @EntityGraph(Task.LISTING_GRAPH)
     List<Task> findAllByTaskStatusAndAssignedEmployee(Status status, User user);
 
+    // written out because the derived form compares the id of the fetched employee join, not the
+    // assigned_employee_id column, and then tasks_assigned_employee_id_task_status_idx cannot drive the plan
+    @EntityGraph(Task.LISTING_GRAPH)
+    @Query("SELECT t FROM Task t WHERE t.taskStatus <> ?1 AND t.assignedEmployee.id = ?2")
+    List<Task> findAllByTaskStatusIsNotAndAssignedEmployeeId(Status status, Long employeeId);
+
+    @EntityGraph(Task.LISTING_GRAPH)
+    @Query("SELECT t FROM Task t WHERE t.taskStatus = ?1 AND t.assignedEmployee.id = ?2")
+    List<Task> findAllByTaskStatusAndAssignedEmployeeId(Status status, Long employeeId);
+
+    // bulk updates bypass @Where and @PreUpdate, so both are applied by hand
+    @Modifying
+    @Query("UPDATE Task t SET t.taskStatus = ?2, t.lastUpdateDateTime = ?3, t.lastUpdateUserId = ?4 " +
+            "WHERE t.project.id = ?1 AND t.isDeleted = false")
+    int updateStatusByProject(Long projectId, Status status, LocalDateTime lastUpdateDateTime, Long lastUpdateUserId);
+
+    @Modifying
+    @Query("UPDATE Task t SET t.isDeleted = true, t.lastUpdateDateTime = ?2, t.lastUpdateUserId = ?3 " +
+            "WHERE t.project.id = ?1 AND t.isDeleted = false")
+    int softDeleteByProject(Long projectId, LocalDateTime lastUpdateDateTime, Long lastUpdateUserId);
+
+
+    // streamed by the NDJSON export; associations are fetched in the same row so mapping issues no extra selects.
+    // Tasks without a project are exported too, unless a projectCode is given
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READONLY, value = "true"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT t FROM Task t " +
+            "LEFT JOIN FETCH t.project p LEFT JOIN FETCH p.assignedManager m LEFT JOIN FETCH m.role " +
+            "LEFT JOIN FETCH t.assignedEmployee e LEFT JOIN FETCH e.role " +
+            "WHERE (:projectCode IS NULL OR p.projectCode = :projectCode) " +
+            "AND (:status IS NULL OR t.taskStatus = :status) " +
+            "AND (:assignedDateFrom IS NULL OR t.assignedDate >= :assignedDateFrom) " +
+            "AND (:assignedDateTo IS NULL OR t.assignedDate <= :assignedDateTo) " +
+            "ORDER BY t.id")
+    Stream<Task> streamAllForExport(@Param("projectCode") String projectCode, @Param("status") Status status,
+                                    @Param("assignedDateFrom") LocalDate assignedDateFrom,
+                                    @Param("assignedDateTo") LocalDate assignedDateTo);
+
 }
@@ -0,0 +1,141 @@
+package com.cydeo.repository;
+
+import com.cydeo.dto.ProjectDTO;
+import com.cydeo.dto.RoleDTO;
+import com.cydeo.dto.TaskDTO;
+import com.cydeo.dto.UserDTO;
+import com.cydeo.enums.Gender;
+import com.cydeo.enums.Status;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Row;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDate;
+
+// Non-blocking reads of the employee task views over R2DBC, alongside the JPA repositories. The pool is
+// built here rather than as a ConnectionFactory bean: with one in the context Spring Boot stops configuring
+// the JDBC DataSource (and R2dbcAutoConfiguration is excluded for the same reason).
+@Repository
+public class TaskStreamRepository implements DisposableBean {
+
+    // the same rows and associations as Task.LISTING_GRAPH, in one statement; t.is_deleted = false is
+    // the @Where of Task and the predicate of the partial index on (assigned_employee_id, task_status)
+    private static final String EMPLOYEE_TASKS = "SELECT t.id, t.task_subject, t.task_detail, t.task_status, t.assigned_date, " +
+            "p.id AS project_id, p.project_name, p.project_code, p.start_date, p.end_date, p.project_detail, p.project_status, " +
+            "m.id AS manager_id, m.first_name AS manager_first_name, m.last_name AS manager_last_name, " +
+            "m.user_name AS manager_user_name, m.enabled AS manager_enabled, m.phone AS manager_phone, m.gender AS manager_gender, " +
+            "mr.id AS manager_role_id, mr.description AS manager_role, " +
+            "e.id AS employee_id, e.first_name AS employee_first_name, e.last_name AS employee_last_name, " +
+            "e.user_name AS employee_user_name, e.enabled AS employee_enabled, e.phone AS employee_phone, e.gender AS employee_gender, " +
+            "er.id AS employee_role_id, er.description AS employee_role " +
+            "FROM tasks t " +
+            "JOIN users e ON e.id = t.assigned_employee_id " +
+            "LEFT JOIN projects p ON p.id = t.project_id " +
+            "LEFT JOIN users m ON m.id = p.manager_id " +
+            "LEFT JOIN roles mr ON mr.id = m.role_id " +
+            "LEFT JOIN roles er ON er.id = e.role_id " +
+            "WHERE e.user_name = :userName AND e.is_deleted = false AND t.is_deleted = false ";
+
+    private final ConnectionPool pool;
+    private final DatabaseClient databaseClient;
+
+    public TaskStreamRepository(@Value("${spring.r2dbc.url}") String url,
+                                @Value("${spring.r2dbc.username:}") String username,
+                                @Value("${spring.r2dbc.password:}") String password,
+                                @Value("${spring.r2dbc.pool.initial-size:2}") int initialSize,
+                                @Value("${spring.r2dbc.pool.max-size:10}") int maxSize) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        this.pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .initialSize(initialSize)
+                .maxSize(maxSize)
+                .build());
+        this.databaseClient = DatabaseClient.create(pool);
+    }
+
+    public Flux<TaskDTO> findAllByTaskStatusIsNotAndAssignedEmployeeUserName(Status status, String userName) {
+        return findAll("AND t.task_status <> :status ", status, userName);
+    }
+
+    public Flux<TaskDTO> findAllByTaskStatusAndAssignedEmployeeUserName(Status status, String userName) {
+        return findAll("AND t.task_status = :status ", status, userName);
+    }
+
+    private Flux<TaskDTO> findAll(String statusCondition, Status status, String userName) {
+        return databaseClient.sql(EMPLOYEE_TASKS + statusCondition + "ORDER BY t.id")
+                .bind("userName", userName)
+                .bind("status", status.name())
+                .map((row, metadata) -> toDto(row))
+                .all();
+    }
+
+    private static TaskDTO toDto(Row row) {
+        return new TaskDTO(
+                row.get("id", Long.class),
+                project(row),
+                user(row, "employee"),
+                row.get("task_subject", String.class),
+                row.get("task_detail", String.class),
+                status(row.get("task_status", String.class)),
+                row.get("assigned_date", LocalDate.class));
+    }
+
+    // a task may be saved without a project
+    private static ProjectDTO project(Row row) {
+        Long id = row.get("project_id", Long.class);
+        if (id == null) {
+            return null;
+        }
+        ProjectDTO project = new ProjectDTO(
+                row.get("project_name", String.class),
+                row.get("project_code", String.class),
+                user(row, "manager"),
+                row.get("start_date", LocalDate.class),
+                row.get("end_date", LocalDate.class),
+                row.get("project_detail", String.class),
+                status(row.get("project_status", String.class)));
+        project.setId(id);
+        return project;
+    }
+
+    // the manager columns are null for a project without one
+    private static UserDTO user(Row row, String prefix) {
+        Long id = row.get(prefix + "_id", Long.class);
+        if (id == null) {
+            return null;
+        }
+        Long roleId = row.get(prefix + "_role_id", Long.class);
+        String gender = row.get(prefix + "_gender", String.class);
+        Boolean enabled = row.get(prefix + "_enabled", Boolean.class);
+        return new UserDTO(
+                id,
+                row.get(prefix + "_first_name", String.class),
+                row.get(prefix + "_last_name", String.class),
+                row.get(prefix + "_user_name", String.class),
+                null,
+                null,
+                enabled != null && enabled,
+                row.get(prefix + "_phone", String.class),
+                roleId == null ? null : new RoleDTO(roleId, row.get(prefix + "_role", String.class)),
+                gender == null ? null : Gender.valueOf(gender));
+    }
+
+    private static Status status(String status) {
+        return status == null ? null : Status.valueOf(status);
+    }
+
+    @Override
+    public void destroy() {
+        pool.dispose();
+    }
+
+}
@@ -1,16 +1,60 @@
 package com.cydeo.repository;
 
+import com.cydeo.dto.CurrentUserDTO;
+import com.cydeo.dto.ResourceVersionDTO;
+import com.cydeo.dto.RoleUserCountDTO;
 import com.cydeo.entity.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import javax.transaction.Transactional;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface UserRepository extends JpaRepository<User,Long> {
+public interface UserRepository extends JpaRepository<User,Long>, UserRepositoryCustom {
 
     List<User> findAllByIsDeletedOrderByFirstNameDesc(Boolean deleted);
 
-    User findByUserNameAndIsDeleted(String username, Boolean deleted);
+    // keyset pages ordered by firstName then id, both descending; List return types so no COUNT(*) is issued.
+    // first_name is nullable and the databases disagree on where NULLs sort, so they are put last explicitly
+    @Query("SELECT u FROM User u WHERE u.isDeleted = ?1 ORDER BY u.firstName DESC NULLS LAST, u.id DESC")
+    List<User> findAllByIsDeletedOrderByFirstNameDescIdDesc(Boolean deleted, Pageable pageable);
+
+    // after a user with a first name: the rest of that name, the names below it, then the users without one
+    @Query("SELECT u FROM User u WHERE u.isDeleted = ?1 " +
+            "AND (u.firstName < ?2 OR (u.firstName = ?2 AND u.id < ?3) OR u.firstName IS NULL) " +
+            "ORDER BY u.firstName DESC NULLS LAST, u.id DESC")
+    List<User> findPageByIsDeletedAfter(Boolean deleted, String firstName, Long id, Pageable pageable);
+
+    // after a user without a first name, where only users without one are left
+    @Query("SELECT u FROM User u WHERE u.isDeleted = ?1 AND u.firstName IS NULL AND u.id < ?2 ORDER BY u.id DESC")
+    List<User> findPageWithoutFirstNameByIsDeletedAfter(Boolean deleted, Long id, Pageable pageable);
+
+    // offset pages in the same order; a derived query drops nullsLast() from the Sort and leaves the NULLs to the database
+    @Query("SELECT u FROM User u WHERE u.isDeleted = ?1 ORDER BY u.firstName DESC NULLS LAST, u.id DESC")
+    Slice<User> findAllByIsDeleted(Boolean deleted, Pageable pageable);
+
+    long countByIsDeleted(Boolean deleted);
+
+    // dashboard
+    @Query("SELECT r.description AS role, COUNT(u) AS count FROM User u JOIN u.role r " +
+            "WHERE u.isDeleted = false GROUP BY r.description")
+    List<RoleUserCountDTO> countGroupedByRole();
+
+    // conditional GET of the user listing, which embeds the role
+    @Query("SELECT new com.cydeo.dto.ResourceVersionDTO(COUNT(u), MAX(u.lastUpdateDateTime), MAX(r.lastUpdateDateTime)) " +
+            "FROM User u LEFT JOIN u.role r WHERE u.isDeleted = ?1")
+    ResourceVersionDTO findVersionByIsDeleted(Boolean deleted);
+
+    // userName is the natural id, so the lookup goes through the second-level cache instead of a query
+    default User findByUserNameAndIsDeleted(String username, Boolean deleted) {
+        return findByNaturalUserName(username)
+                .filter(user -> deleted.equals(user.getIsDeleted()))
+                .orElse(null);
+    }
 
 
     @Transactional
@@ -18,4 +62,10 @@ public interface UserRepository extends JpaRepository<User,Long> {
 
     List<User> findByRoleDescriptionIgnoreCaseAndIsDeleted(String description, Boolean deleted);
 
+    List<User> findAllByUserNameInAndIsDeleted(Collection<String> usernames, Boolean deleted);
+
+    @Query("SELECT new com.cydeo.dto.CurrentUserDTO(u.id, u.userName, r.description) " +
+            "FROM User u LEFT JOIN u.role r WHERE u.userName = ?1 AND u.isDeleted = false")
+    Optional<CurrentUserDTO> findCurrentUser(String username);
+
 }
@@ -0,0 +1,12 @@
+package com.cydeo.repository;
+
+import com.cydeo.entity.User;
+
+import java.util.Optional;
+
+public interface UserRepositoryCustom {
+
+    // resolved through the natural-id and entity caches before any SQL is issued
+    Optional<User> findByNaturalUserName(String userName);
+
+}
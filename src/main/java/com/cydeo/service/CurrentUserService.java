@@ -0,0 +1,12 @@
+package com.cydeo.service;
+
+import com.cydeo.dto.CurrentUserDTO;
+
+public interface CurrentUserService {
+
+    CurrentUserDTO getCurrentUser();
+
+    // read from the token alone, for callers that must not block on the database
+    String getCurrentUserName();
+
+}
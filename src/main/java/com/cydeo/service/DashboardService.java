@@ -0,0 +1,10 @@
+package com.cydeo.service;
+
+import com.cydeo.dto.DashboardDTO;
+
+public interface DashboardService {
+
+    // a manager's own projects, every project for an admin
+    DashboardDTO getDashboard();
+
+}
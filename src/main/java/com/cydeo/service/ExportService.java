@@ -0,0 +1,17 @@
+package com.cydeo.service;
+
+import com.cydeo.dto.TaskFilterDTO;
+import com.cydeo.enums.Status;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ExportService {
+
+    long exportTasks(TaskFilterDTO filter, OutputStream outputStream) throws IOException;
+    // the manager whose projects the current user may export, or null for an admin, who exports every project;
+    // called on the request thread, before the export is handed to the async one
+    Long projectExportManagerId();
+    long exportProjects(Long managerId, Status status, OutputStream outputStream) throws IOException;
+
+}
@@ -0,0 +1,11 @@
+package com.cydeo.service;
+
+import com.cydeo.dto.UserDTO;
+
+public interface KeycloakOutboxService {
+
+    void enqueueUserCreate(UserDTO userDTO);
+    void enqueueUserDelete(String username);
+    int dispatchPending();
+
+}
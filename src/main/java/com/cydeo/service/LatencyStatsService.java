@@ -0,0 +1,14 @@
+package com.cydeo.service;
+
+import com.cydeo.dto.LatencyStatsDTO;
+
+import java.util.List;
+
+public interface LatencyStatsService {
+
+    void record(String method, long elapsedNanos, boolean failed);
+    List<LatencyStatsDTO> listCumulativeStats();
+    List<LatencyStatsDTO> listIntervalStats();
+    void reset();
+
+}
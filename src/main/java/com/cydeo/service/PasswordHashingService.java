@@ -0,0 +1,8 @@
+package com.cydeo.service;
+
+public interface PasswordHashingService {
+
+    // blocks until the hash is ready; throws PasswordHashingBusyException when too many are waiting
+    String encode(String rawPassword);
+
+}
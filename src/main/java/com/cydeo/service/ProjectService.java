@@ -1,6 +1,9 @@
 package com.cydeo.service;
 
+import com.cydeo.dto.PageDTO;
+import com.cydeo.dto.PageRequestDTO;
 import com.cydeo.dto.ProjectDTO;
+import com.cydeo.dto.ResourceVersionDTO;
 import com.cydeo.dto.UserDTO;
 
 import java.util.List;
@@ -14,7 +17,12 @@ public interface ProjectService {
     void delete(String code);
     void complete(String code);
     List<ProjectDTO> listAllProjectDetails();
+    PageDTO<ProjectDTO> listAllProjectDetails(PageRequestDTO pageRequest);
+    ResourceVersionDTO listAllProjectDetailsVersion();
 
     List<ProjectDTO> listAllNonCompletedByAssignedManager(UserDTO assignedManager);
 
+    // drops cached projects that embed the given manager after the user was changed or deleted
+    void evictByAssignedManager(String userName);
+
 }
@@ -0,0 +1,22 @@
+package com.cydeo.service;
+
+import com.cydeo.dto.ProjectTaskCountDTO;
+import com.cydeo.enums.Status;
+
+import java.util.Collection;
+import java.util.Map;
+
+public interface ProjectTaskStatsService {
+
+    // writes join the caller's transaction, so the counters commit or roll back with the task rows
+    void createProject(Long projectId);
+    void addTasks(Long projectId, Status status, long delta);
+    void completeProject(Long projectId);
+    void deleteProject(Long projectId);
+
+    Map<Long, ProjectTaskCountDTO> countsByAssignedManager(Long managerId);
+    Map<Long, ProjectTaskCountDTO> countsByProjects(Collection<Long> projectIds);
+
+    int reconcile();
+
+}
@@ -0,0 +1,12 @@
+package com.cydeo.service;
+
+import com.cydeo.dto.TaskDTO;
+import com.cydeo.dto.TaskImportResultDTO;
+
+import java.util.List;
+
+public interface TaskImportService {
+
+    TaskImportResultDTO importTasks(List<TaskDTO> tasks);
+
+}
@@ -1,16 +1,23 @@
 package com.cydeo.service;
 
+import com.cydeo.dto.PageDTO;
+import com.cydeo.dto.PageRequestDTO;
 import com.cydeo.dto.ProjectDTO;
+import com.cydeo.dto.ProjectTaskCountDTO;
+import com.cydeo.dto.ResourceVersionDTO;
 import com.cydeo.dto.TaskDTO;
 import com.cydeo.dto.UserDTO;
 import com.cydeo.enums.Status;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface TaskService {
 
     TaskDTO findById(Long id);
     List<TaskDTO> listAllTasks();
+    PageDTO<TaskDTO> listAllTasks(PageRequestDTO pageRequest);
 
     void save(TaskDTO dto);
     void update(TaskDTO dto);
@@ -19,12 +26,21 @@ public interface TaskService {
     int totalNonCompletedTask(String projectCode);
     int totalCompletedTask(String projectCode);
 
+    Map<Long, ProjectTaskCountDTO> totalTaskCountsByAssignedManager(Long managerId);
+    Map<Long, ProjectTaskCountDTO> totalTaskCountsByProjects(Collection<Long> projectIds);
+    ResourceVersionDTO totalTaskCountsByAssignedManagerVersion(Long managerId);
+
     void deleteByProject(ProjectDTO projectDTO);
 
     void completeByProject(ProjectDTO projectDTO);
 
+    // the counters a new project's listing reads, created with the project
+    void createTaskCounts(ProjectDTO projectDTO);
+
     List<TaskDTO> listAllTasksByStatusIsNot(Status status);
     List<TaskDTO> listAllTasksByStatus(Status status);
+    // covers both employee listings above
+    ResourceVersionDTO listAllTasksOfEmployeeVersion();
 
     List<TaskDTO> listAllNonCompletedByAssignedEmployee(UserDTO assignedEmployee);
 
@@ -0,0 +1,12 @@
+package com.cydeo.service;
+
+import com.cydeo.dto.TaskDTO;
+import com.cydeo.enums.Status;
+import reactor.core.publisher.Flux;
+
+public interface TaskStreamService {
+
+    Flux<TaskDTO> listAllTasksByStatusIsNot(Status status);
+    Flux<TaskDTO> listAllTasksByStatus(Status status);
+
+}
@@ -1,6 +1,9 @@
 package com.cydeo.service;
 
 
+import com.cydeo.dto.PageDTO;
+import com.cydeo.dto.PageRequestDTO;
+import com.cydeo.dto.ResourceVersionDTO;
 import com.cydeo.dto.UserDTO;
 import com.cydeo.exception.TicketingProjectException;
 
@@ -10,6 +13,8 @@ public interface UserService  {
 
     UserDTO findByUserName(String username);
     List<UserDTO> listAllUsers();
+    PageDTO<UserDTO> listAllUsers(PageRequestDTO pageRequest);
+    ResourceVersionDTO listAllUsersVersion();
     UserDTO save(UserDTO user);
 //    void deleteByUserName(String username);
     UserDTO update(UserDTO user);
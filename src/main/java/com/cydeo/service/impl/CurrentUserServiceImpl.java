@@ -0,0 +1,75 @@
+package com.cydeo.service.impl;
+
+import com.cydeo.dto.CurrentUserDTO;
+import com.cydeo.repository.UserRepository;
+import com.cydeo.service.CurrentUserService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.keycloak.adapters.springsecurity.account.SimpleKeycloakAccount;
+import org.keycloak.representations.AccessToken;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+import java.util.NoSuchElementException;
+
+@Service
+public class CurrentUserServiceImpl implements CurrentUserService {
+
+    private static final String REQUEST_ATTRIBUTE = CurrentUserServiceImpl.class.getName() + ".CURRENT_USER";
+
+    private final UserRepository userRepository;
+
+    // keyed by token subject; short TTL so renamed or deleted users drop out quickly
+    private final Cache<String, CurrentUserDTO> currentUserCache;
+
+    public CurrentUserServiceImpl(UserRepository userRepository,
+                                  @Value("${current-user.cache-ttl-seconds:30}") long cacheTtlSeconds,
+                                  @Value("${current-user.cache-size:10000}") long cacheSize) {
+        this.userRepository = userRepository;
+        this.currentUserCache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(cacheTtlSeconds))
+                .maximumSize(cacheSize)
+                .build();
+    }
+
+    @Override
+    public CurrentUserDTO getCurrentUser() {
+
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes != null) {
+            CurrentUserDTO resolved = (CurrentUserDTO) requestAttributes.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+            if (resolved != null) {
+                return resolved;
+            }
+        }
+
+        AccessToken token = getAccessToken();
+        String username = token.getPreferredUsername();
+        String key = token.getSubject() != null ? token.getSubject() : username;
+
+        CurrentUserDTO currentUser = currentUserCache.get(key, k -> userRepository.findCurrentUser(username)
+                .orElseThrow(() -> new NoSuchElementException("No User Found")));
+
+        if (requestAttributes != null) {
+            requestAttributes.setAttribute(REQUEST_ATTRIBUTE, currentUser, RequestAttributes.SCOPE_REQUEST);
+        }
+        return currentUser;
+    }
+
+    @Override
+    public String getCurrentUserName() {
+        return getAccessToken().getPreferredUsername();
+    }
+
+    private AccessToken getAccessToken() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        SimpleKeycloakAccount details = (SimpleKeycloakAccount) authentication.getDetails();
+        return details.getKeycloakSecurityContext().getToken();
+    }
+
+}
@@ -0,0 +1,173 @@
+package com.cydeo.service.impl;
+
+import com.cydeo.dto.CurrentUserDTO;
+import com.cydeo.dto.DashboardDTO;
+import com.cydeo.dto.EmployeeTaskCountDTO;
+import com.cydeo.dto.ProjectStatusCountDTO;
+import com.cydeo.dto.RoleUserCountDTO;
+import com.cydeo.dto.StatusCountDTO;
+import com.cydeo.enums.Status;
+import com.cydeo.repository.ProjectRepository;
+import com.cydeo.repository.TaskRepository;
+import com.cydeo.repository.UserRepository;
+import com.cydeo.service.CurrentUserService;
+import com.cydeo.service.DashboardService;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+// Five grouped queries, run side by side on a small pool of their own so a burst of dashboard requests
+// holds at most dashboard.query-threads connections. The result is cached per manager; concurrent requests
+// for a dashboard that is being computed wait for that computation instead of starting another.
+@Service
+public class DashboardServiceImpl implements DashboardService, DisposableBean {
+
+    // cache key of the admin dashboard, which covers every project; user ids start at 1
+    private static final long ALL_PROJECTS = 0L;
+
+    private final ProjectRepository projectRepository;
+    private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+    private final CurrentUserService currentUserService;
+    private final int topLimit;
+    private final ExecutorService queryExecutor;
+
+    private final AsyncCache<Long, DashboardDTO> dashboardCache;
+
+    public DashboardServiceImpl(ProjectRepository projectRepository, TaskRepository taskRepository, UserRepository userRepository,
+                                CurrentUserService currentUserService,
+                                @Value("${dashboard.cache-ttl-seconds:30}") long cacheTtlSeconds,
+                                @Value("${dashboard.cache-size:1000}") long cacheSize,
+                                @Value("${dashboard.top-limit:10}") int topLimit,
+                                @Value("${dashboard.query-threads:4}") int queryThreads,
+                                MeterRegistry meterRegistry) {
+        this.projectRepository = projectRepository;
+        this.taskRepository = taskRepository;
+        this.userRepository = userRepository;
+        this.currentUserService = currentUserService;
+        this.topLimit = topLimit;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.queryExecutor = Executors.newFixedThreadPool(queryThreads, runnable -> {
+            Thread thread = new Thread(runnable, "dashboard-query-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.dashboardCache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(cacheTtlSeconds))
+                .maximumSize(cacheSize)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, dashboardCache, "dashboards");
+    }
+
+    @Override
+    public DashboardDTO getDashboard() {
+
+        CurrentUserDTO currentUser = currentUserService.getCurrentUser();
+        Long managerId = "Admin".equals(currentUser.getRoleDescription()) ? null : currentUser.getId();
+
+        try {
+            // a failed computation is dropped from the cache, so the next request tries again
+            return dashboardCache.get(managerId == null ? ALL_PROJECTS : managerId, (key, executor) -> load(managerId)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private CompletableFuture<DashboardDTO> load(Long managerId) {
+
+        PageRequest top = PageRequest.of(0, topLimit);
+
+        CompletableFuture<List<StatusCountDTO>> projects = query(() -> projectRepository.countGroupedByStatus(managerId));
+        CompletableFuture<List<StatusCountDTO>> tasks = query(() -> taskRepository.countGroupedByStatus(managerId));
+        CompletableFuture<List<DashboardDTO.ProjectSummary>> busiestProjects = query(() -> taskRepository.findBusiestProjectIds(managerId, top))
+                .thenApplyAsync(this::projectSummaries, queryExecutor);
+        CompletableFuture<List<EmployeeTaskCountDTO>> busiestEmployees = query(() -> taskRepository.findBusiestEmployees(managerId, top));
+        CompletableFuture<List<RoleUserCountDTO>> users = query(userRepository::countGroupedByRole);
+
+        return CompletableFuture.allOf(projects, tasks, busiestProjects, busiestEmployees, users)
+                .thenApply(done -> new DashboardDTO(
+                        byStatus(projects.join()),
+                        byStatus(tasks.join()),
+                        busiestProjects.join(),
+                        busiestEmployees.join().stream()
+                                .map(e -> new DashboardDTO.EmployeeSummary(e.getUserName(), e.getFirstName(), e.getLastName(), e.getCount()))
+                                .collect(Collectors.toList()),
+                        users.join().stream()
+                                .collect(Collectors.toMap(RoleUserCountDTO::getRole, RoleUserCountDTO::getCount, Long::sum, TreeMap::new)),
+                        LocalDateTime.now()));
+    }
+
+    private <T> CompletableFuture<T> query(Supplier<T> query) {
+        return CompletableFuture.supplyAsync(query, queryExecutor);
+    }
+
+    // in the order of the ranking, which the grouped counts do not keep
+    private List<DashboardDTO.ProjectSummary> projectSummaries(List<Long> projectIds) {
+
+        if (projectIds.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, List<ProjectStatusCountDTO>> counts = taskRepository.countGroupedByProjectAndStatus(projectIds).stream()
+                .collect(Collectors.groupingBy(ProjectStatusCountDTO::getProjectId, LinkedHashMap::new, Collectors.toList()));
+
+        return projectIds.stream()
+                .filter(counts::containsKey)
+                .map(id -> {
+                    List<ProjectStatusCountDTO> rows = counts.get(id);
+                    Map<Status, Long> byStatus = zeroed();
+                    rows.forEach(row -> byStatus.merge(row.getStatus(), row.getCount(), Long::sum));
+                    return new DashboardDTO.ProjectSummary(rows.get(0).getProjectCode(), rows.get(0).getProjectName(), byStatus);
+                })
+                .collect(Collectors.toList());
+    }
+
+    // every status is present, with 0 where nothing has it; rows without a status are left out
+    private static Map<Status, Long> byStatus(List<StatusCountDTO> counts) {
+        Map<Status, Long> byStatus = zeroed();
+        counts.stream()
+                .filter(count -> count.getStatus() != null)
+                .forEach(count -> byStatus.merge(count.getStatus(), count.getCount(), Long::sum));
+        return byStatus;
+    }
+
+    private static Map<Status, Long> zeroed() {
+        Map<Status, Long> byStatus = new EnumMap<>(Status.class);
+        for (Status status : Status.values()) {
+            byStatus.put(status, 0L);
+        }
+        return byStatus;
+    }
+
+    @Override
+    public void destroy() {
+        queryExecutor.shutdown();
+    }
+
+}
@@ -0,0 +1,101 @@
+package com.cydeo.service.impl;
+
+import com.cydeo.dto.CurrentUserDTO;
+import com.cydeo.dto.TaskFilterDTO;
+import com.cydeo.entity.Project;
+import com.cydeo.entity.Task;
+import com.cydeo.enums.Status;
+import com.cydeo.mapper.ProjectMapper;
+import com.cydeo.mapper.TaskMapper;
+import com.cydeo.repository.ProjectRepository;
+import com.cydeo.repository.TaskRepository;
+import com.cydeo.service.CurrentUserService;
+import com.cydeo.service.ExportService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+// Writes newline-delimited JSON straight from a database cursor, so heap use
+// does not depend on the number of exported rows.
+@Service
+public class ExportServiceImpl implements ExportService {
+
+    // matches the JDBC fetch size on the streaming repository queries
+    private static final int CLEAR_INTERVAL = 500;
+
+    private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+    private final TaskMapper taskMapper;
+    private final ProjectMapper projectMapper;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final CurrentUserService currentUserService;
+
+    public ExportServiceImpl(TaskRepository taskRepository, ProjectRepository projectRepository, TaskMapper taskMapper,
+                             ProjectMapper projectMapper, ObjectMapper objectMapper, EntityManager entityManager,
+                             CurrentUserService currentUserService) {
+        this.taskRepository = taskRepository;
+        this.projectRepository = projectRepository;
+        this.taskMapper = taskMapper;
+        this.projectMapper = projectMapper;
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+        this.currentUserService = currentUserService;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportTasks(TaskFilterDTO filter, OutputStream outputStream) throws IOException {
+        try (Stream<Task> tasks = taskRepository.streamAllForExport(filter.getProjectCode(), filter.getStatus(),
+                filter.getAssignedDateFrom(), filter.getAssignedDateTo())) {
+            return write(tasks, taskMapper::convertToDto, outputStream);
+        }
+    }
+
+    @Override
+    public Long projectExportManagerId() {
+        CurrentUserDTO currentUser = currentUserService.getCurrentUser();
+        return "Admin".equals(currentUser.getRoleDescription()) ? null : currentUser.getId();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportProjects(Long managerId, Status status, OutputStream outputStream) throws IOException {
+        try (Stream<Project> projects = projectRepository.streamAllForExport(managerId, status)) {
+            return write(projects, projectMapper::convertToDto, outputStream);
+        }
+    }
+
+    private <E> long write(Stream<E> rows, Function<E, ?> mapper, OutputStream outputStream) throws IOException {
+
+        ObjectWriter writer = objectMapper.writer();
+        long count = 0;
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+            Iterator<E> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                writer.writeValue(generator, mapper.apply(iterator.next()));
+                generator.writeRaw('\n');
+
+                // drop the exported rows from the persistence context
+                if (++count % CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                    generator.flush();
+                }
+            }
+        }
+        return count;
+    }
+
+}
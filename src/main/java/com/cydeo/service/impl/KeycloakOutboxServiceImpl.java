@@ -0,0 +1,195 @@
+package com.cydeo.service.impl;
+
+import com.cydeo.config.OutboxProperties;
+import com.cydeo.dto.RoleDTO;
+import com.cydeo.dto.UserDTO;
+import com.cydeo.entity.KeycloakOutboxEvent;
+import com.cydeo.enums.OutboxEventType;
+import com.cydeo.enums.OutboxStatus;
+import com.cydeo.repository.KeycloakOutboxRepository;
+import com.cydeo.service.KeycloakOutboxService;
+import com.cydeo.service.KeycloakService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+@Slf4j
+public class KeycloakOutboxServiceImpl implements KeycloakOutboxService {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final KeycloakOutboxRepository outboxRepository;
+    private final KeycloakService keycloakService;
+    private final OutboxProperties outboxProperties;
+    private final TransactionTemplate transactionTemplate;
+
+    private final AtomicLong queueDepth = new AtomicLong();
+    private final AtomicLong lagSeconds = new AtomicLong();
+    private final Counter dispatchedCounter;
+    private final Counter retriedCounter;
+    private final Counter failedCounter;
+
+    public KeycloakOutboxServiceImpl(KeycloakOutboxRepository outboxRepository, KeycloakService keycloakService,
+                                     OutboxProperties outboxProperties, MeterRegistry meterRegistry,
+                                     PlatformTransactionManager transactionManager) {
+        this.outboxRepository = outboxRepository;
+        this.keycloakService = keycloakService;
+        this.outboxProperties = outboxProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        Gauge.builder("keycloak.outbox.depth", queueDepth, AtomicLong::get)
+                .description("Pending Keycloak provisioning events").register(meterRegistry);
+        Gauge.builder("keycloak.outbox.lag", lagSeconds, AtomicLong::get)
+                .description("Age of the oldest pending event").baseUnit("seconds").register(meterRegistry);
+        this.dispatchedCounter = meterRegistry.counter("keycloak.outbox.dispatched");
+        this.retriedCounter = meterRegistry.counter("keycloak.outbox.retried");
+        this.failedCounter = meterRegistry.counter("keycloak.outbox.failed");
+    }
+
+    // Joins the caller's transaction, so the event is committed together with the users row.
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueUserCreate(UserDTO userDTO) {
+        KeycloakOutboxEvent event = newEvent(OutboxEventType.USER_CREATE, userDTO.getUserName());
+        event.setFirstName(userDTO.getFirstName());
+        event.setLastName(userDTO.getLastName());
+        event.setPassWord(userDTO.getPassWord());
+        event.setRoleDescription(userDTO.getRole().getDescription());
+        outboxRepository.save(event);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueUserDelete(String username) {
+        outboxRepository.save(newEvent(OutboxEventType.USER_DELETE, username));
+    }
+
+    // Only short transactions, none of them open while Keycloak is called: one claims the batch, then one
+    // per event records how its call went.
+    @Override
+    @Scheduled(fixedDelayString = "${outbox.poll-interval-ms:1000}")
+    public int dispatchPending() {
+
+        List<KeycloakOutboxEvent> events = transactionTemplate.execute(status -> claimDueEvents());
+
+        for (KeycloakOutboxEvent event : events) {
+            RuntimeException failure = null;
+            try {
+                send(event);
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+            RuntimeException result = failure;
+            transactionTemplate.executeWithoutResult(status -> record(event.getId(), event.getNextAttemptAt(), result));
+        }
+
+        refreshMetrics(LocalDateTime.now());
+        return events.size();
+    }
+
+    // Leases the batch by moving nextAttemptAt past the calls, so other dispatchers skip it once the row locks
+    // are gone. The events stay PENDING, which keeps later events of the same users waiting behind them.
+    private List<KeycloakOutboxEvent> claimDueEvents() {
+        LocalDateTime now = LocalDateTime.now();
+        List<KeycloakOutboxEvent> events = outboxRepository
+                .findDueEvents(OutboxStatus.PENDING, now, PageRequest.of(0, outboxProperties.getBatchSize()));
+
+        // millis survive the round trip through any timestamp column, so record() can compare it
+        LocalDateTime leasedUntil = now.plus(Duration.ofMillis(outboxProperties.getLeaseMs())).truncatedTo(ChronoUnit.MILLIS);
+        events.forEach(event -> event.setNextAttemptAt(leasedUntil));
+        return events;
+    }
+
+    private void record(Long id, LocalDateTime leasedUntil, RuntimeException failure) {
+        KeycloakOutboxEvent event = outboxRepository.findById(id).orElse(null);
+
+        // the lease ran out and another dispatcher has claimed the event since
+        if (event == null || event.getStatus() != OutboxStatus.PENDING || !leasedUntil.equals(event.getNextAttemptAt())) {
+            return;
+        }
+
+        if (failure == null) {
+            event.setStatus(OutboxStatus.DONE);
+            event.setProcessedAt(LocalDateTime.now());
+            event.setPassWord(null);
+            event.setLastError(null);
+            dispatchedCounter.increment();
+        } else {
+            onFailure(event, failure, LocalDateTime.now());
+        }
+    }
+
+    private void send(KeycloakOutboxEvent event) {
+        switch (event.getEventType()) {
+            case USER_CREATE:
+                UserDTO userDTO = new UserDTO();
+                userDTO.setUserName(event.getUserName());
+                userDTO.setFirstName(event.getFirstName());
+                userDTO.setLastName(event.getLastName());
+                userDTO.setPassWord(event.getPassWord());
+                userDTO.setRole(new RoleDTO(null, event.getRoleDescription()));
+                keycloakService.userCreate(userDTO);
+                break;
+            case USER_DELETE:
+                keycloakService.delete(event.getUserName());
+                break;
+            default:
+                throw new IllegalStateException("Unknown outbox event type " + event.getEventType());
+        }
+    }
+
+    private void onFailure(KeycloakOutboxEvent event, RuntimeException e, LocalDateTime now) {
+        event.setAttempts(event.getAttempts() + 1);
+        String message = String.valueOf(e.getMessage());
+        event.setLastError(message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message);
+
+        if (event.getAttempts() >= outboxProperties.getMaxAttempts()) {
+            event.setStatus(OutboxStatus.FAILED);
+            failedCounter.increment();
+            log.error("Keycloak {} for '{}' failed after {} attempts: {}",
+                    event.getEventType(), event.getUserName(), event.getAttempts(), message);
+        } else {
+            event.setNextAttemptAt(now.plus(backoff(event.getAttempts())));
+            retriedCounter.increment();
+            log.warn("Keycloak {} for '{}' failed, attempt {}: {}",
+                    event.getEventType(), event.getUserName(), event.getAttempts(), message);
+        }
+    }
+
+    // exponential backoff: initial, 2x initial, 4x initial ... capped at max
+    Duration backoff(int attempts) {
+        long delay = outboxProperties.getInitialBackoffMs() << Math.min(attempts - 1, 30);
+        return Duration.ofMillis(Math.min(delay, outboxProperties.getMaxBackoffMs()));
+    }
+
+    private void refreshMetrics(LocalDateTime now) {
+        queueDepth.set(outboxRepository.countByStatus(OutboxStatus.PENDING));
+        LocalDateTime oldest = outboxRepository.findOldestInsertDateTime(OutboxStatus.PENDING);
+        lagSeconds.set(oldest == null ? 0 : Duration.between(oldest, now).getSeconds());
+    }
+
+    private KeycloakOutboxEvent newEvent(OutboxEventType type, String username) {
+        KeycloakOutboxEvent event = new KeycloakOutboxEvent();
+        event.setEventType(type);
+        event.setStatus(OutboxStatus.PENDING);
+        event.setUserName(username);
+        event.setNextAttemptAt(LocalDateTime.now());
+        return event;
+    }
+
+}
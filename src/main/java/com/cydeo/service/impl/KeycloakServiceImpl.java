@@ -3,16 +3,18 @@ package com.cydeo.service.impl;
 import com.cydeo.config.KeycloakProperties;
 import com.cydeo.dto.UserDTO;
 import com.cydeo.service.KeycloakService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.keycloak.admin.client.Keycloak;
 import org.keycloak.admin.client.resource.RealmResource;
 import org.keycloak.admin.client.resource.UsersResource;
-import org.keycloak.representations.idm.ClientRepresentation;
 import org.keycloak.representations.idm.CredentialRepresentation;
 import org.keycloak.representations.idm.RoleRepresentation;
 import org.keycloak.representations.idm.UserRepresentation;
 import org.springframework.stereotype.Service;
 
 import javax.ws.rs.core.Response;
+import java.time.Duration;
 import java.util.List;
 
 import static java.util.Arrays.asList;
@@ -23,10 +25,20 @@ public class KeycloakServiceImpl implements KeycloakService {
 
 
     private final KeycloakProperties keycloakProperties;
+    private final Keycloak keycloak;
 
-    public KeycloakServiceImpl(KeycloakProperties keycloakProperties) {
+    // realm metadata rarely changes, so it is looked up once per TTL instead of on every call
+    private final Cache<String, String> clientIdCache;
+    private final Cache<String, RoleRepresentation> clientRoleCache;
+
+    public KeycloakServiceImpl(KeycloakProperties keycloakProperties, Keycloak keycloak) {
 
         this.keycloakProperties = keycloakProperties;
+        this.keycloak = keycloak;
+
+        Duration ttl = Duration.ofSeconds(keycloakProperties.getMasterClientCacheTtlSeconds());
+        this.clientIdCache = Caffeine.newBuilder().expireAfterWrite(ttl).maximumSize(1).build();
+        this.clientRoleCache = Caffeine.newBuilder().expireAfterWrite(ttl).maximumSize(100).build();
     }
 
     @Override
@@ -47,47 +59,55 @@ public class KeycloakServiceImpl implements KeycloakService {
         keycloakUser.setEnabled(true);
 
 
-        Keycloak keycloak = getKeycloakInstance();
-
         RealmResource realmResource = keycloak.realm(keycloakProperties.getRealm());
         UsersResource usersResource = realmResource.users();
 
         // Create Keycloak user
         Response result = usersResource.create(keycloakUser);
 
-        String userId = getCreatedId(result);
-        ClientRepresentation appClient = realmResource.clients()
-                .findByClientId(keycloakProperties.getClientId()).get(0);
+        String userId;
+        if (result.getStatus() == Response.Status.CONFLICT.getStatusCode()) {
+            // created by an earlier attempt, finish the role assignment so retries are idempotent
+            userId = usersResource.search(userDTO.getUserName(), true).get(0).getId();
+        } else {
+            userId = getCreatedId(result);
+        }
+        // release the pooled connection, only the headers are needed
+        result.close();
 
-        RoleRepresentation userClientRole = realmResource.clients().get(appClient.getId()) //
-                .roles().get(userDTO.getRole().getDescription()).toRepresentation();
+        String appClientId = getAppClientId(realmResource);
 
-        realmResource.users().get(userId).roles().clientLevel(appClient.getId())
-                .add(List.of(userClientRole));
+        RoleRepresentation userClientRole = getClientRole(realmResource, appClientId, userDTO.getRole().getDescription());
 
+        realmResource.users().get(userId).roles().clientLevel(appClientId)
+                .add(List.of(userClientRole));
 
-        keycloak.close();
         return result;
     }
 
     @Override
     public void delete(String userName) {
 
-        Keycloak keycloak = getKeycloakInstance();
-
         RealmResource realmResource = keycloak.realm(keycloakProperties.getRealm());
         UsersResource usersResource = realmResource.users();
 
-        List<UserRepresentation> userRepresentations = usersResource.search(userName);
+        List<UserRepresentation> userRepresentations = usersResource.search(userName, true);
+        if (userRepresentations.isEmpty()) {
+            // already removed by an earlier attempt
+            return;
+        }
         String uid = userRepresentations.get(0).getId();
-        usersResource.delete(uid);
+        usersResource.delete(uid).close();
+
+    }
 
-        keycloak.close();
+    private String getAppClientId(RealmResource realmResource) {
+        return clientIdCache.get(keycloakProperties.getClientId(), clientId ->
+                realmResource.clients().findByClientId(clientId).get(0).getId());
     }
 
-    private Keycloak getKeycloakInstance(){
-        return Keycloak.getInstance(keycloakProperties.getAuthServerUrl(),
-                keycloakProperties.getMasterRealm(), keycloakProperties.getMasterUser()
-                , keycloakProperties.getMasterUserPswd(), keycloakProperties.getMasterClient());
+    private RoleRepresentation getClientRole(RealmResource realmResource, String appClientId, String roleDescription) {
+        return clientRoleCache.get(roleDescription, description ->
+                realmResource.clients().get(appClientId).roles().get(description).toRepresentation());
     }
-}
\ No newline at end of file
+}
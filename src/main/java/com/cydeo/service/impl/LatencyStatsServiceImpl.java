@@ -0,0 +1,142 @@
+package com.cydeo.service.impl;
+
+import com.cydeo.dto.LatencyStatsDTO;
+import com.cydeo.service.LatencyStatsService;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+@Service
+public class LatencyStatsServiceImpl implements LatencyStatsService {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Map<String, MethodLatency> latencies = new ConcurrentHashMap<>();
+
+    @Override
+    public void record(String method, long elapsedNanos, boolean failed) {
+        latencies.computeIfAbsent(method, key -> new MethodLatency()).record(elapsedNanos, failed);
+    }
+
+    @Override
+    public List<LatencyStatsDTO> listCumulativeStats() {
+        return latencies.entrySet().stream()
+                .map(entry -> entry.getValue().cumulative(entry.getKey()))
+                .sorted(Comparator.comparing(LatencyStatsDTO::getMethod))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<LatencyStatsDTO> listIntervalStats() {
+        return latencies.entrySet().stream()
+                .map(entry -> entry.getValue().interval(entry.getKey()))
+                .sorted(Comparator.comparing(LatencyStatsDTO::getMethod))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void reset() {
+        latencies.values().forEach(MethodLatency::reset);
+    }
+
+    // Request threads only touch the Recorder and the error adder, which never block.
+    // Readers swap the Recorder's active histogram and fold it into the cumulative and
+    // interval histograms under the monitor.
+    private static class MethodLatency {
+
+        private final Recorder recorder = new Recorder(SIGNIFICANT_DIGITS);
+        private final LongAdder errors = new LongAdder();
+
+        private final Histogram cumulative = new Histogram(SIGNIFICANT_DIGITS);
+        private final Histogram interval = new Histogram(SIGNIFICANT_DIGITS);
+        private Histogram drained;
+
+        private long cumulativeErrors;
+        private long intervalErrors;
+        private Window cumulativeWindow = new Window();
+        private Window intervalWindow = cumulativeWindow;
+
+        void record(long elapsedNanos, boolean failed) {
+            recorder.recordValue(elapsedNanos);
+            if (failed) {
+                errors.increment();
+            }
+        }
+
+        synchronized LatencyStatsDTO cumulative(String method) {
+            drain();
+            return toDto(method, cumulative, cumulativeErrors, cumulativeWindow);
+        }
+
+        // returns everything recorded since the previous interval call and starts a new interval
+        synchronized LatencyStatsDTO interval(String method) {
+            drain();
+            LatencyStatsDTO stats = toDto(method, interval, intervalErrors, intervalWindow);
+            interval.reset();
+            intervalErrors = 0;
+            intervalWindow = new Window();
+            return stats;
+        }
+
+        synchronized void reset() {
+            drain();
+            cumulative.reset();
+            interval.reset();
+            cumulativeErrors = 0;
+            intervalErrors = 0;
+            cumulativeWindow = new Window();
+            intervalWindow = cumulativeWindow;
+        }
+
+        private void drain() {
+            drained = recorder.getIntervalHistogram(drained);
+            cumulative.add(drained);
+            interval.add(drained);
+
+            long newErrors = errors.sumThenReset();
+            cumulativeErrors += newErrors;
+            intervalErrors += newErrors;
+        }
+
+        private static LatencyStatsDTO toDto(String method, Histogram histogram, long errorCount, Window window) {
+            long count = histogram.getTotalCount();
+            double seconds = (System.nanoTime() - window.startNanos) / (double) TimeUnit.SECONDS.toNanos(1);
+
+            return new LatencyStatsDTO(
+                    method,
+                    window.start,
+                    count,
+                    errorCount,
+                    seconds > 0 ? count / seconds : 0,
+                    toMillis(histogram.getMean()),
+                    toMillis(histogram.getValueAtPercentile(50)),
+                    toMillis(histogram.getValueAtPercentile(90)),
+                    toMillis(histogram.getValueAtPercentile(99)),
+                    toMillis(histogram.getValueAtPercentile(99.9)),
+                    toMillis(histogram.getMaxValue())
+            );
+        }
+
+        private static double toMillis(double nanos) {
+            return nanos / TimeUnit.MILLISECONDS.toNanos(1);
+        }
+
+    }
+
+    private static class Window {
+
+        private final LocalDateTime start = LocalDateTime.now();
+        private final long startNanos = System.nanoTime();
+
+    }
+
+}
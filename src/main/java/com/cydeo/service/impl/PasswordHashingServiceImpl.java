@@ -0,0 +1,85 @@
+package com.cydeo.service.impl;
+
+import com.cydeo.exception.PasswordHashingBusyException;
+import com.cydeo.service.PasswordHashingService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// BCrypt costs milliseconds of CPU per hash by design. Running it on a pool of its own caps how many cores
+// user saves and updates can take at once, however many request threads call in; past password-hashing.queue-size
+// waiting hashes callers are turned away instead of queueing behind each other. The pool shows up in
+// /actuator/metrics as executor.* with name=password-hashing.
+@Service
+public class PasswordHashingServiceImpl implements PasswordHashingService, DisposableBean {
+
+    private final BCryptPasswordEncoder passwordEncoder;
+    private final long timeoutMs;
+    private final ThreadPoolExecutor pool;
+    private final ExecutorService executor;
+
+    public PasswordHashingServiceImpl(BCryptPasswordEncoder passwordEncoder,
+                                      @Value("${password-hashing.threads:0}") int threads,
+                                      @Value("${password-hashing.queue-size:100}") int queueSize,
+                                      @Value("${password-hashing.timeout-ms:10000}") long timeoutMs,
+                                      MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+        this.timeoutMs = timeoutMs;
+
+        // 0 means one thread per core
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueSize), runnable -> {
+            Thread thread = new Thread(runnable, "password-hashing-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, "password-hashing");
+    }
+
+    @Override
+    public String encode(String rawPassword) {
+
+        Future<String> hash;
+        try {
+            hash = executor.submit(() -> passwordEncoder.encode(rawPassword));
+        } catch (RejectedExecutionException e) {
+            throw new PasswordHashingBusyException("Too many password changes in progress, try again later");
+        }
+
+        try {
+            return hash.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            hash.cancel(true);
+            throw new PasswordHashingBusyException("Too many password changes in progress, try again later");
+        } catch (InterruptedException e) {
+            hash.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing a password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdown();
+    }
+
+}
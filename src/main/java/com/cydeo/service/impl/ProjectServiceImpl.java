@@ -1,23 +1,38 @@
 package com.cydeo.service.impl;
 
+import com.cydeo.config.PaginationProperties;
+import com.cydeo.dto.CurrentUserDTO;
+import com.cydeo.dto.PageDTO;
+import com.cydeo.dto.PageRequestDTO;
 import com.cydeo.dto.ProjectDTO;
+import com.cydeo.dto.ProjectTaskCountDTO;
+import com.cydeo.dto.ResourceVersionDTO;
 import com.cydeo.dto.UserDTO;
 import com.cydeo.entity.Project;
-import com.cydeo.entity.User;
 import com.cydeo.enums.Status;
 import com.cydeo.mapper.ProjectMapper;
 import com.cydeo.mapper.UserMapper;
 import com.cydeo.repository.ProjectRepository;
+import com.cydeo.service.CurrentUserService;
 import com.cydeo.service.ProjectService;
 import com.cydeo.service.TaskService;
-import com.cydeo.service.UserService;
-import org.keycloak.adapters.springsecurity.account.SimpleKeycloakAccount;
+import com.cydeo.util.KeysetCursor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,22 +40,36 @@ public class ProjectServiceImpl implements ProjectService {
 
     private final ProjectRepository projectRepository;
     private final ProjectMapper projectMapper;
-    private final UserService userService;
+    private final CurrentUserService currentUserService;
     private final UserMapper userMapper;
     private final TaskService taskService;
+    private final PaginationProperties paginationProperties;
 
-    public ProjectServiceImpl(ProjectRepository projectRepository, ProjectMapper projectMapper, UserService userService, UserMapper userMapper, TaskService taskService) {
+    // keyed by projectCode; every write through this service evicts the codes it touched
+    private final Cache<String, ProjectDTO> projectCache;
+
+    public ProjectServiceImpl(ProjectRepository projectRepository, ProjectMapper projectMapper, CurrentUserService currentUserService, UserMapper userMapper, TaskService taskService, PaginationProperties paginationProperties,
+                              @Value("${project-cache.ttl-seconds:300}") long cacheTtlSeconds,
+                              @Value("${project-cache.size:1000}") long cacheSize,
+                              MeterRegistry meterRegistry) {
         this.projectRepository = projectRepository;
         this.projectMapper = projectMapper;
-        this.userService = userService;
+        this.currentUserService = currentUserService;
         this.userMapper = userMapper;
         this.taskService = taskService;
+        this.paginationProperties = paginationProperties;
+        this.projectCache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(cacheTtlSeconds))
+                .maximumSize(cacheSize)
+                .recordStats()
+                .build();
+        // cache.gets{result=hit|miss}, cache.evictions and cache.size on /actuator/metrics
+        CaffeineCacheMetrics.monitor(meterRegistry, projectCache, "projects");
     }
 
     @Override
     public ProjectDTO getByProjectCode(String code) {
-        Project project = projectRepository.findByProjectCode(code);
-        return projectMapper.convertToDto(project);
+        return projectCache.get(code, c -> projectMapper.convertToDto(projectRepository.findByProjectCode(c)));
     }
 
     @Override
@@ -52,11 +81,15 @@ public class ProjectServiceImpl implements ProjectService {
     }
 
     @Override
+    @Transactional
     public void save(ProjectDTO dto) {
 
         dto.setProjectStatus(Status.OPEN);
         Project project = projectMapper.convertToEntity(dto);
         projectRepository.save(project);
+        evict(dto.getProjectCode());
+
+        taskService.createTaskCounts(projectMapper.convertToDto(project));
     }
 
     @Override
@@ -72,10 +105,12 @@ public class ProjectServiceImpl implements ProjectService {
 
         projectRepository.save(convertedProject);
 
-
+        // also covers a reassigned manager
+        evict(dto.getProjectCode());
     }
 
     @Override
+    @Transactional
     public void delete(String code) {
         Project project = projectRepository.findByProjectCode(code);
         project.setIsDeleted(true);
@@ -83,16 +118,19 @@ public class ProjectServiceImpl implements ProjectService {
         project.setProjectCode(project.getProjectCode() + "-" + project.getId());  // SP03-4
 
         projectRepository.save(project);
+        evict(code, project.getProjectCode());
 
         taskService.deleteByProject(projectMapper.convertToDto(project));
 
     }
 
     @Override
+    @Transactional
     public void complete(String code) {
         Project project = projectRepository.findByProjectCode(code);
         project.setProjectStatus(Status.COMPLETE);
         projectRepository.save(project);
+        evict(code);
 
         taskService.completeByProject(projectMapper.convertToDto(project));
     }
@@ -100,23 +138,23 @@ public class ProjectServiceImpl implements ProjectService {
     @Override
     public List<ProjectDTO> listAllProjectDetails() {
 
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        SimpleKeycloakAccount details = (SimpleKeycloakAccount) authentication.getDetails();
-        String username = details.getKeycloakSecurityContext().getToken().getPreferredUsername();
-
-        UserDTO currentUserDTO = userService.findByUserName(username);
-
-        User user = userMapper.convertToEntity(currentUserDTO);
+        CurrentUserDTO currentUser = currentUserService.getCurrentUser();
 
-        List<Project> list = projectRepository.findAllByAssignedManager(user);
+        List<Project> list = projectRepository.findAllByAssignedManagerId(currentUser.getId());
 
+        // one query for every project, reading the counters TaskService keeps per project
+        Map<Long, ProjectTaskCountDTO> taskCounts = taskService.totalTaskCountsByAssignedManager(currentUser.getId());
 
         return list.stream().map(project -> {
 
             ProjectDTO obj = projectMapper.convertToDto(project);
 
-            obj.setUnfinishedTaskCounts(taskService.totalNonCompletedTask(project.getProjectCode()));
-            obj.setCompleteTaskCounts(taskService.totalCompletedTask(project.getProjectCode()));
+            ProjectTaskCountDTO counts = taskCounts.get(project.getId());
+
+            if (counts != null) {
+                obj.setUnfinishedTaskCounts(counts.getNonCompletedCount().intValue());
+                obj.setCompleteTaskCounts(counts.getCompletedCount().intValue());
+            }
 
             return obj;
             }
@@ -124,6 +162,54 @@ public class ProjectServiceImpl implements ProjectService {
         ).collect(Collectors.toList());
     }
 
+    @Override
+    public PageDTO<ProjectDTO> listAllProjectDetails(PageRequestDTO pageRequest) {
+
+        Long managerId = currentUserService.getCurrentUser().getId();
+        int limit = paginationProperties.resolveLimit(pageRequest.getLimit());
+        Long total = pageRequest.isIncludeTotal() ? projectRepository.countByAssignedManagerId(managerId) : null;
+
+        PageDTO<ProjectDTO> page;
+
+        if (pageRequest.getPage() != null) {
+            Slice<Project> slice = projectRepository.findAllByAssignedManagerId(managerId,
+                    PageRequest.of(paginationProperties.resolvePage(pageRequest.getPage()), limit, Sort.by("projectCode", "id")));
+            page = PageDTO.ofOffset(slice, projectMapper::convertToDto, total);
+        } else {
+            List<Project> projects;
+            if (pageRequest.getCursor() == null) {
+                projects = projectRepository.findAllByAssignedManagerIdOrderByProjectCodeAscIdAsc(managerId, PageRequest.of(0, limit + 1));
+            } else {
+                KeysetCursor cursor = KeysetCursor.decode(pageRequest.getCursor());
+                projects = projectRepository.findPageByAssignedManagerIdAfter(managerId, cursor.getKey(), cursor.getId(), PageRequest.of(0, limit + 1));
+            }
+            page = PageDTO.ofKeyset(projects, limit, projectMapper::convertToDto,
+                    project -> new KeysetCursor(project.getProjectCode(), project.getId()).encode(), total);
+        }
+
+        // counts only for the projects on this page
+        Map<Long, ProjectTaskCountDTO> taskCounts = taskService.totalTaskCountsByProjects(
+                page.getContent().stream().map(ProjectDTO::getId).collect(Collectors.toList()));
+
+        page.getContent().forEach(obj -> {
+            ProjectTaskCountDTO counts = taskCounts.get(obj.getId());
+            if (counts != null) {
+                obj.setUnfinishedTaskCounts(counts.getNonCompletedCount().intValue());
+                obj.setCompleteTaskCounts(counts.getCompletedCount().intValue());
+            }
+        });
+
+        return page;
+    }
+
+    @Override
+    public ResourceVersionDTO listAllProjectDetailsVersion() {
+        Long managerId = currentUserService.getCurrentUser().getId();
+        return projectRepository.findVersionByAssignedManagerId(managerId)
+                .and(taskService.totalTaskCountsByAssignedManagerVersion(managerId))
+                .scopedTo(managerId);
+    }
+
     @Override
     public List<ProjectDTO> listAllNonCompletedByAssignedManager(UserDTO assignedManager) {
         List<Project> projects = projectRepository
@@ -131,4 +217,28 @@ public class ProjectServiceImpl implements ProjectService {
         return projects.stream().map(projectMapper::convertToDto).collect(Collectors.toList());
     }
 
+    @Override
+    public void evictByAssignedManager(String userName) {
+        List<String> codes = projectCache.asMap().values().stream()
+                .filter(project -> project.getAssignedManager() != null && userName.equals(project.getAssignedManager().getUserName()))
+                .map(ProjectDTO::getProjectCode)
+                .collect(Collectors.toList());
+        evict(codes.toArray(new String[0]));
+    }
+
+    // Evicts now and again once the surrounding transaction completes, so a read that
+    // raced the write cannot leave the pre-commit state behind in the cache.
+    private void evict(String... codes) {
+        List<String> keys = List.of(codes);
+        projectCache.invalidateAll(keys);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    projectCache.invalidateAll(keys);
+                }
+            });
+        }
+    }
+
 }
@@ -0,0 +1,170 @@
+package com.cydeo.service.impl;
+
+import com.cydeo.dto.ProjectTaskCountDTO;
+import com.cydeo.enums.Status;
+import com.cydeo.repository.ProjectTaskStatsRepository;
+import com.cydeo.repository.TaskRepository;
+import com.cydeo.service.ProjectTaskStatsService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+// Keeps the project_task_stats stripes in step with the tasks: every write that changes a project's counts
+// adds its delta to one stripe in the same transaction, and reconcile() repairs whatever drifted anyway,
+// e.g. through a write that went around the services.
+@Service
+@Slf4j
+public class ProjectTaskStatsServiceImpl implements ProjectTaskStatsService {
+
+    private final ProjectTaskStatsRepository statsRepository;
+    private final TaskRepository taskRepository;
+    private final TransactionTemplate snapshotTemplate;
+    private final TransactionTemplate writeTemplate;
+    private final int stripes;
+
+    public ProjectTaskStatsServiceImpl(ProjectTaskStatsRepository statsRepository, TaskRepository taskRepository,
+                                       PlatformTransactionManager transactionManager,
+                                       @Value("${project-task-stats.stripes:8}") int stripes) {
+        this.statsRepository = statsRepository;
+        this.taskRepository = taskRepository;
+        this.snapshotTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.snapshotTemplate.setReadOnly(true);
+        this.writeTemplate = new TransactionTemplate(transactionManager);
+        this.stripes = stripes;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void createProject(Long projectId) {
+        for (int slot = 0; slot < stripes; slot++) {
+            statsRepository.insertSlot(projectId, slot, 0, 0);
+        }
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void addTasks(Long projectId, Status status, long delta) {
+
+        // the buckets of countTasksGroupedByProject: a task without a project or a status is in neither
+        if (projectId == null || status == null || delta == 0) {
+            return;
+        }
+        long completed = status == Status.COMPLETE ? delta : 0;
+        long nonCompleted = delta - completed;
+
+        // Slot 0 exists for every project that has stripes, also one created before project-task-stats.stripes
+        // was raised. A project without any is counted from its tasks until reconcile() seeds it.
+        int slot = ThreadLocalRandom.current().nextInt(stripes);
+        if (statsRepository.addToSlot(projectId, slot, completed, nonCompleted) == 0 && slot != 0) {
+            statsRepository.addToSlot(projectId, 0, completed, nonCompleted);
+        }
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void completeProject(Long projectId) {
+        statsRepository.completeAll(projectId);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void deleteProject(Long projectId) {
+        statsRepository.clearAll(projectId);
+    }
+
+    @Override
+    public Map<Long, ProjectTaskCountDTO> countsByAssignedManager(Long managerId) {
+        return toMap(statsRepository.sumByAssignedManagerId(managerId));
+    }
+
+    @Override
+    public Map<Long, ProjectTaskCountDTO> countsByProjects(Collection<Long> projectIds) {
+        if (projectIds.isEmpty()) {
+            return Map.of();
+        }
+        return toMap(statsRepository.sumByProjectIds(projectIds));
+    }
+
+    // Both sides are read from one snapshot, in which every committed task write shows up together with its
+    // counter update, so a difference there is real drift. It is then added as a delta instead of written over
+    // the stripes, which keeps the updates committed since the snapshot. Only a project seeded here can miss a
+    // write that lands between the snapshot and the insert; the next run picks that up. Two instances running
+    // this at the same moment would both apply a correction, and the next run takes the excess back out.
+    @Override
+    @Scheduled(fixedDelayString = "${project-task-stats.reconcile-interval-ms:600000}",
+            initialDelayString = "${project-task-stats.reconcile-interval-ms:600000}")
+    public int reconcile() {
+
+        Map<Long, long[]> seeds = new HashMap<>();
+        Map<Long, long[]> corrections = new HashMap<>();
+
+        snapshotTemplate.executeWithoutResult(status -> {
+            Map<Long, ProjectTaskCountDTO> actual = toMap(taskRepository.countTasksGroupedByAllProjects());
+            Map<Long, ProjectTaskCountDTO> counted = toMap(statsRepository.sumAll());
+            List<Long> unseeded = statsRepository.findProjectIdsWithoutStats();
+
+            for (Long projectId : unseeded) {
+                seeds.put(projectId, new long[]{completed(actual.get(projectId)), nonCompleted(actual.get(projectId))});
+            }
+
+            Set<Long> projectIds = new HashSet<>(counted.keySet());
+            projectIds.addAll(actual.keySet());
+            projectIds.removeAll(unseeded);
+            for (Long projectId : projectIds) {
+                long completedDrift = completed(actual.get(projectId)) - completed(counted.get(projectId));
+                long nonCompletedDrift = nonCompleted(actual.get(projectId)) - nonCompleted(counted.get(projectId));
+                // a deleted project without stripes is never listed, so it is left as it is
+                if ((completedDrift != 0 || nonCompletedDrift != 0) && counted.containsKey(projectId)) {
+                    corrections.put(projectId, new long[]{completedDrift, nonCompletedDrift});
+                }
+            }
+        });
+
+        if (seeds.isEmpty() && corrections.isEmpty()) {
+            return 0;
+        }
+
+        writeTemplate.executeWithoutResult(status -> {
+            seeds.forEach((projectId, counts) -> {
+                createProject(projectId);
+                statsRepository.addToSlot(projectId, 0, counts[0], counts[1]);
+            });
+            corrections.forEach((projectId, drift) -> statsRepository.addToSlot(projectId, 0, drift[0], drift[1]));
+        });
+
+        if (!corrections.isEmpty()) {
+            log.warn("Corrected drifted task counts of projects {}", corrections.keySet());
+        }
+        log.info("Reconciled task counts: {} projects seeded, {} corrected", seeds.size(), corrections.size());
+        return seeds.size() + corrections.size();
+    }
+
+    private static Map<Long, ProjectTaskCountDTO> toMap(List<ProjectTaskCountDTO> counts) {
+        return counts.stream().collect(Collectors.toMap(ProjectTaskCountDTO::getProjectId, c -> c));
+    }
+
+    private static long completed(ProjectTaskCountDTO counts) {
+        return counts == null || counts.getCompletedCount() == null ? 0 : counts.getCompletedCount();
+    }
+
+    private static long nonCompleted(ProjectTaskCountDTO counts) {
+        return counts == null || counts.getNonCompletedCount() == null ? 0 : counts.getNonCompletedCount();
+    }
+
+}
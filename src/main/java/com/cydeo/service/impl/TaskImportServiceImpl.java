@@ -0,0 +1,200 @@
+package com.cydeo.service.impl;
+
+import com.cydeo.dto.TaskDTO;
+import com.cydeo.dto.TaskImportItemDTO;
+import com.cydeo.dto.TaskImportResultDTO;
+import com.cydeo.entity.Project;
+import com.cydeo.entity.Task;
+import com.cydeo.entity.User;
+import com.cydeo.enums.ImportStatus;
+import com.cydeo.enums.Status;
+import com.cydeo.exception.InvalidBatchException;
+import com.cydeo.repository.ProjectRepository;
+import com.cydeo.repository.TaskRepository;
+import com.cydeo.repository.UserRepository;
+import com.cydeo.service.ProjectTaskStatsService;
+import com.cydeo.service.TaskImportService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.validation.Validator;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Validates the whole batch up front, resolves every referenced project and employee with one query each,
+// then inserts the accepted tasks in chunks, one transaction per chunk. A chunk that fails to commit only
+// fails its own items; everything committed before it stays.
+@Service
+@Slf4j
+public class TaskImportServiceImpl implements TaskImportService {
+
+    private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+    private final UserRepository userRepository;
+    private final ProjectTaskStatsService projectTaskStatsService;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final int chunkSize;
+    private final int maxItems;
+
+    public TaskImportServiceImpl(TaskRepository taskRepository, ProjectRepository projectRepository, UserRepository userRepository,
+                                 ProjectTaskStatsService projectTaskStatsService, Validator validator, PlatformTransactionManager transactionManager, EntityManager entityManager,
+                                 @Value("${task-import.chunk-size:1000}") int chunkSize,
+                                 @Value("${task-import.max-items:50000}") int maxItems) {
+        this.taskRepository = taskRepository;
+        this.projectRepository = projectRepository;
+        this.userRepository = userRepository;
+        this.projectTaskStatsService = projectTaskStatsService;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityManager = entityManager;
+        this.chunkSize = chunkSize;
+        this.maxItems = maxItems;
+    }
+
+    @Override
+    public TaskImportResultDTO importTasks(List<TaskDTO> tasks) {
+
+        if (tasks == null || tasks.isEmpty()) {
+            throw new InvalidBatchException("Task batch is empty");
+        }
+        if (tasks.size() > maxItems) {
+            throw new InvalidBatchException("Task batch exceeds " + maxItems + " items");
+        }
+
+        List<TaskImportItemDTO> items = new ArrayList<>(tasks.size());
+        Set<String> projectCodes = new HashSet<>();
+        Set<String> userNames = new HashSet<>();
+
+        for (int i = 0; i < tasks.size(); i++) {
+            TaskDTO task = tasks.get(i);
+            List<String> errors = validate(task);
+            items.add(new TaskImportItemDTO(i, errors.isEmpty() ? null : ImportStatus.REJECTED, null, errors.isEmpty() ? null : errors));
+            if (errors.isEmpty()) {
+                projectCodes.add(task.getProject().getProjectCode());
+                userNames.add(task.getAssignedEmployee().getUserName());
+            }
+        }
+
+        Map<String, Long> projectIds = projectCodes.isEmpty() ? Map.of() : projectRepository.findAllByProjectCodeIn(projectCodes).stream()
+                .collect(Collectors.toMap(Project::getProjectCode, Project::getId));
+        Map<String, Long> employeeIds = userNames.isEmpty() ? Map.of() : userRepository.findAllByUserNameInAndIsDeleted(userNames, false).stream()
+                .collect(Collectors.toMap(User::getUserName, User::getId));
+
+        List<Integer> accepted = new ArrayList<>();
+        for (TaskImportItemDTO item : items) {
+            if (item.getStatus() != null) {
+                continue;
+            }
+            TaskDTO task = tasks.get(item.getIndex());
+            List<String> errors = new ArrayList<>();
+            if (!projectIds.containsKey(task.getProject().getProjectCode())) {
+                errors.add("project: no project with code " + task.getProject().getProjectCode());
+            }
+            if (!employeeIds.containsKey(task.getAssignedEmployee().getUserName())) {
+                errors.add("assignedEmployee: no user with userName " + task.getAssignedEmployee().getUserName());
+            }
+            if (errors.isEmpty()) {
+                accepted.add(item.getIndex());
+            } else {
+                item.setStatus(ImportStatus.REJECTED);
+                item.setErrors(errors);
+            }
+        }
+
+        for (int from = 0; from < accepted.size(); from += chunkSize) {
+            List<Integer> chunk = accepted.subList(from, Math.min(from + chunkSize, accepted.size()));
+            try {
+                List<Long> ids = transactionTemplate.execute(status -> insert(tasks, chunk, projectIds, employeeIds));
+                for (int i = 0; i < chunk.size(); i++) {
+                    TaskImportItemDTO item = items.get(chunk.get(i));
+                    item.setStatus(ImportStatus.CREATED);
+                    item.setId(ids.get(i));
+                }
+            } catch (RuntimeException e) {
+                log.warn("Task import chunk of {} items starting at index {} failed", chunk.size(), chunk.get(0), e);
+                for (Integer index : chunk) {
+                    TaskImportItemDTO item = items.get(index);
+                    item.setStatus(ImportStatus.FAILED);
+                    item.setErrors(List.of(e.getClass().getSimpleName() + ": " + e.getMessage()));
+                }
+            }
+        }
+
+        Map<ImportStatus, Long> counts = items.stream()
+                .collect(Collectors.groupingBy(TaskImportItemDTO::getStatus, Collectors.counting()));
+
+        return new TaskImportResultDTO(tasks.size(),
+                counts.getOrDefault(ImportStatus.CREATED, 0L).intValue(),
+                counts.getOrDefault(ImportStatus.REJECTED, 0L).intValue(),
+                counts.getOrDefault(ImportStatus.FAILED, 0L).intValue(),
+                items);
+    }
+
+    private List<String> validate(TaskDTO task) {
+
+        if (task == null) {
+            return List.of("task: must not be null");
+        }
+
+        List<String> errors = validator.validate(task).stream()
+                .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .collect(Collectors.toList());
+
+        // ids are not part of the task JSON, so references are resolved by their natural keys
+        if (task.getProject() != null && isBlank(task.getProject().getProjectCode())) {
+            errors.add("project.projectCode: must not be blank");
+        }
+        if (task.getAssignedEmployee() != null && isBlank(task.getAssignedEmployee().getUserName())) {
+            errors.add("assignedEmployee.userName: must not be blank");
+        }
+        return errors;
+    }
+
+    private List<Long> insert(List<TaskDTO> tasks, List<Integer> chunk, Map<String, Long> projectIds, Map<String, Long> employeeIds) {
+
+        LocalDate today = LocalDate.now();
+        List<Task> entities = new ArrayList<>(chunk.size());
+
+        for (Integer index : chunk) {
+            TaskDTO dto = tasks.get(index);
+            Task task = new Task();
+            task.setTaskSubject(dto.getTaskSubject());
+            task.setTaskDetail(dto.getTaskDetail());
+            task.setTaskStatus(Status.OPEN);
+            task.setAssignedDate(today);
+            task.setProject(entityManager.getReference(Project.class, projectIds.get(dto.getProject().getProjectCode())));
+            task.setAssignedEmployee(entityManager.getReference(User.class, employeeIds.get(dto.getAssignedEmployee().getUserName())));
+            entities.add(task);
+        }
+
+        taskRepository.saveAll(entities);
+
+        // one counter update per project in the chunk, committed with it
+        entities.stream()
+                .collect(Collectors.groupingBy(task -> task.getProject().getId(), Collectors.counting()))
+                .forEach((projectId, count) -> projectTaskStatsService.addTasks(projectId, Status.OPEN, count));
+
+        entityManager.flush();
+        entityManager.clear();
+
+        return entities.stream().map(Task::getId).collect(Collectors.toList());
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+}
@@ -1,24 +1,36 @@
 package com.cydeo.service.impl;
 
+import com.cydeo.config.PaginationProperties;
+import com.cydeo.dto.CurrentUserDTO;
+import com.cydeo.dto.PageDTO;
+import com.cydeo.dto.PageRequestDTO;
 import com.cydeo.dto.ProjectDTO;
+import com.cydeo.dto.ProjectTaskCountDTO;
+import com.cydeo.dto.ResourceVersionDTO;
 import com.cydeo.dto.TaskDTO;
 import com.cydeo.dto.UserDTO;
-import com.cydeo.entity.Project;
 import com.cydeo.entity.Task;
 import com.cydeo.enums.Status;
 import com.cydeo.mapper.ProjectMapper;
 import com.cydeo.mapper.TaskMapper;
 import com.cydeo.mapper.UserMapper;
 import com.cydeo.repository.TaskRepository;
+import com.cydeo.service.CurrentUserService;
+import com.cydeo.service.ProjectTaskStatsService;
 import com.cydeo.service.TaskService;
-import com.cydeo.service.UserService;
-import org.keycloak.adapters.springsecurity.account.SimpleKeycloakAccount;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import com.cydeo.util.KeysetCursor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -28,15 +40,20 @@ public class TaskServiceImpl implements TaskService {
     private final TaskRepository taskRepository;
     private final TaskMapper taskMapper;
     private final ProjectMapper projectMapper;
-    private final UserService userService;
+    private final CurrentUserService currentUserService;
     private final UserMapper userMapper;
+    private final PaginationProperties paginationProperties;
+    private final ProjectTaskStatsService projectTaskStatsService;
 
-    public TaskServiceImpl(TaskRepository taskRepository, TaskMapper taskMapper, ProjectMapper projectMapper, UserService userService, UserMapper userMapper) {
+    public TaskServiceImpl(TaskRepository taskRepository, TaskMapper taskMapper, ProjectMapper projectMapper, CurrentUserService currentUserService, UserMapper userMapper, PaginationProperties paginationProperties,
+                           ProjectTaskStatsService projectTaskStatsService) {
         this.taskRepository = taskRepository;
         this.taskMapper = taskMapper;
         this.projectMapper = projectMapper;
-        this.userService = userService;
+        this.currentUserService = currentUserService;
         this.userMapper = userMapper;
+        this.paginationProperties = paginationProperties;
+        this.projectTaskStatsService = projectTaskStatsService;
     }
 
     @Override
@@ -56,30 +73,59 @@ public class TaskServiceImpl implements TaskService {
     }
 
     @Override
+    public PageDTO<TaskDTO> listAllTasks(PageRequestDTO pageRequest) {
+
+        int limit = paginationProperties.resolveLimit(pageRequest.getLimit());
+        Long total = pageRequest.isIncludeTotal() ? taskRepository.count() : null;
+
+        if (pageRequest.getPage() != null) {
+            Slice<Task> slice = taskRepository.findAllBy(PageRequest.of(paginationProperties.resolvePage(pageRequest.getPage()), limit, Sort.by("id")));
+            return PageDTO.ofOffset(slice, taskMapper::convertToDto, total);
+        }
+
+        List<Task> tasks = pageRequest.getCursor() == null
+                ? taskRepository.findAllByOrderByIdAsc(PageRequest.of(0, limit + 1))
+                : taskRepository.findAllByIdGreaterThanOrderByIdAsc(KeysetCursor.decode(pageRequest.getCursor()).getId(), PageRequest.of(0, limit + 1));
+
+        return PageDTO.ofKeyset(tasks, limit, taskMapper::convertToDto,
+                task -> new KeysetCursor(null, task.getId()).encode(), total);
+    }
+
+    @Override
+    @Transactional
     public void save(TaskDTO dto) {
 
         dto.setTaskStatus(Status.OPEN);
         dto.setAssignedDate(LocalDate.now());
-        Task task = taskMapper.convertToEntity(dto);
-        taskRepository.save(task);
+        Task task = taskRepository.save(taskMapper.convertToEntity(dto));
+        projectTaskStatsService.addTasks(projectId(task), task.getTaskStatus(), 1);
 
     }
 
     @Override
+    @Transactional
     public void update(TaskDTO dto) {
 
         Optional<Task> task = taskRepository.findById(dto.getId());
         Task convertedTask  = taskMapper.convertToEntity(dto);
 
         if(task.isPresent()){
+            // read before the save, which merges into the same instance
+            Long previousProjectId = projectId(task.get());
+            Status previousStatus = task.get().getTaskStatus();
+
             convertedTask.setTaskStatus(dto.getTaskStatus() == null ? task.get().getTaskStatus() : dto.getTaskStatus());
             convertedTask.setAssignedDate(task.get().getAssignedDate());
-            taskRepository.save(convertedTask);
+            Task saved = taskRepository.save(convertedTask);
+
+            projectTaskStatsService.addTasks(previousProjectId, previousStatus, -1);
+            projectTaskStatsService.addTasks(projectId(saved), saved.getTaskStatus(), 1);
         }
 
     }
 
     @Override
+    @Transactional
     public void delete(Long id) {
 
         Optional<Task> foundTask = taskRepository.findById(id);
@@ -87,6 +133,7 @@ public class TaskServiceImpl implements TaskService {
         if(foundTask.isPresent()){
             foundTask.get().setIsDeleted(true);
             taskRepository.save(foundTask.get());
+            projectTaskStatsService.addTasks(projectId(foundTask.get()), foundTask.get().getTaskStatus(), -1);
         }
 
     }
@@ -102,50 +149,66 @@ public class TaskServiceImpl implements TaskService {
     }
 
     @Override
+    public Map<Long, ProjectTaskCountDTO> totalTaskCountsByAssignedManager(Long managerId) {
+        return projectTaskStatsService.countsByAssignedManager(managerId);
+    }
+
+    @Override
+    public Map<Long, ProjectTaskCountDTO> totalTaskCountsByProjects(Collection<Long> projectIds) {
+        return projectTaskStatsService.countsByProjects(projectIds);
+    }
+
+    @Override
+    public ResourceVersionDTO totalTaskCountsByAssignedManagerVersion(Long managerId) {
+        return taskRepository.findVersionByAssignedManagerId(managerId);
+    }
+
+    @Override
+    @Transactional
     public void deleteByProject(ProjectDTO projectDTO) {
-        Project project = projectMapper.convertToEntity(projectDTO);
-        List<Task> tasks = taskRepository.findAllByProject(project);
-        tasks.forEach(task -> delete(task.getId()));
+        taskRepository.softDeleteByProject(projectDTO.getId(), LocalDateTime.now(), 1L);
+        projectTaskStatsService.deleteProject(projectDTO.getId());
     }
 
     @Override
+    @Transactional
     public void completeByProject(ProjectDTO projectDTO) {
-        Project project = projectMapper.convertToEntity(projectDTO);
-        List<Task> tasks = taskRepository.findAllByProject(project);
-        tasks.stream().map(taskMapper::convertToDto).forEach(taskDTO -> {
-            taskDTO.setTaskStatus(Status.COMPLETE);
-            update(taskDTO);
-        });
+        taskRepository.updateStatusByProject(projectDTO.getId(), Status.COMPLETE, LocalDateTime.now(), 1L);
+        projectTaskStatsService.completeProject(projectDTO.getId());
     }
 
     @Override
-    public List<TaskDTO> listAllTasksByStatusIsNot(Status status) {
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void createTaskCounts(ProjectDTO projectDTO) {
+        projectTaskStatsService.createProject(projectDTO.getId());
+    }
 
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        SimpleKeycloakAccount details = (SimpleKeycloakAccount) authentication.getDetails();
-        String username = details.getKeycloakSecurityContext().getToken().getPreferredUsername();
+    @Override
+    public List<TaskDTO> listAllTasksByStatusIsNot(Status status) {
 
-        UserDTO loggedInUser = userService.findByUserName(username);
+        CurrentUserDTO loggedInUser = currentUserService.getCurrentUser();
 
         List<Task> tasks = taskRepository.
-                findAllByTaskStatusIsNotAndAssignedEmployee(status, userMapper.convertToEntity(loggedInUser));
+                findAllByTaskStatusIsNotAndAssignedEmployeeId(status, loggedInUser.getId());
         return tasks.stream().map(taskMapper::convertToDto).collect(Collectors.toList());
     }
 
     @Override
     public List<TaskDTO> listAllTasksByStatus(Status status) {
 
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        SimpleKeycloakAccount details = (SimpleKeycloakAccount) authentication.getDetails();
-        String username = details.getKeycloakSecurityContext().getToken().getPreferredUsername();
-
-        UserDTO loggedInUser = userService.findByUserName(username);
+        CurrentUserDTO loggedInUser = currentUserService.getCurrentUser();
 
         List<Task> tasks = taskRepository.
-                findAllByTaskStatusAndAssignedEmployee(status, userMapper.convertToEntity(loggedInUser));
+                findAllByTaskStatusAndAssignedEmployeeId(status, loggedInUser.getId());
         return tasks.stream().map(taskMapper::convertToDto).collect(Collectors.toList());
     }
 
+    @Override
+    public ResourceVersionDTO listAllTasksOfEmployeeVersion() {
+        Long employeeId = currentUserService.getCurrentUser().getId();
+        return taskRepository.findVersionByAssignedEmployeeId(employeeId).scopedTo(employeeId);
+    }
+
     @Override
     public List<TaskDTO> listAllNonCompletedByAssignedEmployee(UserDTO assignedEmployee) {
         List<Task> tasks = taskRepository
@@ -153,4 +216,9 @@ public class TaskServiceImpl implements TaskService {
         return tasks.stream().map(taskMapper::convertToDto).collect(Collectors.toList());
     }
 
+    // the id sits on the lazy proxy, reading it loads nothing
+    private static Long projectId(Task task) {
+        return task.getProject() == null ? null : task.getProject().getId();
+    }
+
 }
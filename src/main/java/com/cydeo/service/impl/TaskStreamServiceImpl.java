@@ -0,0 +1,33 @@
+package com.cydeo.service.impl;
+
+import com.cydeo.dto.TaskDTO;
+import com.cydeo.enums.Status;
+import com.cydeo.repository.TaskStreamRepository;
+import com.cydeo.service.CurrentUserService;
+import com.cydeo.service.TaskStreamService;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+@Service
+public class TaskStreamServiceImpl implements TaskStreamService {
+
+    private final TaskStreamRepository taskStreamRepository;
+    private final CurrentUserService currentUserService;
+
+    public TaskStreamServiceImpl(TaskStreamRepository taskStreamRepository, CurrentUserService currentUserService) {
+        this.taskStreamRepository = taskStreamRepository;
+        this.currentUserService = currentUserService;
+    }
+
+    // the user name is taken on the request thread, where the security context is, and joined in the query
+    @Override
+    public Flux<TaskDTO> listAllTasksByStatusIsNot(Status status) {
+        return taskStreamRepository.findAllByTaskStatusIsNotAndAssignedEmployeeUserName(status, currentUserService.getCurrentUserName());
+    }
+
+    @Override
+    public Flux<TaskDTO> listAllTasksByStatus(Status status) {
+        return taskStreamRepository.findAllByTaskStatusAndAssignedEmployeeUserName(status, currentUserService.getCurrentUserName());
+    }
+
+}
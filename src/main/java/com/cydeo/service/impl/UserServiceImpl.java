@@ -1,5 +1,9 @@
 package com.cydeo.service.impl;
 
+import com.cydeo.config.PaginationProperties;
+import com.cydeo.dto.PageDTO;
+import com.cydeo.dto.PageRequestDTO;
+import com.cydeo.dto.ResourceVersionDTO;
 import com.cydeo.dto.ProjectDTO;
 import com.cydeo.dto.TaskDTO;
 import com.cydeo.dto.UserDTO;
@@ -7,35 +11,48 @@ import com.cydeo.entity.User;
 import com.cydeo.exception.TicketingProjectException;
 import com.cydeo.mapper.UserMapper;
 import com.cydeo.repository.UserRepository;
-import com.cydeo.service.KeycloakService;
+import com.cydeo.service.KeycloakOutboxService;
+import com.cydeo.service.PasswordHashingService;
 import com.cydeo.service.ProjectService;
 import com.cydeo.service.TaskService;
 import com.cydeo.service.UserService;
+import com.cydeo.util.KeysetCursor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.context.annotation.Lazy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 @Service
 public class UserServiceImpl implements UserService {
 
+    private static final Pattern BCRYPT_HASH = Pattern.compile("\\$2[abxy]?\\$\\d{2}\\$[./0-9A-Za-z]{53}");
+
     private final UserRepository userRepository;
     private final UserMapper userMapper;
     private final ProjectService projectService;
     private final TaskService taskService;
-    private final KeycloakService keycloakService;
-    private final BCryptPasswordEncoder passwordEncoder;
+    private final KeycloakOutboxService keycloakOutboxService;
+    private final PasswordHashingService passwordHashingService;
+    private final PaginationProperties paginationProperties;
+    private final TransactionTemplate transactionTemplate;
 
-    public UserServiceImpl(UserRepository userRepository, UserMapper userMapper, @Lazy ProjectService projectService, @Lazy TaskService taskService, KeycloakService keycloakService, BCryptPasswordEncoder bCryptPasswordEncoder) {
+    public UserServiceImpl(UserRepository userRepository, UserMapper userMapper, @Lazy ProjectService projectService, @Lazy TaskService taskService, KeycloakOutboxService keycloakOutboxService, PasswordHashingService passwordHashingService, PaginationProperties paginationProperties, PlatformTransactionManager transactionManager) {
         this.userRepository = userRepository;
         this.userMapper = userMapper;
         this.projectService = projectService;
         this.taskService = taskService;
-        this.keycloakService = keycloakService;
-        this.passwordEncoder = bCryptPasswordEncoder;
+        this.keycloakOutboxService = keycloakOutboxService;
+        this.passwordHashingService = passwordHashingService;
+        this.paginationProperties = paginationProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     @Override
@@ -51,19 +68,54 @@ public class UserServiceImpl implements UserService {
         return userList.stream().map(userMapper::convertToDto).collect(Collectors.toList());
     }
 
+    @Override
+    public PageDTO<UserDTO> listAllUsers(PageRequestDTO pageRequest) {
+
+        int limit = paginationProperties.resolveLimit(pageRequest.getLimit());
+        Long total = pageRequest.isIncludeTotal() ? userRepository.countByIsDeleted(false) : null;
+
+        if (pageRequest.getPage() != null) {
+            Slice<User> slice = userRepository.findAllByIsDeleted(false,
+                    PageRequest.of(paginationProperties.resolvePage(pageRequest.getPage()), limit));
+            return PageDTO.ofOffset(slice, userMapper::convertToDto, total);
+        }
+
+        List<User> users;
+        if (pageRequest.getCursor() == null) {
+            users = userRepository.findAllByIsDeletedOrderByFirstNameDescIdDesc(false, PageRequest.of(0, limit + 1));
+        } else {
+            KeysetCursor cursor = KeysetCursor.decode(pageRequest.getCursor());
+            users = cursor.getKey() == null
+                    ? userRepository.findPageWithoutFirstNameByIsDeletedAfter(false, cursor.getId(), PageRequest.of(0, limit + 1))
+                    : userRepository.findPageByIsDeletedAfter(false, cursor.getKey(), cursor.getId(), PageRequest.of(0, limit + 1));
+        }
+
+        return PageDTO.ofKeyset(users, limit, userMapper::convertToDto,
+                user -> new KeysetCursor(user.getFirstName(), user.getId()).encode(), total);
+    }
+
+    @Override
+    public ResourceVersionDTO listAllUsersVersion() {
+        return userRepository.findVersionByIsDeleted(false);
+    }
+
     @Override
     public UserDTO save(UserDTO userDTO) {
 
         userDTO.setEnabled(true);
-        userDTO.setPassWord(passwordEncoder.encode(userDTO.getPassWord()));
+        // hashed before the transaction starts, so no connection is held while the hash waits for the pool
+        userDTO.setPassWord(passwordHashingService.encode(userDTO.getPassWord()));
 
-        User user = userMapper.convertToEntity(userDTO);
+        return transactionTemplate.execute(status -> {
+            User user = userMapper.convertToEntity(userDTO);
 
-        userRepository.save(user);
+            userRepository.save(user);
 
-        keycloakService.userCreate(userDTO);
+            // provisioned in Keycloak by the outbox dispatcher once this transaction commits
+            keycloakOutboxService.enqueueUserCreate(userDTO);
 
-        return userMapper.convertToDto(user);
+            return userMapper.convertToDto(user);
+        });
     }
 
 //    @Override
@@ -79,18 +131,25 @@ public class UserServiceImpl implements UserService {
         User userInDB = userRepository.findByUserNameAndIsDeleted(userDTO.getUserName(), false);  //has id
         //set id as in db
         userDTO.setId(userInDB.getId());
-        //encode the password before converting to entity
-        userDTO.setPassWord(passwordEncoder.encode(userDTO.getPassWord()));
+        //encode the password before converting to entity, unless it is missing or is the stored hash itself
+        //(a DTO read back through findByUserName carries it); a hash per update was most of its cost
+        if (isBlank(userDTO.getPassWord()) || isStoredHash(userDTO.getPassWord(), userInDB)) {
+            userDTO.setPassWord(userInDB.getPassWord());
+        } else {
+            userDTO.setPassWord(passwordHashingService.encode(userDTO.getPassWord()));
+        }
         //convert to entity
         User convertedUser = userMapper.convertToEntity(userDTO);
         //save the updated user in the db
         User updatedUser = userRepository.save(convertedUser);
+        projectService.evictByAssignedManager(userDTO.getUserName());
 
         return userMapper.convertToDto(updatedUser);
 
     }
 
     @Override
+    @Transactional(rollbackFor = TicketingProjectException.class)
     public void delete(String username) throws TicketingProjectException {
 
         User user = userRepository.findByUserNameAndIsDeleted(username, false);
@@ -100,7 +159,8 @@ public class UserServiceImpl implements UserService {
             user.setUserName(user.getUserName() + "-" + user.getId());  // harold@manager.com-2
 
             userRepository.save(user);
-            keycloakService.delete(username);
+            projectService.evictByAssignedManager(username);
+            keycloakOutboxService.enqueueUserDelete(username);
         }else {
             throw new TicketingProjectException("User can not be deleted");
         }
@@ -113,6 +173,15 @@ public class UserServiceImpl implements UserService {
         return users.stream().map(userMapper::convertToDto).collect(Collectors.toList());
     }
 
+    // seeded users may hold a plain-text password, which is what the user types and has to be hashed
+    private static boolean isStoredHash(String password, User user) {
+        return password.equals(user.getPassWord()) && BCRYPT_HASH.matcher(password).matches();
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
     private boolean checkIfUserCanBeDeleted(User user) {
 
         switch (user.getRole().getDescription()) {
@@ -0,0 +1,30 @@
+package com.cydeo.util;
+
+import com.cydeo.dto.ResourceVersionDTO;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+// Answers If-None-Match from a listing's version, before the listing is loaded or mapped. There is no
+// Last-Modified: HTTP dates stop at the second and a soft delete leaves the newest timestamp of a listing
+// alone, so If-Modified-Since would answer 304 to a changed listing.
+public final class ConditionalGet {
+
+    // the listings depend on the caller, so only the client may keep them, and it has to revalidate each time;
+    // once set, Spring Security no longer adds its no-store default
+    public static final CacheControl CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
+    private ConditionalGet() {
+    }
+
+    // also adds the ETag to the response, whichever way it goes
+    public static boolean isNotModified(WebRequest request, ResourceVersionDTO version) {
+        return request.checkNotModified(version.getETag());
+    }
+
+    public static <T> ResponseEntity<T> notModified() {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(CACHE_CONTROL).build();
+    }
+
+}
@@ -1,15 +1,19 @@
-INSERT INTO roles(insert_date_time, insert_user_id, is_deleted, last_update_date_time, last_update_user_id, description)
-VALUES ('2022-01-05 00:00:00', 1, false, '2022-01-05 00:00:00', 1, 'Admin'),
-       ('2022-01-05 00:00:00', 1, false, '2022-01-05 00:00:00', 1, 'Manager'),
-       ('2022-01-05 00:00:00', 1, false, '2022-01-05 00:00:00', 1, 'Employee');
+INSERT INTO roles(id, insert_date_time, insert_user_id, is_deleted, last_update_date_time, last_update_user_id, description)
+VALUES (1, '2022-01-05 00:00:00', 1, false, '2022-01-05 00:00:00', 1, 'Admin'),
+       (2, '2022-01-05 00:00:00', 1, false, '2022-01-05 00:00:00', 1, 'Manager'),
+       (3, '2022-01-05 00:00:00', 1, false, '2022-01-05 00:00:00', 1, 'Employee');
 
-INSERT INTO users(insert_date_time, insert_user_id, is_deleted, last_update_date_time, last_update_user_id, enabled,
+INSERT INTO users(id, insert_date_time, insert_user_id, is_deleted, last_update_date_time, last_update_user_id, enabled,
                   first_name, last_name, user_name, pass_word, gender, phone, role_id)
-VALUES ('2022-01-05 00:00:00', 1, false, '2022-01-05 00:00:00', 1, true, '', '', 'mike', 'abc1', 'MALE', '', 1),
-       ('2022-01-05 00:00:00', 1, false, '2022-01-05 00:00:00', 1, true, '', '', 'ozzy', 'abc1', 'MALE', '', 2),
-       ('2022-01-05 00:00:00', 1, false, '2022-01-05 00:00:00', 1, true, '', '', 'sam', 'abc1', 'MALE', '', 3);
+VALUES (1, '2022-01-05 00:00:00', 1, false, '2022-01-05 00:00:00', 1, true, '', '', 'mike', 'abc1', 'MALE', '', 1),
+       (2, '2022-01-05 00:00:00', 1, false, '2022-01-05 00:00:00', 1, true, '', '', 'ozzy', 'abc1', 'MALE', '', 2),
+       (3, '2022-01-05 00:00:00', 1, false, '2022-01-05 00:00:00', 1, true, '', '', 'sam', 'abc1', 'MALE', '', 3);
 
-INSERT INTO projects(insert_date_time, insert_user_id, is_deleted, last_update_date_time, last_update_user_id, project_code, project_name,
+INSERT INTO projects(id, insert_date_time, insert_user_id, is_deleted, last_update_date_time, last_update_user_id, project_code, project_name,
                      project_detail, project_status, start_date, end_date, manager_id)
-VALUES ('2022-01-05 00:00:00', 2, false, '2022-01-05 00:00:00', 2, 'SP00', 'Spring Core', 'Spring Core Project', 'OPEN', '2022-01-05', '2022-06-12', 2);
+VALUES (1, '2022-01-05 00:00:00', 2, false, '2022-01-05 00:00:00', 2, 'SP00', 'Spring Core', 'Spring Core Project', 'OPEN', '2022-01-05', '2022-06-12', 2);
 
+-- ids are given explicitly since they come from pooled sequences; move each sequence past the seeded rows
+ALTER SEQUENCE roles_id_seq RESTART WITH 4;
+ALTER SEQUENCE users_id_seq RESTART WITH 4;
+ALTER SEQUENCE projects_id_seq RESTART WITH 2;
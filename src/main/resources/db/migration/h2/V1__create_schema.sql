@@ -0,0 +1,76 @@
+-- H2 copy of postgresql/V1__create_schema.sql for the tests, benchmarks and the offline profile. H2 has no
+-- bigserial, so each id takes its default from a sequence of the same name, which is what bigserial expands to.
+
+CREATE SEQUENCE roles_id_seq;
+CREATE SEQUENCE users_id_seq;
+CREATE SEQUENCE projects_id_seq;
+CREATE SEQUENCE tasks_id_seq;
+
+CREATE TABLE roles (
+    id                    BIGINT       DEFAULT NEXT VALUE FOR roles_id_seq NOT NULL,
+    insert_date_time      TIMESTAMP    NOT NULL,
+    insert_user_id        BIGINT       NOT NULL,
+    is_deleted            BOOLEAN,
+    last_update_date_time TIMESTAMP    NOT NULL,
+    last_update_user_id   BIGINT       NOT NULL,
+    description           VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE users (
+    id                    BIGINT       DEFAULT NEXT VALUE FOR users_id_seq NOT NULL,
+    insert_date_time      TIMESTAMP    NOT NULL,
+    insert_user_id        BIGINT       NOT NULL,
+    is_deleted            BOOLEAN,
+    last_update_date_time TIMESTAMP    NOT NULL,
+    last_update_user_id   BIGINT       NOT NULL,
+    enabled               BOOLEAN      NOT NULL,
+    first_name            VARCHAR(255),
+    gender                VARCHAR(255),
+    last_name             VARCHAR(255),
+    pass_word             VARCHAR(255) NOT NULL,
+    phone                 VARCHAR(255),
+    user_name             VARCHAR(255) NOT NULL,
+    role_id               BIGINT,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE projects (
+    id                    BIGINT       DEFAULT NEXT VALUE FOR projects_id_seq NOT NULL,
+    insert_date_time      TIMESTAMP    NOT NULL,
+    insert_user_id        BIGINT       NOT NULL,
+    is_deleted            BOOLEAN,
+    last_update_date_time TIMESTAMP    NOT NULL,
+    last_update_user_id   BIGINT       NOT NULL,
+    end_date              DATE,
+    project_code          VARCHAR(255),
+    project_detail        VARCHAR(255),
+    project_name          VARCHAR(255),
+    project_status        VARCHAR(255),
+    start_date            DATE,
+    manager_id            BIGINT,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE tasks (
+    id                    BIGINT       DEFAULT NEXT VALUE FOR tasks_id_seq NOT NULL,
+    insert_date_time      TIMESTAMP    NOT NULL,
+    insert_user_id        BIGINT       NOT NULL,
+    is_deleted            BOOLEAN,
+    last_update_date_time TIMESTAMP    NOT NULL,
+    last_update_user_id   BIGINT       NOT NULL,
+    assigned_date         DATE,
+    task_detail           VARCHAR(255),
+    task_status           VARCHAR(255),
+    task_subject          VARCHAR(255),
+    assigned_employee_id  BIGINT,
+    project_id            BIGINT,
+    PRIMARY KEY (id)
+);
+
+ALTER TABLE projects ADD CONSTRAINT UK_1batb7mq0elcfcs3d6maqo6sg UNIQUE (project_code);
+ALTER TABLE users ADD CONSTRAINT UK_k8d0f2n7n88w1a16yhua64onx UNIQUE (user_name);
+ALTER TABLE projects ADD CONSTRAINT FKurl8wb4qjly2c5xwdcpetuxs FOREIGN KEY (manager_id) REFERENCES users;
+ALTER TABLE tasks ADD CONSTRAINT FK7iqrtjp2fehh8fpmy5ptd425u FOREIGN KEY (assigned_employee_id) REFERENCES users;
+ALTER TABLE tasks ADD CONSTRAINT FKsfhn82y57i3k9uxww1s007acc FOREIGN KEY (project_id) REFERENCES projects;
+ALTER TABLE users ADD CONSTRAINT FKp56c1712k691lhsyewcssf40f FOREIGN KEY (role_id) REFERENCES roles;
@@ -0,0 +1,13 @@
+-- H2 copy of postgresql/V2__pooled_sequences.sql, with RESTART WITH in place of setval.
+
+ALTER SEQUENCE roles_id_seq INCREMENT BY 50;
+ALTER SEQUENCE roles_id_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM roles);
+
+ALTER SEQUENCE users_id_seq INCREMENT BY 50;
+ALTER SEQUENCE users_id_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM users);
+
+ALTER SEQUENCE projects_id_seq INCREMENT BY 50;
+ALTER SEQUENCE projects_id_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM projects);
+
+ALTER SEQUENCE tasks_id_seq INCREMENT BY 50;
+ALTER SEQUENCE tasks_id_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM tasks);
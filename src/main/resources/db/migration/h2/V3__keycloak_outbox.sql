@@ -0,0 +1,24 @@
+-- H2 copy of postgresql/V3__keycloak_outbox.sql.
+
+CREATE SEQUENCE keycloak_outbox_id_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE keycloak_outbox (
+    id                    BIGINT        NOT NULL,
+    insert_date_time      TIMESTAMP     NOT NULL,
+    insert_user_id        BIGINT        NOT NULL,
+    is_deleted            BOOLEAN,
+    last_update_date_time TIMESTAMP     NOT NULL,
+    last_update_user_id   BIGINT        NOT NULL,
+    attempts              INTEGER       NOT NULL,
+    event_type            VARCHAR(255)  NOT NULL,
+    first_name            VARCHAR(255),
+    last_error            VARCHAR(1000),
+    last_name             VARCHAR(255),
+    next_attempt_at       TIMESTAMP     NOT NULL,
+    pass_word             VARCHAR(255),
+    processed_at          TIMESTAMP,
+    role_description      VARCHAR(255),
+    status                VARCHAR(255)  NOT NULL,
+    user_name             VARCHAR(255)  NOT NULL,
+    PRIMARY KEY (id)
+);
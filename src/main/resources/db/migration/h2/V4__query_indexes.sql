@@ -0,0 +1,9 @@
+-- H2 copy of postgresql/V4__query_indexes.sql. H2 has neither partial nor expression indexes, so the
+-- is_deleted predicates become plain key columns and roles(upper(description)) is left out.
+
+CREATE INDEX IF NOT EXISTS tasks_assigned_employee_id_task_status_idx ON tasks (assigned_employee_id, task_status, is_deleted);
+CREATE INDEX IF NOT EXISTS tasks_project_id_task_status_idx ON tasks (project_id, task_status, is_deleted);
+CREATE INDEX IF NOT EXISTS projects_manager_id_project_code_id_idx ON projects (manager_id, project_code, id);
+CREATE INDEX IF NOT EXISTS users_is_deleted_first_name_id_idx ON users (is_deleted, first_name DESC, id DESC);
+CREATE INDEX IF NOT EXISTS users_role_id_is_deleted_idx ON users (role_id, is_deleted);
+CREATE INDEX IF NOT EXISTS keycloak_outbox_status_next_attempt_at_idx ON keycloak_outbox (status, next_attempt_at);
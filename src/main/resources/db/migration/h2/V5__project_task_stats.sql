@@ -0,0 +1,24 @@
+-- H2 copy of postgresql/V5__project_task_stats.sql, with SYSTEM_RANGE in place of generate_series.
+
+CREATE TABLE project_task_stats (
+    project_id          BIGINT NOT NULL,
+    slot                INTEGER NOT NULL,
+    completed_count     BIGINT NOT NULL,
+    non_completed_count BIGINT NOT NULL,
+    PRIMARY KEY (project_id, slot)
+);
+
+ALTER TABLE project_task_stats ADD CONSTRAINT project_task_stats_project_id_fk FOREIGN KEY (project_id) REFERENCES projects;
+
+INSERT INTO project_task_stats (project_id, slot, completed_count, non_completed_count)
+SELECT p.id, 0,
+       COALESCE(SUM(CASE WHEN t.task_status = 'COMPLETE' THEN 1 ELSE 0 END), 0),
+       COALESCE(SUM(CASE WHEN t.task_status <> 'COMPLETE' THEN 1 ELSE 0 END), 0)
+FROM projects p LEFT JOIN tasks t ON t.project_id = p.id AND t.is_deleted = false
+WHERE p.is_deleted = false
+GROUP BY p.id;
+
+INSERT INTO project_task_stats (project_id, slot, completed_count, non_completed_count)
+SELECT p.id, s.X, 0, 0
+FROM projects p CROSS JOIN SYSTEM_RANGE(1, 7) s
+WHERE p.is_deleted = false;
@@ -0,0 +1,3 @@
+-- H2 copy of postgresql/V6__outbox_user_order.sql.
+
+CREATE INDEX IF NOT EXISTS keycloak_outbox_user_name_status_id_idx ON keycloak_outbox (user_name, status, id);
@@ -0,0 +1,72 @@
+-- Schema exactly as ddl-auto=update created it before migrations took over, with bigserial ids and the same
+-- constraint names, so a database created here matches one that is baselined at V1 (see
+-- spring.flyway.baseline-*). Both take the same path from V2 onwards.
+
+CREATE TABLE roles (
+    id                    BIGSERIAL    NOT NULL,
+    insert_date_time      TIMESTAMP    NOT NULL,
+    insert_user_id        INT8         NOT NULL,
+    is_deleted            BOOLEAN,
+    last_update_date_time TIMESTAMP    NOT NULL,
+    last_update_user_id   INT8         NOT NULL,
+    description           VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE users (
+    id                    BIGSERIAL    NOT NULL,
+    insert_date_time      TIMESTAMP    NOT NULL,
+    insert_user_id        INT8         NOT NULL,
+    is_deleted            BOOLEAN,
+    last_update_date_time TIMESTAMP    NOT NULL,
+    last_update_user_id   INT8         NOT NULL,
+    enabled               BOOLEAN      NOT NULL,
+    first_name            VARCHAR(255),
+    gender                VARCHAR(255),
+    last_name             VARCHAR(255),
+    pass_word             VARCHAR(255) NOT NULL,
+    phone                 VARCHAR(255),
+    user_name             VARCHAR(255) NOT NULL,
+    role_id               INT8,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE projects (
+    id                    BIGSERIAL    NOT NULL,
+    insert_date_time      TIMESTAMP    NOT NULL,
+    insert_user_id        INT8         NOT NULL,
+    is_deleted            BOOLEAN,
+    last_update_date_time TIMESTAMP    NOT NULL,
+    last_update_user_id   INT8         NOT NULL,
+    end_date              DATE,
+    project_code          VARCHAR(255),
+    project_detail        VARCHAR(255),
+    project_name          VARCHAR(255),
+    project_status        VARCHAR(255),
+    start_date            DATE,
+    manager_id            INT8,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE tasks (
+    id                    BIGSERIAL    NOT NULL,
+    insert_date_time      TIMESTAMP    NOT NULL,
+    insert_user_id        INT8         NOT NULL,
+    is_deleted            BOOLEAN,
+    last_update_date_time TIMESTAMP    NOT NULL,
+    last_update_user_id   INT8         NOT NULL,
+    assigned_date         DATE,
+    task_detail           VARCHAR(255),
+    task_status           VARCHAR(255),
+    task_subject          VARCHAR(255),
+    assigned_employee_id  INT8,
+    project_id            INT8,
+    PRIMARY KEY (id)
+);
+
+ALTER TABLE projects ADD CONSTRAINT UK_1batb7mq0elcfcs3d6maqo6sg UNIQUE (project_code);
+ALTER TABLE users ADD CONSTRAINT UK_k8d0f2n7n88w1a16yhua64onx UNIQUE (user_name);
+ALTER TABLE projects ADD CONSTRAINT FKurl8wb4qjly2c5xwdcpetuxs FOREIGN KEY (manager_id) REFERENCES users;
+ALTER TABLE tasks ADD CONSTRAINT FK7iqrtjp2fehh8fpmy5ptd425u FOREIGN KEY (assigned_employee_id) REFERENCES users;
+ALTER TABLE tasks ADD CONSTRAINT FKsfhn82y57i3k9uxww1s007acc FOREIGN KEY (project_id) REFERENCES projects;
+ALTER TABLE users ADD CONSTRAINT FKp56c1712k691lhsyewcssf40f FOREIGN KEY (role_id) REFERENCES roles;
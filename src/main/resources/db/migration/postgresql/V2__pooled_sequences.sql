@@ -0,0 +1,17 @@
+-- Moves the IDENTITY (bigserial) schema of V1 to pooled-lo sequences, the same way on a new database as on one
+-- baselined from ddl-auto=update. The sequences behind the bigserial columns are reused, so the column defaults
+-- keep working for manual inserts. Only the increment changes, to match BaseEntity.ID_ALLOCATION_SIZE: Hibernate
+-- reserves the block [nextval, nextval + 49] for itself, and with an increment of 1 two sessions would be handed
+-- overlapping blocks. Each sequence is also moved past the highest existing id.
+
+ALTER SEQUENCE roles_id_seq INCREMENT BY 50;
+SELECT setval('roles_id_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM roles), false);
+
+ALTER SEQUENCE users_id_seq INCREMENT BY 50;
+SELECT setval('users_id_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM users), false);
+
+ALTER SEQUENCE projects_id_seq INCREMENT BY 50;
+SELECT setval('projects_id_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM projects), false);
+
+ALTER SEQUENCE tasks_id_seq INCREMENT BY 50;
+SELECT setval('tasks_id_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM tasks), false);
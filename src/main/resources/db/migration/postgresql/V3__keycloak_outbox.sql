@@ -0,0 +1,25 @@
+-- The Keycloak provisioning outbox (KeycloakOutboxServiceImpl). It is new with the migrations, so unlike the
+-- tables of V1 it starts out with a pooled-lo sequence and needs nothing from V2.
+
+CREATE SEQUENCE keycloak_outbox_id_seq START 1 INCREMENT 50;
+
+CREATE TABLE keycloak_outbox (
+    id                    INT8          NOT NULL,
+    insert_date_time      TIMESTAMP     NOT NULL,
+    insert_user_id        INT8          NOT NULL,
+    is_deleted            BOOLEAN,
+    last_update_date_time TIMESTAMP     NOT NULL,
+    last_update_user_id   INT8          NOT NULL,
+    attempts              INT4          NOT NULL,
+    event_type            VARCHAR(255)  NOT NULL,
+    first_name            VARCHAR(255),
+    last_error            VARCHAR(1000),
+    last_name             VARCHAR(255),
+    next_attempt_at       TIMESTAMP     NOT NULL,
+    pass_word             VARCHAR(255),
+    processed_at          TIMESTAMP,
+    role_description      VARCHAR(255),
+    status                VARCHAR(255)  NOT NULL,
+    user_name             VARCHAR(255)  NOT NULL,
+    PRIMARY KEY (id)
+);
@@ -0,0 +1,34 @@
+-- One index per hot repository query; PlanRegressionTest fails when one of them goes back to a sequential scan.
+-- CONCURRENTLY keeps the tables writable while the indexes build, which also makes Flyway run this script
+-- outside a transaction. IF NOT EXISTS lets it be re-run after a failed build has been dropped.
+--
+-- Project and Task carry @Where(clause = "is_deleted=false"), so every query on them has that literal
+-- predicate and the indexes only cover live rows. User queries bind is_deleted as a parameter, which a
+-- generic plan cannot match against a partial index, so there it is a key column instead.
+-- users(user_name) needs nothing new: the unique constraint already serves the lookups by userName.
+
+-- TaskRepository.findAllByTaskStatus[IsNot]AndAssignedEmployee[Id]: an employee's pending and archived tasks
+CREATE INDEX CONCURRENTLY IF NOT EXISTS tasks_assigned_employee_id_task_status_idx
+    ON tasks (assigned_employee_id, task_status) WHERE is_deleted = false;
+
+-- totalNonCompletedTasks, countTasksGroupedByProject[Ids], updateStatusByProject, softDeleteByProject
+CREATE INDEX CONCURRENTLY IF NOT EXISTS tasks_project_id_task_status_idx
+    ON tasks (project_id, task_status) WHERE is_deleted = false;
+
+-- ProjectRepository.findAllByAssignedManager[Id], keyset pages ordered by project_code then id
+CREATE INDEX CONCURRENTLY IF NOT EXISTS projects_manager_id_project_code_id_idx
+    ON projects (manager_id, project_code, id) WHERE is_deleted = false;
+
+-- UserRepository.findAllByIsDeletedOrderByFirstNameDescIdDesc and findPageByIsDeletedAfter
+CREATE INDEX CONCURRENTLY IF NOT EXISTS users_is_deleted_first_name_id_idx
+    ON users (is_deleted, first_name DESC, id DESC);
+
+-- UserRepository.findByRoleDescriptionIgnoreCaseAndIsDeleted; IgnoreCase compares upper(description)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS users_role_id_is_deleted_idx
+    ON users (role_id, is_deleted);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS roles_upper_description_idx
+    ON roles (upper(description));
+
+-- KeycloakOutboxRepository.findDueEvents and countByStatus
+CREATE INDEX CONCURRENTLY IF NOT EXISTS keycloak_outbox_status_next_attempt_at_idx
+    ON keycloak_outbox (status, next_attempt_at);
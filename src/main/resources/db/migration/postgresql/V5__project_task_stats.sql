@@ -0,0 +1,28 @@
+-- Task counts per project, kept current by the writes that change them (ProjectTaskStatsServiceImpl) so
+-- the project listings sum a few rows instead of counting tasks. Every project has several stripe rows and
+-- a write adds its delta to one picked at random, so writers on one busy project seldom queue on the same
+-- row lock. The counts of a project are the sums over its stripes.
+CREATE TABLE project_task_stats (
+    project_id          INT8 NOT NULL,
+    slot                INT4 NOT NULL,
+    completed_count     INT8 NOT NULL,
+    non_completed_count INT8 NOT NULL,
+    PRIMARY KEY (project_id, slot)
+);
+
+ALTER TABLE project_task_stats ADD CONSTRAINT project_task_stats_project_id_fk FOREIGN KEY (project_id) REFERENCES projects;
+
+-- live projects start with their current counts in slot 0 and empty slots 1 to 7 (project-task-stats.stripes
+-- defaults to 8), with the same buckets as TaskRepository.countTasksGroupedByProject
+INSERT INTO project_task_stats (project_id, slot, completed_count, non_completed_count)
+SELECT p.id, 0,
+       COALESCE(SUM(CASE WHEN t.task_status = 'COMPLETE' THEN 1 ELSE 0 END), 0),
+       COALESCE(SUM(CASE WHEN t.task_status <> 'COMPLETE' THEN 1 ELSE 0 END), 0)
+FROM projects p LEFT JOIN tasks t ON t.project_id = p.id AND t.is_deleted = false
+WHERE p.is_deleted = false
+GROUP BY p.id;
+
+INSERT INTO project_task_stats (project_id, slot, completed_count, non_completed_count)
+SELECT p.id, s.slot, 0, 0
+FROM projects p CROSS JOIN generate_series(1, 7) AS s(slot)
+WHERE p.is_deleted = false;
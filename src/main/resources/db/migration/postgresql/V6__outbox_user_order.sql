@@ -0,0 +1,5 @@
+-- KeycloakOutboxRepository.findDueEvents holds an event back while an earlier one for the same user is
+-- still pending; this serves that NOT EXISTS lookup. status is bound as a parameter, so it is a key column
+-- rather than a partial index predicate. CONCURRENTLY as in V4.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS keycloak_outbox_user_name_status_id_idx
+    ON keycloak_outbox (user_name, status, id);
@@ -0,0 +1,6 @@
+-- The user pages, keyset and offset, now order by first_name DESC NULLS LAST. A DESC index puts NULLs first in Postgres,
+-- so the V4 index no longer matches that order and is rebuilt with it. H2 already sorts NULLs last in a
+-- descending index and keeps its V4 index. CONCURRENTLY as in V4.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS users_is_deleted_first_name_nulls_last_id_idx
+    ON users (is_deleted, first_name DESC NULLS LAST, id DESC);
+DROP INDEX CONCURRENTLY IF EXISTS users_is_deleted_first_name_id_idx;
@@ -0,0 +1,149 @@
+package com.cydeo.aspect;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.cydeo.config.RequestLoggingProperties;
+import com.cydeo.controller.ProjectController;
+import com.cydeo.controller.TaskController;
+import com.cydeo.dto.PageDTO;
+import com.cydeo.dto.PageInfoDTO;
+import com.cydeo.dto.PageRequestDTO;
+import com.cydeo.dto.ProjectDTO;
+import com.cydeo.dto.ResourceVersionDTO;
+import com.cydeo.dto.RoleDTO;
+import com.cydeo.dto.UserDTO;
+import com.cydeo.enums.Gender;
+import com.cydeo.enums.Status;
+import com.cydeo.service.ExportService;
+import com.cydeo.service.ProjectService;
+import com.cydeo.service.TaskImportService;
+import com.cydeo.service.TaskService;
+import com.cydeo.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoggingAspectTest {
+
+    private final RequestLoggingProperties properties = new RequestLoggingProperties();
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private final Logger logger = (Logger) LoggerFactory.getLogger(LoggingAspect.class);
+
+    @BeforeEach
+    void setUp() {
+        appender.start();
+        logger.addAppender(appender);
+        logger.setLevel(Level.INFO);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    void taskControllerExceptionsPropagate() {
+        TaskController controller = advise(new TaskController(
+                stub(TaskService.class, () -> {
+                    throw new NoSuchElementException("Task not found");
+                }),
+                stub(ExportService.class, () -> null),
+                stub(TaskImportService.class, () -> null)));
+
+        assertThatThrownBy(() -> controller.getTaskById(1L))
+                .isInstanceOf(NoSuchElementException.class)
+                .hasMessage("Task not found");
+
+        assertThat(appender.list).hasSize(1);
+        assertThat(appender.list.get(0).getFormattedMessage())
+                .startsWith("endpoint=TaskController.getTaskById outcome=error")
+                .contains("Task not found");
+    }
+
+    @Test
+    void passwordsAreRedacted() {
+        ProjectController controller = projectController(List.of());
+
+        controller.createProject(project("SP01"));
+
+        String message = appender.list.get(0).getFormattedMessage();
+        assertThat(message).contains("userName=ozzy");
+        assertThat(message).doesNotContain("Abc1", "passWord", "confirmPassWord");
+    }
+
+    @Test
+    void renderedResultIsCappedOnLargeLists() {
+        properties.setMaxResultLength(200);
+        List<ProjectDTO> projects = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            projects.add(project("SP" + i));
+        }
+        ProjectController controller = projectController(projects);
+
+        controller.getProjects(new PageRequestDTO(), new ServletWebRequest(new MockHttpServletRequest()));
+
+        String message = appender.list.get(0).getFormattedMessage();
+        assertThat(message).contains("(size=1000)").endsWith("...");
+        assertThat(message.length()).isLessThan(200 + properties.getMaxArgumentLength() + 100);
+    }
+
+    @Test
+    void callsOutsideTheSampleAreNotLogged() {
+        properties.getSampleRates().put("ProjectController.getProjects", 0.0);
+        ProjectController controller = projectController(List.of());
+
+        controller.getProjects(new PageRequestDTO(), new ServletWebRequest(new MockHttpServletRequest()));
+        controller.createProject(project("SP01"));
+
+        assertThat(appender.list).hasSize(1);
+        assertThat(appender.list.get(0).getFormattedMessage()).startsWith("endpoint=ProjectController.createProject");
+    }
+
+    private ProjectController projectController(List<ProjectDTO> projects) {
+        PageDTO<ProjectDTO> page = new PageDTO<>(projects, new PageInfoDTO(projects.size(), false, null, null, null));
+        return advise(new ProjectController(
+                stub(ProjectService.class, () -> page),
+                stub(UserService.class, () -> null),
+                stub(ExportService.class, () -> null)));
+    }
+
+    private <T> T advise(T target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new LoggingAspect(properties));
+        return factory.getProxy();
+    }
+
+    // every method of the stub answers with the supplier's value, except the version lookups of the
+    // conditional GETs, which answer with an empty listing's version so the request falls through to the listing
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> type, Supplier<Object> answer) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> method.getReturnType() == void.class ? null
+                        : method.getReturnType() == ResourceVersionDTO.class ? new ResourceVersionDTO(0L, null)
+                        : answer.get());
+    }
+
+    private static ProjectDTO project(String projectCode) {
+        UserDTO manager = new UserDTO(2L, "Ozzy", "Dwayne", "ozzy", "Abc1", "Abc1", true,
+                "5552221111", new RoleDTO(2L, "Manager"), Gender.MALE);
+        return new ProjectDTO(projectCode, projectCode, manager, LocalDate.now(), LocalDate.now(), "detail", Status.OPEN);
+    }
+
+}
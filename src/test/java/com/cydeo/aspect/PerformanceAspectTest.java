@@ -0,0 +1,94 @@
+package com.cydeo.aspect;
+
+import com.cydeo.annotation.ExecutionTime;
+import com.cydeo.dto.LatencyStatsDTO;
+import com.cydeo.exception.TicketingProjectException;
+import com.cydeo.service.LatencyStatsService;
+import com.cydeo.service.impl.LatencyStatsServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PerformanceAspectTest {
+
+    private LatencyStatsService latencyStatsService;
+    private TimedTarget target;
+
+    @BeforeEach
+    void setUp() {
+        latencyStatsService = new LatencyStatsServiceImpl();
+
+        AspectJProxyFactory factory = new AspectJProxyFactory(new TimedTarget());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new PerformanceAspect(latencyStatsService));
+        target = factory.getProxy();
+    }
+
+    @Test
+    void returnsTheMethodResultAndRecordsTheCall() {
+        assertThat(target.greet("mike")).isEqualTo("Hello mike");
+
+        List<LatencyStatsDTO> stats = latencyStatsService.listCumulativeStats();
+        assertThat(stats).hasSize(1);
+        assertThat(stats.get(0).getMethod()).isEqualTo("TimedTarget.greet(..)");
+        assertThat(stats.get(0).getCount()).isEqualTo(1);
+        assertThat(stats.get(0).getErrorCount()).isZero();
+        assertThat(stats.get(0).getMaxMs()).isGreaterThan(0);
+    }
+
+    @Test
+    void rethrowsTheOriginalExceptionAndCountsTheError() {
+        assertThatThrownBy(() -> target.fail()).isInstanceOf(TicketingProjectException.class);
+
+        LatencyStatsDTO stats = latencyStatsService.listCumulativeStats().get(0);
+        assertThat(stats.getCount()).isEqualTo(1);
+        assertThat(stats.getErrorCount()).isEqualTo(1);
+    }
+
+    @Test
+    void intervalStatsOnlyCoverCallsSinceThePreviousInterval() {
+        target.greet("mike");
+        target.greet("ozzy");
+        assertThat(latencyStatsService.listIntervalStats().get(0).getCount()).isEqualTo(2);
+
+        target.greet("sam");
+        assertThat(latencyStatsService.listIntervalStats().get(0).getCount()).isEqualTo(1);
+        assertThat(latencyStatsService.listCumulativeStats().get(0).getCount()).isEqualTo(3);
+    }
+
+    @Test
+    void resetClearsAllWindows() throws TicketingProjectException {
+        target.greet("mike");
+        assertThatThrownBy(() -> target.fail()).isInstanceOf(TicketingProjectException.class);
+
+        latencyStatsService.reset();
+
+        assertThat(latencyStatsService.listCumulativeStats())
+                .allSatisfy(stats -> {
+                    assertThat(stats.getCount()).isZero();
+                    assertThat(stats.getErrorCount()).isZero();
+                });
+        assertThat(latencyStatsService.listIntervalStats())
+                .allSatisfy(stats -> assertThat(stats.getCount()).isZero());
+    }
+
+    static class TimedTarget {
+
+        @ExecutionTime
+        public String greet(String name) {
+            return "Hello " + name;
+        }
+
+        @ExecutionTime
+        public void fail() throws TicketingProjectException {
+            throw new TicketingProjectException("failed");
+        }
+
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.cydeo.benchmark;
+
+import com.cydeo.TicketingProjectRestApplication;
+import org.keycloak.KeycloakPrincipal;
+import org.keycloak.adapters.RefreshableKeycloakSecurityContext;
+import org.keycloak.adapters.springsecurity.account.SimpleKeycloakAccount;
+import org.keycloak.representations.AccessToken;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.function.Supplier;
+
+// Boots the application against an in-memory H2 database seeded from data.sql, for benchmarks only.
+public final class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+    }
+
+    private static final String[] PROPERTIES = {
+            "--server.port=0",
+            "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+            "--spring.datasource.username=sa",
+            "--spring.datasource.password=",
+            "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+            "--spring.jpa.show-sql=false",
+            "--spring.devtools.restart.enabled=false",
+            "--scheduling.enabled=false",
+            "--logging.level.root=WARN"
+    };
+
+    // extra arguments use the same --name=value form and win over the defaults above
+    public static ConfigurableApplicationContext start(String... extraArgs) {
+        String[] args = Arrays.copyOf(PROPERTIES, PROPERTIES.length + extraArgs.length);
+        System.arraycopy(extraArgs, 0, args, PROPERTIES.length, extraArgs.length);
+        return new SpringApplicationBuilder(TicketingProjectRestApplication.class).run(args);
+    }
+
+    // Keycloak-shaped authentication for services that resolve the current user. The context is
+    // global because JMH may run setup and measurement on different threads.
+    public static void signIn(String userName, String role) {
+        AccessToken accessToken = new AccessToken();
+        accessToken.setPreferredUsername(userName);
+        accessToken.setSubject(userName + "-subject");
+        RefreshableKeycloakSecurityContext securityContext =
+                new RefreshableKeycloakSecurityContext(null, null, null, accessToken, null, null, null);
+
+        TestingAuthenticationToken authentication = new TestingAuthenticationToken(userName, null, "ROLE_" + role);
+        authentication.setDetails(new SimpleKeycloakAccount(new KeycloakPrincipal<>(userName, securityContext), Set.of(role), securityContext));
+
+        SecurityContextHolder.setStrategyName(SecurityContextHolder.MODE_GLOBAL);
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+    }
+
+    // Runs the call with an EntityManager bound to the thread, the way open-in-view does for a
+    // web request, so services can map lazy associations outside their own transactions.
+    public static <T> T inRequest(EntityManagerFactory entityManagerFactory, Supplier<T> call) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+        try {
+            return call.get();
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            entityManager.close();
+        }
+    }
+
+}
@@ -0,0 +1,52 @@
+package com.cydeo.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+
+/**
+ * Entry point of the {@code benchmark} Maven profile: {@code mvn -Pbenchmark test -Djmh.args="..."}.
+ * Takes the usual JMH command line (benchmark regex, -f, -i, -prof, ...). Unless the command line
+ * says otherwise, every run uses the same fixed heap and collector and the GC profiler, and writes
+ * JSON results to target/jmh/results.json, so runs on the same machine can be compared.
+ */
+public final class BenchmarkRunner {
+
+    private static final String[] JVM_ARGS = {"-Xms2g", "-Xmx2g", "-XX:+UseG1GC", "-XX:+AlwaysPreTouch"};
+    private static final String RESULT_FILE = "target/jmh/results.json";
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+
+        if (commandLine.getIncludes().isEmpty()) {
+            options.include("com\\.cydeo\\.benchmark\\..*");
+        }
+        if (!commandLine.getJvmArgs().hasValue()) {
+            options.jvmArgs(JVM_ARGS);
+        }
+        if (commandLine.getProfilers().isEmpty()) {
+            options.addProfiler(GCProfiler.class);
+        }
+        if (!commandLine.getResult().hasValue()) {
+            new File(RESULT_FILE).getParentFile().mkdirs();
+            options.result(RESULT_FILE);
+        }
+        if (!commandLine.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+
+        new Runner(options.build()).run();
+    }
+
+}
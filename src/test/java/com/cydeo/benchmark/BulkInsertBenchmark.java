@@ -0,0 +1,134 @@
+package com.cydeo.benchmark;
+
+import com.cydeo.entity.Project;
+import com.cydeo.entity.Role;
+import com.cydeo.entity.Task;
+import com.cydeo.entity.User;
+import com.cydeo.enums.Gender;
+import com.cydeo.enums.Status;
+import com.cydeo.repository.ProjectRepository;
+import com.cydeo.repository.RoleRepository;
+import com.cydeo.repository.TaskRepository;
+import com.cydeo.repository.UserRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inserting tasks and users in bulk through the repositories, one transaction per invocation.
+ * With IDENTITY keys every row was its own INSERT round trip; with pooled sequences the rows go
+ * out as JDBC batches of hibernate.jdbc.batch_size, with one sequence call per allocation block.
+ * In-memory H2 has no network between the two, so besides the time the statements prepared are
+ * reported as the secondary "statements" result, summed over the measurement iterations: that
+ * count is what turns into round trips against Postgres.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BulkInsertBenchmark {
+
+    @Param("1000")
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private TaskRepository taskRepository;
+    private UserRepository userRepository;
+    private ProjectRepository projectRepository;
+    private RoleRepository roleRepository;
+    private TransactionTemplate transactionTemplate;
+    private Statistics statistics;
+
+    private int sequence;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Statements {
+        public long statements;
+    }
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = BenchmarkApplication.start();
+        taskRepository = context.getBean(TaskRepository.class);
+        userRepository = context.getBean(UserRepository.class);
+        projectRepository = context.getBean(ProjectRepository.class);
+        roleRepository = context.getBean(RoleRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    // project SP00 (id 1), employee sam (id 3) and role Employee (id 3) are seeded by data.sql
+    @Benchmark
+    public void insertTasks(Statements counter) {
+        long before = statistics.getPrepareStatementCount();
+        transactionTemplate.executeWithoutResult(status -> {
+            Project project = projectRepository.getReferenceById(1L);
+            User employee = userRepository.getReferenceById(3L);
+            List<Task> tasks = new ArrayList<>(rows);
+            for (int i = 0; i < rows; i++) {
+                Task task = new Task();
+                task.setTaskSubject("Bulk " + i);
+                task.setTaskDetail("Bulk task " + i);
+                task.setTaskStatus(Status.OPEN);
+                task.setAssignedDate(LocalDate.now());
+                task.setProject(project);
+                task.setAssignedEmployee(employee);
+                tasks.add(task);
+            }
+            taskRepository.saveAll(tasks);
+        });
+        counter.statements += statistics.getPrepareStatementCount() - before;
+    }
+
+    @Benchmark
+    public void insertUsers(Statements counter) {
+        long before = statistics.getPrepareStatementCount();
+        int batch = sequence++;
+        transactionTemplate.executeWithoutResult(status -> {
+            Role role = roleRepository.getReferenceById(3L);
+            List<User> users = new ArrayList<>(rows);
+            for (int i = 0; i < rows; i++) {
+                User user = new User();
+                user.setFirstName("Bulk");
+                user.setLastName("User " + i);
+                user.setUserName("bulk-" + batch + "-" + i);
+                user.setPassWord("abc1");
+                user.setEnabled(true);
+                user.setGender(Gender.FEMALE);
+                user.setRole(role);
+                users.add(user);
+            }
+            userRepository.saveAll(users);
+        });
+        counter.statements += statistics.getPrepareStatementCount() - before;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(BulkInsertBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+
+}
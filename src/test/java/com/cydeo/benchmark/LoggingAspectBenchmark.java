@@ -0,0 +1,172 @@
+package com.cydeo.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.cydeo.aspect.LoggingAspect;
+import com.cydeo.config.RequestLoggingProperties;
+import com.cydeo.controller.ProjectController;
+import com.cydeo.dto.PageDTO;
+import com.cydeo.dto.PageInfoDTO;
+import com.cydeo.dto.PageRequestDTO;
+import com.cydeo.dto.ProjectDTO;
+import com.cydeo.dto.ResourceVersionDTO;
+import com.cydeo.dto.ResponseWrapper;
+import com.cydeo.dto.RoleDTO;
+import com.cydeo.dto.UserDTO;
+import com.cydeo.enums.Gender;
+import com.cydeo.enums.Status;
+import com.cydeo.service.ExportService;
+import com.cydeo.service.ProjectService;
+import com.cydeo.service.UserService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.OutputStream;
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request-thread cost of LoggingAspect on a 100-project list response, per sample rate.
+ * {@code legacyLogging} repeats what the aspect used to do: two synchronous INFO lines with the
+ * raw argument array and {@code result.toString()}. Both loggers write to a discarding stream,
+ * so the numbers cover rendering and hand-off but not console I/O. Run {@link #main} after
+ * {@code mvn test-compile}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoggingAspectBenchmark {
+
+    @Param({"0.0", "0.1", "1.0"})
+    private double sampleRate;
+
+    private ProjectController controller;
+    private ProjectController advisedController;
+    private PageRequestDTO pageRequest;
+    private WebRequest request;
+    private Logger legacyLogger;
+    private AsyncAppender asyncAppender;
+
+    @Setup
+    public void setUp() {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+
+        // same wiring as logback-spring.xml, with a discarding sink instead of the console
+        asyncAppender = new AsyncAppender();
+        asyncAppender.setContext(context);
+        asyncAppender.setQueueSize(8192);
+        asyncAppender.setNeverBlock(true);
+        asyncAppender.addAppender(discardingAppender(context));
+        asyncAppender.start();
+        route(context.getLogger(LoggingAspect.class), asyncAppender);
+
+        legacyLogger = context.getLogger("legacy-request-log");
+        route(legacyLogger, discardingAppender(context));
+
+        List<ProjectDTO> projects = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            projects.add(project("SP" + i));
+        }
+        PageDTO<ProjectDTO> page = new PageDTO<>(projects, new PageInfoDTO(100, true, "cursor", null, null));
+        controller = new ProjectController(stub(ProjectService.class, page), stub(UserService.class, null),
+                stub(ExportService.class, null));
+
+        RequestLoggingProperties properties = new RequestLoggingProperties();
+        properties.setDefaultSampleRate(sampleRate);
+        AspectJProxyFactory factory = new AspectJProxyFactory(controller);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new LoggingAspect(properties));
+        advisedController = factory.getProxy();
+
+        pageRequest = new PageRequestDTO(100, null, null, false);
+        request = new ServletWebRequest(new MockHttpServletRequest("GET", "/api/v1/project"));
+    }
+
+    @TearDown
+    public void tearDown() {
+        asyncAppender.stop();
+    }
+
+    @Benchmark
+    public ResponseEntity<ResponseWrapper> unadvised() {
+        return controller.getProjects(pageRequest, request);
+    }
+
+    @Benchmark
+    public ResponseEntity<ResponseWrapper> loggingAspect() {
+        return advisedController.getProjects(pageRequest, request);
+    }
+
+    @Benchmark
+    public ResponseEntity<ResponseWrapper> legacyLogging() {
+        Object[] args = {pageRequest};
+        legacyLogger.info("Method: {} \n Arguments : {}", "ProjectController.getProjects(..)", args);
+        ResponseEntity<ResponseWrapper> result = controller.getProjects(pageRequest, request);
+        legacyLogger.info("Method : {} \n Arguments: {}\nResult: {}", "ProjectController.getProjects(..)", args, result.toString());
+        return result;
+    }
+
+    private static Appender<ILoggingEvent> discardingAppender(LoggerContext context) {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d %-5level [%thread] %logger{36} - %msg%n");
+        encoder.start();
+
+        OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>();
+        appender.setContext(context);
+        appender.setEncoder(encoder);
+        appender.setOutputStream(OutputStream.nullOutputStream());
+        appender.start();
+        return appender;
+    }
+
+    private static void route(Logger logger, Appender<ILoggingEvent> appender) {
+        logger.detachAndStopAllAppenders();
+        logger.setAdditive(false);
+        logger.setLevel(Level.INFO);
+        logger.addAppender(appender);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> type, Object answer) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> method.getReturnType() == void.class ? null
+                        : method.getReturnType() == ResourceVersionDTO.class ? new ResourceVersionDTO(0L, null)
+                        : answer);
+    }
+
+    private static ProjectDTO project(String projectCode) {
+        UserDTO manager = new UserDTO(2L, "Ozzy", "Dwayne", "ozzy", "Abc1", "Abc1", true,
+                "5552221111", new RoleDTO(2L, "Manager"), Gender.MALE);
+        return new ProjectDTO(projectCode, projectCode, manager, LocalDate.now(), LocalDate.now(), "detail", Status.OPEN);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(LoggingAspectBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+
+}
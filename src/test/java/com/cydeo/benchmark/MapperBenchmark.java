@@ -0,0 +1,138 @@
+package com.cydeo.benchmark;
+
+import com.cydeo.dto.ProjectDTO;
+import com.cydeo.dto.TaskDTO;
+import com.cydeo.dto.UserDTO;
+import com.cydeo.entity.Project;
+import com.cydeo.entity.Role;
+import com.cydeo.entity.Task;
+import com.cydeo.entity.User;
+import com.cydeo.enums.Gender;
+import com.cydeo.enums.Status;
+import com.cydeo.mapper.ProjectMapper;
+import com.cydeo.mapper.RoleMapper;
+import com.cydeo.mapper.TaskMapper;
+import com.cydeo.mapper.UserMapper;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-conversion cost of the hand-written mappers against the ModelMapper path they replaced.
+ * Run {@link #main} after {@code mvn test-compile}; the GC profiler reports allocation per op
+ * ({@code gc.alloc.rate.norm}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    private ModelMapper modelMapper;
+    private UserMapper userMapper;
+    private ProjectMapper projectMapper;
+    private TaskMapper taskMapper;
+    private User user;
+    private Project project;
+    private Task task;
+    private TaskDTO taskDTO;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new ModelMapper();
+        userMapper = new UserMapper(new RoleMapper());
+        projectMapper = new ProjectMapper(userMapper);
+        taskMapper = new TaskMapper(projectMapper, userMapper);
+
+        Role role = new Role("Manager");
+        role.setId(2L);
+
+        user = new User();
+        user.setId(2L);
+        user.setFirstName("Ozzy");
+        user.setLastName("Smith");
+        user.setUserName("ozzy");
+        user.setPassWord("encoded");
+        user.setEnabled(true);
+        user.setGender(Gender.MALE);
+        user.setRole(role);
+
+        project = new Project();
+        project.setId(1L);
+        project.setProjectCode("SP00");
+        project.setProjectName("Spring Core");
+        project.setProjectStatus(Status.OPEN);
+        project.setStartDate(LocalDate.now());
+        project.setEndDate(LocalDate.now().plusDays(30));
+        project.setAssignedManager(user);
+
+        task = new Task();
+        task.setId(1L);
+        task.setTaskSubject("Subject");
+        task.setTaskDetail("Detail");
+        task.setTaskStatus(Status.OPEN);
+        task.setAssignedDate(LocalDate.now());
+        task.setAssignedEmployee(user);
+        task.setProject(project);
+
+        taskDTO = taskMapper.convertToDto(task);
+    }
+
+    @Benchmark
+    public UserDTO userToDto_modelMapper() {
+        return modelMapper.map(user, UserDTO.class);
+    }
+
+    @Benchmark
+    public UserDTO userToDto_userMapper() {
+        return userMapper.convertToDto(user);
+    }
+
+    @Benchmark
+    public ProjectDTO projectToDto_modelMapper() {
+        return modelMapper.map(project, ProjectDTO.class);
+    }
+
+    @Benchmark
+    public ProjectDTO projectToDto_projectMapper() {
+        return projectMapper.convertToDto(project);
+    }
+
+    @Benchmark
+    public TaskDTO taskToDto_modelMapper() {
+        return modelMapper.map(task, TaskDTO.class);
+    }
+
+    @Benchmark
+    public TaskDTO taskToDto_taskMapper() {
+        return taskMapper.convertToDto(task);
+    }
+
+    @Benchmark
+    public Task dtoToTask_modelMapper() {
+        return modelMapper.map(taskDTO, Task.class);
+    }
+
+    @Benchmark
+    public Task dtoToTask_taskMapper() {
+        return taskMapper.convertToEntity(taskDTO);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(MapperBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+
+}
@@ -0,0 +1,112 @@
+package com.cydeo.benchmark;
+
+import com.cydeo.entity.Project;
+import com.cydeo.entity.Task;
+import com.cydeo.enums.Status;
+import com.cydeo.repository.ProjectRepository;
+import com.cydeo.repository.TaskRepository;
+import com.cydeo.service.ProjectService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Completing and deleting a project with 10k tasks: the bulk UPDATE path against the
+ * per-task load-and-save loop it replaced. Each invocation gets a freshly seeded project.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProjectCompletionBenchmark {
+
+    @Param("10000")
+    public int tasksPerProject;
+
+    private ConfigurableApplicationContext context;
+    private ProjectService projectService;
+    private ProjectRepository projectRepository;
+    private TaskRepository taskRepository;
+    private TransactionTemplate transactionTemplate;
+    private JdbcTemplate jdbcTemplate;
+
+    private int sequence;
+    private String projectCode;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = BenchmarkApplication.start();
+        projectService = context.getBean(ProjectService.class);
+        projectRepository = context.getBean(ProjectRepository.class);
+        taskRepository = context.getBean(TaskRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Setup(Level.Invocation)
+    public void seedProject() {
+        projectCode = "BENCH" + sequence++;
+        jdbcTemplate.update("INSERT INTO projects(id, insert_date_time, insert_user_id, is_deleted, last_update_date_time, last_update_user_id, " +
+                "project_code, project_name, project_detail, project_status, start_date, end_date, manager_id) " +
+                "VALUES (NEXT VALUE FOR projects_id_seq, now(), 2, false, now(), 2, ?, 'Benchmark', 'Benchmark', 'OPEN', now(), now(), 2)", projectCode);
+        Long projectId = jdbcTemplate.queryForObject("SELECT id FROM projects WHERE project_code = ?", Long.class, projectCode);
+
+        List<Object[]> rows = new ArrayList<>(tasksPerProject);
+        for (int i = 0; i < tasksPerProject; i++) {
+            rows.add(new Object[]{"Task " + i, projectId});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO tasks(id, insert_date_time, insert_user_id, is_deleted, last_update_date_time, last_update_user_id, " +
+                "task_subject, task_detail, task_status, assigned_date, assigned_employee_id, project_id) " +
+                "VALUES (NEXT VALUE FOR tasks_id_seq, now(), 2, false, now(), 2, ?, 'detail', 'OPEN', now(), 3, ?)", rows);
+    }
+
+    @Benchmark
+    public void complete_bulkUpdate() {
+        projectService.complete(projectCode);
+    }
+
+    @Benchmark
+    public void delete_bulkUpdate() {
+        projectService.delete(projectCode);
+    }
+
+    // the pre-bulk implementation: load every task and save it one by one
+    @Benchmark
+    public void complete_perTask() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Project project = projectRepository.findByProjectCode(projectCode);
+            project.setProjectStatus(Status.COMPLETE);
+            for (Task task : taskRepository.findAllByProject(project)) {
+                Task found = taskRepository.findById(task.getId()).orElseThrow();
+                found.setTaskStatus(Status.COMPLETE);
+                found.setAssignedDate(LocalDate.now());
+                taskRepository.save(found);
+            }
+        });
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ProjectCompletionBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+
+}
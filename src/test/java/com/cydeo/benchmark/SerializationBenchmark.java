@@ -0,0 +1,133 @@
+package com.cydeo.benchmark;
+
+import com.cydeo.dto.PageDTO;
+import com.cydeo.dto.PageInfoDTO;
+import com.cydeo.dto.ProjectDTO;
+import com.cydeo.dto.ResponseWrapper;
+import com.cydeo.dto.RoleDTO;
+import com.cydeo.dto.TaskDTO;
+import com.cydeo.dto.UserDTO;
+import com.cydeo.enums.Gender;
+import com.cydeo.enums.Status;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Jackson serialization of list responses as the controllers return them: a ResponseWrapper
+ * around task and project lists of growing size, in each format the API negotiates (JSON, Smile,
+ * CBOR) and with or without the gzip step server.compression adds. The ObjectMapper is configured
+ * the way Spring Boot configures it, and output goes to a discarding stream so only serialization
+ * and compression are timed. The payload size of each combination is printed when the trial starts.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int size;
+
+    @Param({"json", "smile", "cbor"})
+    public String format;
+
+    @Param({"false", "true"})
+    public boolean gzip;
+
+    private ObjectMapper objectMapper;
+    private ResponseWrapper tasks;
+    private ResponseWrapper projects;
+
+    @Setup
+    public void setUp() throws IOException {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if (format.equals("smile")) {
+            builder.factory(new SmileFactory());
+        } else if (format.equals("cbor")) {
+            builder.factory(new CBORFactory());
+        }
+        objectMapper = builder.build();
+
+        UserDTO manager = new UserDTO(2L, "Ozzy", "Smith", "ozzy", "Abc1", "Abc1", true,
+                "5552221111", new RoleDTO(2L, "Manager"), Gender.MALE);
+        UserDTO employee = new UserDTO(3L, "Sam", "Jones", "sam", "Abc1", "Abc1", true,
+                "5552223333", new RoleDTO(3L, "Employee"), Gender.MALE);
+
+        List<ProjectDTO> projectList = new ArrayList<>(size);
+        List<TaskDTO> taskList = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ProjectDTO project = new ProjectDTO("Project " + i, "SP" + i, manager, LocalDate.of(2022, 1, 5),
+                    LocalDate.of(2022, 6, 12), "Project detail " + i, Status.IN_PROGRESS);
+            project.setId((long) i);
+            project.setCompleteTaskCounts(i % 7);
+            project.setUnfinishedTaskCounts(i % 5);
+            projectList.add(project);
+
+            taskList.add(new TaskDTO((long) i, project, employee, "Task " + i, "Task detail " + i,
+                    Status.values()[i % 3], LocalDate.of(2022, 1, 5)));
+        }
+
+        tasks = new ResponseWrapper("All Tasks are retrieved successfully.",
+                new PageDTO<>(taskList, new PageInfoDTO(size, true, "cursor", null, null)), HttpStatus.OK);
+        projects = new ResponseWrapper("Projects are retrieved successfully", projectList, HttpStatus.OK);
+
+        System.out.printf("%nsize=%d format=%s gzip=%s: taskPage %d bytes, projectList %d bytes%n",
+                size, format, gzip, payloadSize(tasks), payloadSize(projects));
+    }
+
+    @Benchmark
+    public void taskPage() throws IOException {
+        write(OutputStream.nullOutputStream(), tasks);
+    }
+
+    @Benchmark
+    public void projectList() throws IOException {
+        write(OutputStream.nullOutputStream(), projects);
+    }
+
+    // gzip at Tomcat's default level, as server.compression applies it
+    private void write(OutputStream out, ResponseWrapper response) throws IOException {
+        if (gzip) {
+            try (GZIPOutputStream compressed = new GZIPOutputStream(out, 8192)) {
+                objectMapper.writeValue(compressed, response);
+            }
+        } else {
+            objectMapper.writeValue(out, response);
+        }
+    }
+
+    private long payloadSize(ResponseWrapper response) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        write(out, response);
+        return out.size();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(SerializationBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+
+}
@@ -0,0 +1,128 @@
+package com.cydeo.benchmark;
+
+import com.cydeo.dto.PageDTO;
+import com.cydeo.dto.PageRequestDTO;
+import com.cydeo.dto.ProjectDTO;
+import com.cydeo.dto.ProjectTaskCountDTO;
+import com.cydeo.dto.TaskDTO;
+import com.cydeo.enums.Status;
+import com.cydeo.service.ProjectService;
+import com.cydeo.service.TaskService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.persistence.EntityManagerFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hot ProjectServiceImpl and TaskServiceImpl reads on the full application context, backed by
+ * H2 and seeded from data.sql plus benchmark/fixtures.sql (200 projects, 10k tasks). The
+ * manager benchmarks run as ozzy, the employee benchmark as sam, each call inside its own
+ * request-scoped EntityManager.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmark {
+
+    private static final String FIXTURES = "--spring.sql.init.data-locations=classpath:data.sql,classpath:benchmark/fixtures.sql";
+
+    @State(Scope.Benchmark)
+    public static class ManagerSession {
+
+        ConfigurableApplicationContext context;
+        EntityManagerFactory entityManagerFactory;
+        ProjectService projectService;
+        TaskService taskService;
+
+        @Setup(Level.Trial)
+        public void start() {
+            context = BenchmarkApplication.start(FIXTURES);
+            entityManagerFactory = context.getBean(EntityManagerFactory.class);
+            projectService = context.getBean(ProjectService.class);
+            taskService = context.getBean(TaskService.class);
+            BenchmarkApplication.signIn("ozzy", "Manager");
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            context.close();
+        }
+
+    }
+
+    @State(Scope.Benchmark)
+    public static class EmployeeSession {
+
+        ConfigurableApplicationContext context;
+        EntityManagerFactory entityManagerFactory;
+        TaskService taskService;
+
+        @Setup(Level.Trial)
+        public void start() {
+            context = BenchmarkApplication.start(FIXTURES);
+            entityManagerFactory = context.getBean(EntityManagerFactory.class);
+            taskService = context.getBean(TaskService.class);
+            BenchmarkApplication.signIn("sam", "Employee");
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            context.close();
+        }
+
+    }
+
+    @Benchmark
+    public List<ProjectDTO> listAllProjectDetails(ManagerSession session) {
+        return BenchmarkApplication.inRequest(session.entityManagerFactory,
+                () -> session.projectService.listAllProjectDetails());
+    }
+
+    @Benchmark
+    public PageDTO<ProjectDTO> listAllProjectDetails_page(ManagerSession session) {
+        return BenchmarkApplication.inRequest(session.entityManagerFactory,
+                () -> session.projectService.listAllProjectDetails(new PageRequestDTO(50, null, null, false)));
+    }
+
+    @Benchmark
+    public ProjectDTO getByProjectCode(ManagerSession session) {
+        return BenchmarkApplication.inRequest(session.entityManagerFactory,
+                () -> session.projectService.getByProjectCode("BM0100"));
+    }
+
+    @Benchmark
+    public Map<Long, ProjectTaskCountDTO> totalTaskCountsByAssignedManager(ManagerSession session) {
+        return BenchmarkApplication.inRequest(session.entityManagerFactory,
+                () -> session.taskService.totalTaskCountsByAssignedManager(2L));
+    }
+
+    @Benchmark
+    public PageDTO<TaskDTO> listAllTasks_page(ManagerSession session) {
+        return BenchmarkApplication.inRequest(session.entityManagerFactory,
+                () -> session.taskService.listAllTasks(new PageRequestDTO(100, null, null, false)));
+    }
+
+    @Benchmark
+    public List<TaskDTO> listAllTasksByStatusIsNot(EmployeeSession session) {
+        return BenchmarkApplication.inRequest(session.entityManagerFactory,
+                () -> session.taskService.listAllTasksByStatusIsNot(Status.COMPLETE));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ServiceBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+
+}
@@ -0,0 +1,101 @@
+package com.cydeo.benchmark;
+
+import com.cydeo.dto.UserDTO;
+import com.cydeo.service.UserService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * UserServiceImpl.update throughput with every core busy, once with a new password on each call and once
+ * without one, across password-hashing.threads. Each benchmark thread updates a user of its own. To see the
+ * same run on fewer cores, limit the forked JVM:
+ * {@code mvn -Pbenchmark test -Djmh.args="UserUpdateBenchmark -jvmArgsAppend -XX:ActiveProcessorCount=2"}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(Threads.MAX)
+public class UserUpdateBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Application {
+
+        @Param({"1", "2", "4", "8"})
+        public int hashingThreads;
+
+        ConfigurableApplicationContext context;
+        EntityManagerFactory entityManagerFactory;
+        UserService userService;
+        JdbcTemplate jdbcTemplate;
+        final AtomicInteger users = new AtomicInteger();
+
+        @Setup(Level.Trial)
+        public void start() {
+            // a queue long enough that no update is turned away, this measures throughput only
+            context = BenchmarkApplication.start("--password-hashing.threads=" + hashingThreads, "--password-hashing.queue-size=1024");
+            entityManagerFactory = context.getBean(EntityManagerFactory.class);
+            userService = context.getBean(UserService.class);
+            jdbcTemplate = context.getBean(JdbcTemplate.class);
+            BenchmarkApplication.signIn("mike", "Admin");
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            context.close();
+        }
+
+    }
+
+    @State(Scope.Thread)
+    public static class Session {
+
+        @Param({"true", "false"})
+        public boolean passwordChanged;
+
+        UserDTO user;
+        int passwords;
+
+        @Setup(Level.Trial)
+        public void createUser(Application application) {
+            int number = application.users.incrementAndGet();
+            String userName = "bench-" + number + "@cydeo.com";
+            application.jdbcTemplate.update("INSERT INTO users(id, insert_date_time, insert_user_id, is_deleted, last_update_date_time, " +
+                    "last_update_user_id, enabled, first_name, last_name, user_name, pass_word, gender, phone, role_id) " +
+                    "VALUES (?, now(), 1, false, now(), 1, true, 'Bench', 'User', ?, ?, 'MALE', '0000000000', 3)",
+                    100_000 + number, userName, application.context.getBean(BCryptPasswordEncoder.class).encode("Abc1"));
+            user = BenchmarkApplication.inRequest(application.entityManagerFactory,
+                    () -> application.userService.findByUserName(userName));
+        }
+
+    }
+
+    // without a new password the DTO carries the stored hash, as one read through findByUserName does
+    @Benchmark
+    public UserDTO update(Application application, Session session) {
+        if (session.passwordChanged) {
+            session.user.setPassWord("Abc" + ++session.passwords);
+        }
+        return BenchmarkApplication.inRequest(application.entityManagerFactory,
+                () -> application.userService.update(session.user));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(UserUpdateBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+
+}
@@ -0,0 +1,82 @@
+package com.cydeo.loadtest;
+
+import com.cydeo.service.ExportService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+// The exports on a real Tomcat, with the default async timeout cut down to 1s and an export that
+// takes 3s. Its own databases, as a second context on the loadtest ones would seed them twice.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:export-timeout;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "spring.r2dbc.url=r2dbc:h2:mem:///export-timeout;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "spring.sql.init.data-locations=classpath:data.sql",
+        "spring.mvc.async.request-timeout=1s",
+        "export.request-timeout-ms=30000"
+})
+@ActiveProfiles("loadtest")
+class ExportTimeoutTest {
+
+    private static final LocalTokenIssuer ISSUER = new LocalTokenIssuer();
+    private static final int LINES = 3;
+
+    @DynamicPropertySource
+    static void trustLocalIssuer(DynamicPropertyRegistry registry) {
+        registry.add("keycloak.auth-server-url", ISSUER::authServerUrl);
+    }
+
+    @AfterAll
+    static void stopIssuer() {
+        ISSUER.close();
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @MockBean
+    private ExportService exportService;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @Test
+    void exportsStreamPastTheDefaultAsyncTimeout() throws Exception {
+        when(exportService.exportTasks(any(), any())).thenAnswer(invocation -> slowExport(invocation.getArgument(1)));
+        when(exportService.exportProjects(any(), any(), any())).thenAnswer(invocation -> slowExport(invocation.getArgument(2)));
+
+        for (String path : new String[]{"/api/v1/task/export", "/api/v1/project/export"}) {
+            HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                    .header("Authorization", "Bearer " + ISSUER.issue("ozzy", "Manager"))
+                    .GET()
+                    .build(), HttpResponse.BodyHandlers.ofString());
+
+            assertThat(response.statusCode()).as(path).isEqualTo(200);
+            assertThat(response.body()).as(path).endsWith("{\"line\":" + (LINES - 1) + "}\n");
+        }
+    }
+
+    private static long slowExport(OutputStream outputStream) throws Exception {
+        for (int i = 0; i < LINES; i++) {
+            outputStream.write(("{\"line\":" + i + "}\n").getBytes(StandardCharsets.UTF_8));
+            outputStream.flush();
+            Thread.sleep(1000);
+        }
+        return LINES;
+    }
+
+}
@@ -0,0 +1,271 @@
+package com.cydeo.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop load driver for the REST API. Each worker thread repeatedly picks an operation by
+ * weight, sends it and records the latency. Requests sent during the warmup are not recorded.
+ * Run {@link #main} (or {@code mvn -Ploadtest test -Dloadtest.args="threads=16 duration=120"})
+ * to boot the application with the offline profile and print a per-endpoint report.
+ *
+ * <p>{@code virtual=true} serves the requests on virtual threads (Java 21, see VirtualThreadConfig)
+ * and adds a {@link PinningRecorder} report. Comparing the two modes at high concurrency, e.g.
+ * {@code threads=400} against Tomcat's 200 platform threads, takes one run of each.
+ *
+ * <p>The task operations use ids from benchmark/fixtures.sql: reads pick from 1-8000 and each
+ * delete consumes the next id from 8001-10000. TaskDTO.id is not serialized, so created tasks
+ * cannot be addressed afterwards and there is no update operation.
+ */
+public class LoadDriver {
+
+    private static final long LAST_READABLE_TASK_ID = 8000;
+    private static final long LAST_DELETABLE_TASK_ID = 10000;
+
+    // ProjectDTO.id is not deserialized either, so a task cannot be attached to a project over the API
+    private static final String NEW_TASK = "{\"assignedEmployee\":{\"id\":3,\"userName\":\"sam\"}," +
+            "\"taskSubject\":\"Load test\",\"taskDetail\":\"Created by the load driver\"}";
+
+    public enum Operation {
+
+        EMPLOYEE_PENDING_TASKS("GET /api/v1/task/employee/pending-tasks", 40),
+        MANAGER_PROJECT_LIST("GET /api/v1/project", 30),
+        TASK_READ("GET /api/v1/task/{id}", 15),
+        TASK_CREATE("POST /api/v1/task", 10),
+        TASK_DELETE("DELETE /api/v1/task/{id}", 5);
+
+        private final String endpoint;
+        private final int defaultWeight;
+
+        Operation(String endpoint, int defaultWeight) {
+            this.endpoint = endpoint;
+            this.defaultWeight = defaultWeight;
+        }
+
+        public String getEndpoint() {
+            return endpoint;
+        }
+
+    }
+
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final String managerToken;
+    private final String employeeToken;
+    private final Map<Operation, Integer> weights;
+    private final int totalWeight;
+    private final AtomicLong nextDeletableTaskId = new AtomicLong(LAST_READABLE_TASK_ID + 1);
+
+    public LoadDriver(String baseUrl, LocalTokenIssuer issuer, Map<Operation, Integer> weights) {
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.baseUrl = baseUrl;
+        this.managerToken = "Bearer " + issuer.issue("ozzy", "Manager");
+        this.employeeToken = "Bearer " + issuer.issue("sam", "Employee");
+        this.weights = weights;
+        this.totalWeight = weights.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    public static Map<Operation, Integer> defaultWeights() {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            weights.put(operation, operation.defaultWeight);
+        }
+        return weights;
+    }
+
+    public LoadReport run(int threads, Duration warmup, Duration duration) throws InterruptedException {
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<Worker>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(executor.submit(() -> new Worker().runUntil(measureFrom, end)));
+        }
+        executor.shutdown();
+
+        Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+        Map<Operation, Long> errors = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, new Histogram(3));
+            errors.put(operation, 0L);
+        }
+
+        for (Future<Worker> future : futures) {
+            Worker worker;
+            try {
+                worker = future.get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Load worker failed", e.getCause());
+            }
+            for (Operation operation : Operation.values()) {
+                latencies.get(operation).add(worker.latencies.get(operation));
+                errors.merge(operation, worker.errors.get(operation), Long::sum);
+            }
+        }
+        return new LoadReport(duration, latencies, errors);
+    }
+
+    // each worker records into its own histograms, they are merged once the run is over
+    private class Worker {
+
+        private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+        private final Map<Operation, Long> errors = new EnumMap<>(Operation.class);
+
+        Worker() {
+            for (Operation operation : Operation.values()) {
+                latencies.put(operation, new Histogram(3));
+                errors.put(operation, 0L);
+            }
+        }
+
+        Worker runUntil(long measureFrom, long end) {
+            long now;
+            while ((now = System.nanoTime()) < end) {
+                Operation operation = pick();
+                HttpRequest request = request(operation);
+
+                boolean failed;
+                try {
+                    HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                    failed = response.statusCode() >= 400;
+                } catch (IOException e) {
+                    failed = true;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+
+                if (now >= measureFrom) {
+                    latencies.get(operation).recordValue(System.nanoTime() - now);
+                    if (failed) {
+                        errors.merge(operation, 1L, Long::sum);
+                    }
+                }
+            }
+            return this;
+        }
+
+        private Operation pick() {
+            int ticket = ThreadLocalRandom.current().nextInt(totalWeight);
+            for (Map.Entry<Operation, Integer> weight : weights.entrySet()) {
+                ticket -= weight.getValue();
+                if (ticket < 0) {
+                    return weight.getKey();
+                }
+            }
+            throw new IllegalStateException("No operation picked");
+        }
+
+    }
+
+    private HttpRequest request(Operation operation) {
+        switch (operation) {
+            case EMPLOYEE_PENDING_TASKS:
+                return get("/api/v1/task/employee/pending-tasks", employeeToken);
+            case MANAGER_PROJECT_LIST:
+                return get("/api/v1/project?limit=50", managerToken);
+            case TASK_CREATE:
+                return builder("/api/v1/task", managerToken)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(NEW_TASK))
+                        .build();
+            case TASK_DELETE:
+                long id = nextDeletableTaskId.getAndIncrement();
+                if (id <= LAST_DELETABLE_TASK_ID) {
+                    return builder("/api/v1/task/" + id, managerToken).DELETE().build();
+                }
+                // deletable range used up, keep the request rate by reading instead
+                return get("/api/v1/task/" + randomReadableTaskId(), managerToken);
+            case TASK_READ:
+            default:
+                return get("/api/v1/task/" + randomReadableTaskId(), managerToken);
+        }
+    }
+
+    private static long randomReadableTaskId() {
+        return ThreadLocalRandom.current().nextLong(1, LAST_READABLE_TASK_ID + 1);
+    }
+
+    private HttpRequest get(String path, String token) {
+        return builder(path, token).GET().build();
+    }
+
+    private HttpRequest.Builder builder(String path, String token) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", token);
+    }
+
+    // threads=8 warmup=10 duration=60 virtual=false mix=EMPLOYEE_PENDING_TASKS:40,MANAGER_PROJECT_LIST:30,... (a leading -- is optional)
+    public static void main(String[] args) throws InterruptedException, IOException {
+        int threads = 8;
+        Duration warmup = Duration.ofSeconds(10);
+        Duration duration = Duration.ofSeconds(60);
+        Map<Operation, Integer> weights = defaultWeights();
+        boolean virtual = false;
+
+        for (String arg : args) {
+            String[] option = arg.replaceFirst("^--", "").split("=", 2);
+            switch (option[0]) {
+                case "threads":
+                    threads = Integer.parseInt(option[1]);
+                    break;
+                case "warmup":
+                    warmup = Duration.ofSeconds(Long.parseLong(option[1]));
+                    break;
+                case "duration":
+                    duration = Duration.ofSeconds(Long.parseLong(option[1]));
+                    break;
+                case "virtual":
+                    virtual = Boolean.parseBoolean(option[1]);
+                    break;
+                case "mix":
+                    weights = new EnumMap<>(Operation.class);
+                    for (String entry : option[1].split(",")) {
+                        String[] weight = entry.split(":");
+                        weights.put(Operation.valueOf(weight[0]), Integer.parseInt(weight[1]));
+                    }
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option " + arg);
+            }
+        }
+
+        try (LocalTokenIssuer issuer = new LocalTokenIssuer();
+             ConfigurableApplicationContext context = LoadTestApplication.start(issuer, "--spring.threads.virtual.enabled=" + virtual)) {
+            LoadDriver driver = new LoadDriver(LoadTestApplication.baseUrl(context), issuer, weights);
+            System.out.printf("Running %d threads for %ds after %ds warmup, requests on %s threads%n",
+                    threads, duration.getSeconds(), warmup.getSeconds(), virtual ? "virtual" : "platform");
+            if (!virtual) {
+                driver.run(threads, warmup, duration).print(System.out);
+                return;
+            }
+            try (PinningRecorder pinning = new PinningRecorder()) {
+                driver.run(threads, warmup, duration).print(System.out);
+                pinning.print(System.out);
+            }
+        }
+    }
+
+}
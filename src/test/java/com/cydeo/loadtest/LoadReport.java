@@ -0,0 +1,63 @@
+package com.cydeo.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Results of one LoadDriver run, per operation. Latencies are recorded in nanoseconds and printed in milliseconds.
+public class LoadReport {
+
+    private final Duration duration;
+    private final Map<LoadDriver.Operation, Histogram> latencies;
+    private final Map<LoadDriver.Operation, Long> errors;
+
+    LoadReport(Duration duration, Map<LoadDriver.Operation, Histogram> latencies, Map<LoadDriver.Operation, Long> errors) {
+        this.duration = duration;
+        this.latencies = latencies;
+        this.errors = errors;
+    }
+
+    public long requests(LoadDriver.Operation operation) {
+        return latencies.get(operation).getTotalCount();
+    }
+
+    public long errors(LoadDriver.Operation operation) {
+        return errors.get(operation);
+    }
+
+    public double throughput(LoadDriver.Operation operation) {
+        return requests(operation) / (duration.toMillis() / 1000.0);
+    }
+
+    public double percentileMillis(LoadDriver.Operation operation, double percentile) {
+        return toMillis(latencies.get(operation).getValueAtPercentile(percentile));
+    }
+
+    public void print(PrintStream out) {
+        String format = "%-42s %9s %7s %9s %9s %9s %9s %9s %9s%n";
+        out.printf(format, "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+
+        long totalRequests = 0;
+        for (LoadDriver.Operation operation : LoadDriver.Operation.values()) {
+            Histogram histogram = latencies.get(operation);
+            totalRequests += histogram.getTotalCount();
+            out.printf(format, operation.getEndpoint(), histogram.getTotalCount(), errors.get(operation),
+                    String.format("%.1f", throughput(operation)),
+                    String.format("%.2f", percentileMillis(operation, 50)),
+                    String.format("%.2f", percentileMillis(operation, 90)),
+                    String.format("%.2f", percentileMillis(operation, 99)),
+                    String.format("%.2f", percentileMillis(operation, 99.9)),
+                    String.format("%.2f", toMillis(histogram.getMaxValue())));
+        }
+        out.printf("total: %d requests in %ds, %.1f req/s%n", totalRequests, duration.getSeconds(),
+                totalRequests / (duration.toMillis() / 1000.0));
+    }
+
+    private static double toMillis(double nanos) {
+        return nanos / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+}
@@ -0,0 +1,32 @@
+package com.cydeo.loadtest;
+
+import com.cydeo.TicketingProjectRestApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Arrays;
+
+// Boots the application on a random port with the offline "loadtest" profile, trusting the given issuer.
+public final class LoadTestApplication {
+
+    private LoadTestApplication() {
+    }
+
+    public static ConfigurableApplicationContext start(LocalTokenIssuer issuer, String... arguments) {
+        // devtools only reads this as a system property, otherwise it relaunches the caller's main method
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        String[] issuerArguments = issuer.arguments();
+        String[] allArguments = Arrays.copyOf(issuerArguments, issuerArguments.length + arguments.length);
+        System.arraycopy(arguments, 0, allArguments, issuerArguments.length, arguments.length);
+        return new SpringApplicationBuilder(TicketingProjectRestApplication.class)
+                .profiles("loadtest")
+                .run(allArguments);
+    }
+
+    public static String baseUrl(ConfigurableApplicationContext context) {
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        return "http://localhost:" + port;
+    }
+
+}
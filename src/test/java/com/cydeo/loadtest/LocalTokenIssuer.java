@@ -0,0 +1,135 @@
+package com.cydeo.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.keycloak.jose.jws.JWSBuilder;
+import org.keycloak.representations.AccessToken;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Stands in for Keycloak when testing offline. It serves the realm's OpenID discovery document
+ * and JWKS from a local HTTP server on a random port, and signs RS256 access tokens with a key
+ * pair generated per instance. The tokens use the claims, audience and client roles that the
+ * keycloak.* settings in application.properties expect. Start the application with
+ * {@link #authServerUrl()} as keycloak.auth-server-url (see {@link #arguments()}).
+ */
+public class LocalTokenIssuer implements AutoCloseable {
+
+    // must match keycloak.realm and keycloak.resource
+    public static final String REALM = "cydeo-dev";
+    public static final String CLIENT_ID = "ticketing-app";
+
+    private static final String KEY_ID = "local";
+    private static final int TOKEN_LIFESPAN_SECONDS = 3600;
+
+    private final KeyPair keyPair;
+    private final HttpServer server;
+
+    public LocalTokenIssuer() {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            keyPair = generator.generateKeyPair();
+
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("RSA is not available", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        server.createContext("/auth/realms/" + REALM + "/.well-known/openid-configuration",
+                exchange -> respond(exchange, discoveryDocument()));
+        server.createContext("/auth/realms/" + REALM + "/protocol/openid-connect/certs",
+                exchange -> respond(exchange, jwks()));
+        server.start();
+    }
+
+    public String authServerUrl() {
+        return "http://localhost:" + server.getAddress().getPort() + "/auth";
+    }
+
+    public String realmUrl() {
+        return authServerUrl() + "/realms/" + REALM;
+    }
+
+    public String[] arguments() {
+        return new String[]{"--keycloak.auth-server-url=" + authServerUrl()};
+    }
+
+    // userName must exist in the database, role is one of Admin, Manager or Employee
+    public String issue(String userName, String role) {
+        AccessToken token = new AccessToken();
+        token.id(UUID.randomUUID().toString());
+        token.type("Bearer");
+        token.issuer(realmUrl());
+        token.subject(userName + "-subject");
+        token.issuedFor(CLIENT_ID);
+        token.audience(CLIENT_ID);
+        token.issuedNow();
+        token.exp(token.getIat() + TOKEN_LIFESPAN_SECONDS);
+        token.setPreferredUsername(userName);
+        token.addAccess(CLIENT_ID).addRole(role);
+
+        return new JWSBuilder()
+                .type("JWT")
+                .kid(KEY_ID)
+                .jsonContent(token)
+                .rsa256(keyPair.getPrivate());
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private String discoveryDocument() {
+        String endpoints = realmUrl() + "/protocol/openid-connect";
+        return "{\"issuer\":\"" + realmUrl() + "\"," +
+                "\"authorization_endpoint\":\"" + endpoints + "/auth\"," +
+                "\"token_endpoint\":\"" + endpoints + "/token\"," +
+                "\"end_session_endpoint\":\"" + endpoints + "/logout\"," +
+                "\"jwks_uri\":\"" + endpoints + "/certs\"}";
+    }
+
+    private String jwks() {
+        RSAPublicKey publicKey = (RSAPublicKey) keyPair.getPublic();
+        return "{\"keys\":[{\"kid\":\"" + KEY_ID + "\",\"kty\":\"RSA\",\"alg\":\"RS256\",\"use\":\"sig\"," +
+                "\"n\":\"" + base64Url(publicKey.getModulus()) + "\"," +
+                "\"e\":\"" + base64Url(publicKey.getPublicExponent()) + "\"}]}";
+    }
+
+    private static String base64Url(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        // drop the sign byte BigInteger adds in front of a leading 1 bit
+        if (bytes.length > 1 && bytes[0] == 0) {
+            byte[] unsigned = new byte[bytes.length - 1];
+            System.arraycopy(bytes, 1, unsigned, 0, unsigned.length);
+            bytes = unsigned;
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static void respond(HttpExchange exchange, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+}
@@ -0,0 +1,323 @@
+package com.cydeo.loadtest;
+
+import com.cydeo.entity.Project;
+import com.cydeo.entity.Task;
+import com.cydeo.enums.Status;
+import com.cydeo.repository.ProjectRepository;
+import com.cydeo.repository.TaskRepository;
+import com.cydeo.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.zip.GZIPInputStream;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("loadtest")
+class OfflineApiTest {
+
+    private static final LocalTokenIssuer ISSUER = new LocalTokenIssuer();
+
+    @DynamicPropertySource
+    static void trustLocalIssuer(DynamicPropertyRegistry registry) {
+        registry.add("keycloak.auth-server-url", ISSUER::authServerUrl);
+    }
+
+    @AfterAll
+    static void stopIssuer() {
+        ISSUER.close();
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private ProjectRepository projectRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @Test
+    void locallyIssuedTokensAreAccepted() throws Exception {
+        assertThat(get("/api/v1/project", ISSUER.issue("ozzy", "Manager"))).isEqualTo(200);
+        assertThat(get("/api/v1/task/employee/pending-tasks", ISSUER.issue("sam", "Employee"))).isEqualTo(200);
+        assertThat(get("/api/v1/user", ISSUER.issue("mike", "Admin"))).isEqualTo(200);
+    }
+
+    @Test
+    void rolesFromTheTokenAreEnforced() throws Exception {
+        assertThat(get("/api/v1/project", ISSUER.issue("sam", "Employee"))).isEqualTo(403);
+    }
+
+    @Test
+    void tokensFromAnotherIssuerAreRejected() throws Exception {
+        try (LocalTokenIssuer otherIssuer = new LocalTokenIssuer()) {
+            assertThat(get("/api/v1/project", otherIssuer.issue("ozzy", "Manager"))).isEqualTo(401);
+        }
+    }
+
+    @Test
+    void unchangedListingsAreNotSentAgain() throws Exception {
+        assertNotModifiedOnRepeat("/api/v1/project", ISSUER.issue("ozzy", "Manager"));
+        assertNotModifiedOnRepeat("/api/v1/task/employee/pending-tasks", ISSUER.issue("sam", "Employee"));
+        assertNotModifiedOnRepeat("/api/v1/user", ISSUER.issue("mike", "Admin"));
+    }
+
+    @Test
+    void aChangedTaskChangesTheEmployeeAndManagerListings() throws Exception {
+        String employee = ISSUER.issue("sam", "Employee");
+        String manager = ISSUER.issue("ozzy", "Manager");
+        String employeeTag = send("/api/v1/task/employee/pending-tasks", employee, null).headers().firstValue("ETag").orElseThrow();
+        String managerTag = send("/api/v1/project", manager, null).headers().firstValue("ETag").orElseThrow();
+
+        // sam (id 3) is assigned tasks of ozzy's projects by the fixtures
+        transactionTemplate.executeWithoutResult(status -> {
+            Task task = taskRepository.findAllByTaskStatusIsNotAndAssignedEmployeeId(Status.COMPLETE, 3L).get(0);
+            task.setTaskDetail(task.getTaskDetail() + " (edited)");
+        });
+
+        HttpResponse<String> employeeResponse = send("/api/v1/task/employee/pending-tasks", employee, employeeTag);
+        assertThat(employeeResponse.statusCode()).isEqualTo(200);
+        assertThat(employeeResponse.body()).contains("(edited)");
+        assertThat(employeeResponse.headers().firstValue("ETag")).isPresent().get().isNotEqualTo(employeeTag);
+        assertThat(send("/api/v1/project", manager, managerTag).statusCode()).isEqualTo(200);
+    }
+
+    @Test
+    void aTaskWithoutAProjectChangesTheEmployeeListing() throws Exception {
+        String employee = ISSUER.issue("sam", "Employee");
+        String employeeTag = send("/api/v1/task/employee/pending-tasks", employee, null).headers().firstValue("ETag").orElseThrow();
+
+        Task task = new Task();
+        task.setTaskSubject("No project");
+        task.setTaskDetail("Not filed under a project yet");
+        task.setTaskStatus(Status.OPEN);
+        task.setAssignedDate(LocalDate.now());
+        task.setAssignedEmployee(userRepository.findByUserNameAndIsDeleted("sam", false));
+        taskRepository.save(task);
+        try {
+            HttpResponse<String> response = send("/api/v1/task/employee/pending-tasks", employee, employeeTag);
+            assertThat(response.statusCode()).isEqualTo(200);
+            assertThat(response.body()).contains("No project");
+        } finally {
+            taskRepository.delete(task);
+        }
+    }
+
+    @Test
+    void aDeletedTaskIsNotHiddenBehindIfModifiedSince() throws Exception {
+        String employee = ISSUER.issue("sam", "Employee");
+        ObjectMapper mapper = new ObjectMapper();
+        int before = mapper.readTree(send("/api/v1/task/employee/pending-tasks", employee, null).body()).get("data").size();
+        Long taskId = taskRepository.findAllByTaskStatusIsNotAndAssignedEmployeeId(Status.COMPLETE, 3L).get(0).getId();
+
+        HttpRequest delete = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/task/" + taskId))
+                .header("Authorization", "Bearer " + ISSUER.issue("ozzy", "Manager"))
+                .DELETE()
+                .build();
+        assertThat(httpClient.send(delete, HttpResponse.BodyHandlers.discarding()).statusCode()).isEqualTo(200);
+
+        // later than every write so far, so only a date check could answer 304 here
+        HttpResponse<String> response = httpClient.send(request("/api/v1/task/employee/pending-tasks", employee)
+                .header("If-Modified-Since", DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC).plusMinutes(1)))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(mapper.readTree(response.body()).get("data").size()).isEqualTo(before - 1);
+    }
+
+    @Test
+    void listingVersionsAreNotSharedBetweenUsers() throws Exception {
+        String tag = send("/api/v1/project", ISSUER.issue("ozzy", "Manager"), null).headers().firstValue("ETag").orElseThrow();
+
+        assertThat(send("/api/v1/project", ISSUER.issue("mike", "Admin"), tag).statusCode()).isEqualTo(200);
+    }
+
+    @Test
+    void listingsAreGzippedWhenTheClientAcceptsIt() throws Exception {
+        HttpResponse<byte[]> response = httpClient.send(request("/api/v1/task/employee/pending-tasks", ISSUER.issue("sam", "Employee"))
+                .header("Accept-Encoding", "gzip")
+                .build(), HttpResponse.BodyHandlers.ofByteArray());
+
+        assertThat(response.headers().firstValue("Content-Encoding")).hasValue("gzip");
+        JsonNode body = new ObjectMapper().readTree(new GZIPInputStream(new ByteArrayInputStream(response.body())));
+        assertThat(body.get("success").asBoolean()).isTrue();
+        assertThat(body.get("data").size()).isPositive();
+    }
+
+    @Test
+    void listingsAreSentAsSmileOrCborOnRequest() throws Exception {
+        String token = ISSUER.issue("ozzy", "Manager");
+        JsonNode json = new ObjectMapper().readTree(send("/api/v1/project?limit=5", token, null).body());
+
+        for (ObjectMapper binary : new ObjectMapper[]{new ObjectMapper(new SmileFactory()), new ObjectMapper(new CBORFactory())}) {
+            String mediaType = binary.getFactory() instanceof SmileFactory ? "application/x-jackson-smile" : "application/cbor";
+            HttpResponse<byte[]> response = httpClient.send(request("/api/v1/project?limit=5", token)
+                    .header("Accept", mediaType)
+                    .build(), HttpResponse.BodyHandlers.ofByteArray());
+
+            assertThat(response.statusCode()).as(mediaType).isEqualTo(200);
+            assertThat(response.headers().firstValue("Content-Type")).as(mediaType).hasValue(mediaType);
+            // the same ResponseWrapper, dates included
+            assertThat(binary.readTree(response.body())).as(mediaType).isEqualTo(json);
+        }
+    }
+
+    @Test
+    void employeeTaskStreamsMatchTheListings() throws Exception {
+        String token = ISSUER.issue("sam", "Employee");
+        ObjectMapper mapper = new ObjectMapper();
+
+        for (String path : new String[]{"/api/v1/task/employee/pending-tasks", "/api/v1/task/employee/archive"}) {
+            JsonNode listing = mapper.readTree(send(path, token, null).body()).get("data");
+
+            HttpResponse<String> stream = send(path + "/stream", token, null);
+            assertThat(stream.statusCode()).as(path).isEqualTo(200);
+            assertThat(stream.headers().firstValue("Content-Type")).as(path).hasValue("application/x-ndjson");
+            ArrayNode lines = mapper.createArrayNode();
+            for (String line : stream.body().split("\n")) {
+                if (!line.isBlank()) {
+                    lines.add(mapper.readTree(line));
+                }
+            }
+            assertThat(lines).as(path).isEqualTo(listing);
+        }
+
+        assertThat(get("/api/v1/task/employee/pending-tasks/stream", ISSUER.issue("ozzy", "Manager"))).isEqualTo(403);
+    }
+
+    @Test
+    void projectExportsCoverTheManagersOrEveryProject() throws Exception {
+        // the fixtures give every project to ozzy, so one goes to mike (id 1)
+        transactionTemplate.executeWithoutResult(status -> {
+            Project project = new Project();
+            project.setProjectCode("EXPORT-MIKE");
+            project.setProjectName("Export");
+            project.setProjectStatus(Status.OPEN);
+            project.setAssignedManager(userRepository.getReferenceById(1L));
+            projectRepository.save(project);
+        });
+        ObjectMapper mapper = new ObjectMapper();
+        String[] manager = send("/api/v1/project/export", ISSUER.issue("ozzy", "Manager"), null).body().split("\n");
+        String[] admin = send("/api/v1/project/export", ISSUER.issue("mike", "Admin"), null).body().split("\n");
+
+        for (String line : manager) {
+            assertThat(mapper.readTree(line).get("assignedManager").get("userName").asText()).isEqualTo("ozzy");
+        }
+        assertThat(manager.length).isGreaterThanOrEqualTo(201);
+        assertThat((long) admin.length).isEqualTo(projectRepository.count());
+        assertThat(admin[admin.length - 1]).contains("EXPORT-MIKE");
+    }
+
+    @Test
+    void dashboardsCoverTheManagersOrEveryProject() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        JsonNode manager = mapper.readTree(send("/api/v1/dashboard", ISSUER.issue("ozzy", "Manager"), null).body()).get("data");
+        JsonNode admin = mapper.readTree(send("/api/v1/dashboard", ISSUER.issue("mike", "Admin"), null).body()).get("data");
+
+        // 200 fixture projects and SP00 belong to ozzy
+        assertThat(sum(manager.get("projectsByStatus"))).isGreaterThanOrEqualTo(201).isLessThanOrEqualTo(sum(admin.get("projectsByStatus")));
+        assertThat(sum(admin.get("projectsByStatus"))).isEqualTo(projectRepository.count());
+        for (JsonNode dashboard : new JsonNode[]{manager, admin}) {
+            assertThat(dashboard.get("tasksByStatus").size()).isEqualTo(Status.values().length);
+            assertThat(dashboard.get("busiestProjects").size()).isPositive().isLessThanOrEqualTo(10);
+            assertThat(dashboard.get("busiestProjects").get(0).get("tasksByStatus").size()).isEqualTo(Status.values().length);
+            assertThat(dashboard.get("busiestEmployees").size()).isPositive().isLessThanOrEqualTo(10);
+        }
+        assertThat(admin.get("usersByRole").has("Employee")).isTrue();
+
+        assertThat(get("/api/v1/dashboard", ISSUER.issue("sam", "Employee"))).isEqualTo(403);
+    }
+
+    @Test
+    void loadDriverRunsEveryOperationWithoutErrors() throws InterruptedException {
+        // equal weights so the short run reaches every operation
+        Map<LoadDriver.Operation, Integer> weights = new EnumMap<>(LoadDriver.Operation.class);
+        for (LoadDriver.Operation operation : LoadDriver.Operation.values()) {
+            weights.put(operation, 1);
+        }
+        LoadDriver driver = new LoadDriver("http://localhost:" + port, ISSUER, weights);
+
+        LoadReport report = driver.run(2, Duration.ofSeconds(1), Duration.ofSeconds(5));
+
+        for (LoadDriver.Operation operation : LoadDriver.Operation.values()) {
+            assertThat(report.requests(operation)).as(operation.name()).isPositive();
+            assertThat(report.errors(operation)).as(operation.name()).isZero();
+        }
+    }
+
+    private static long sum(JsonNode counts) {
+        long sum = 0;
+        for (JsonNode count : counts) {
+            sum += count.asLong();
+        }
+        return sum;
+    }
+
+    private void assertNotModifiedOnRepeat(String path, String token) throws IOException, InterruptedException {
+        HttpResponse<String> first = send(path, token, null);
+        assertThat(first.statusCode()).as(path).isEqualTo(200);
+        assertThat(first.headers().firstValue("Cache-Control")).as(path).hasValue("no-cache, private");
+        String tag = first.headers().firstValue("ETag").orElseThrow();
+        assertThat(tag).as(path).startsWith("W/\"");
+
+        HttpResponse<String> second = send(path, token, tag);
+        assertThat(second.statusCode()).as(path).isEqualTo(304);
+        assertThat(second.body()).as(path).isEmpty();
+        assertThat(second.headers().firstValue("ETag")).as(path).hasValue(tag);
+        assertThat(first.headers().firstValue("Last-Modified")).as(path).isEmpty();
+    }
+
+    private HttpResponse<String> send(String path, String token, String ifNoneMatch) throws IOException, InterruptedException {
+        HttpRequest.Builder request = request(path, token);
+        if (ifNoneMatch != null) {
+            request.header("If-None-Match", ifNoneMatch);
+        }
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Authorization", "Bearer " + token)
+                .GET();
+    }
+
+    private int get(String path, String token) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+}
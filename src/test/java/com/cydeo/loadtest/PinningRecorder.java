@@ -0,0 +1,86 @@
+package com.cydeo.loadtest;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Records jdk.VirtualThreadPinned while a load run serves requests on virtual threads: every time a
+ * virtual thread blocked inside a synchronized block or a native frame and so held on to its carrier
+ * thread. The report groups the events by the innermost application or library frame outside the JDK,
+ * which is the synchronized section to look at. Before Java 21 the event does not exist and nothing
+ * is recorded.
+ */
+class PinningRecorder implements AutoCloseable {
+
+    private static final String EVENT = "jdk.VirtualThreadPinned";
+
+    private final Recording recording = new Recording();
+
+    PinningRecorder() {
+        recording.enable(EVENT).withStackTrace().withThreshold(Duration.ZERO);
+        recording.start();
+    }
+
+    // pinned time per frame, longest first
+    Map<String, Duration> stop() throws IOException {
+        recording.stop();
+        Path file = Files.createTempFile("pinning", ".jfr");
+        try {
+            recording.dump(file);
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            Map<String, Duration> pinned = new TreeMap<>();
+            for (RecordedEvent event : events) {
+                if (event.getEventType().getName().equals(EVENT)) {
+                    pinned.merge(culprit(event), event.getDuration(), Duration::plus);
+                }
+            }
+            return pinned.entrySet().stream()
+                    .sorted(Map.Entry.<String, Duration>comparingByValue().reversed())
+                    .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, LinkedHashMap::new));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    void print(PrintStream out) throws IOException {
+        Map<String, Duration> pinned = stop();
+        if (pinned.isEmpty()) {
+            out.println("pinned virtual threads: none recorded");
+            return;
+        }
+        out.println("pinned virtual threads, total time per frame:");
+        pinned.forEach((frame, duration) -> out.printf("%10.1f ms  %s%n", duration.toNanos() / 1e6, frame));
+    }
+
+    private static String culprit(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return "(no stack trace)";
+        }
+        for (RecordedFrame frame : event.getStackTrace().getFrames()) {
+            String type = frame.getMethod().getType().getName();
+            if (!type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) {
+                return type + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+            }
+        }
+        return "(JDK frames only)";
+    }
+
+    @Override
+    public void close() {
+        recording.close();
+    }
+
+}
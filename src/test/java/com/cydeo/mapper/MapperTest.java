@@ -0,0 +1,132 @@
+package com.cydeo.mapper;
+
+import com.cydeo.dto.ProjectDTO;
+import com.cydeo.dto.RoleDTO;
+import com.cydeo.dto.TaskDTO;
+import com.cydeo.dto.UserDTO;
+import com.cydeo.entity.Project;
+import com.cydeo.entity.Role;
+import com.cydeo.entity.Task;
+import com.cydeo.entity.User;
+import com.cydeo.enums.Gender;
+import com.cydeo.enums.Status;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The hand-written mappers must produce exactly what ModelMapper used to produce.
+class MapperTest {
+
+    private final ModelMapper modelMapper = new ModelMapper();
+
+    private RoleMapper roleMapper;
+    private UserMapper userMapper;
+    private ProjectMapper projectMapper;
+    private TaskMapper taskMapper;
+    private MapperUtil mapperUtil;
+
+    @BeforeEach
+    void setUp() {
+        roleMapper = new RoleMapper();
+        userMapper = new UserMapper(roleMapper);
+        projectMapper = new ProjectMapper(userMapper);
+        taskMapper = new TaskMapper(projectMapper, userMapper);
+        mapperUtil = new MapperUtil(modelMapper, roleMapper, userMapper, projectMapper, taskMapper);
+    }
+
+    static Task getTask() {
+        Role role = new Role("Manager");
+        role.setId(2L);
+
+        User manager = new User();
+        manager.setId(2L);
+        manager.setFirstName("Ozzy");
+        manager.setLastName("Smith");
+        manager.setUserName("ozzy");
+        manager.setPassWord("encoded");
+        manager.setEnabled(true);
+        manager.setPhone("1234567890");
+        manager.setGender(Gender.MALE);
+        manager.setRole(role);
+
+        Project project = new Project();
+        project.setId(1L);
+        project.setProjectCode("SP00");
+        project.setProjectName("Spring Core");
+        project.setProjectDetail("Spring Core Project");
+        project.setProjectStatus(Status.OPEN);
+        project.setStartDate(LocalDate.of(2022, 1, 5));
+        project.setEndDate(LocalDate.of(2022, 6, 12));
+        project.setAssignedManager(manager);
+
+        Task task = new Task();
+        task.setId(1L);
+        task.setTaskSubject("Dependency Injection");
+        task.setTaskDetail("Injecting dependencies");
+        task.setTaskStatus(Status.IN_PROGRESS);
+        task.setAssignedDate(LocalDate.of(2022, 1, 5));
+        task.setAssignedEmployee(manager);
+        task.setProject(project);
+
+        return task;
+    }
+
+    @Test
+    void task_to_dto_matches_model_mapper() {
+        Task task = getTask();
+
+        TaskDTO expected = modelMapper.map(task, TaskDTO.class);
+        TaskDTO actual = taskMapper.convertToDto(task);
+
+        assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
+    }
+
+    @Test
+    void dto_to_task_matches_model_mapper() {
+        TaskDTO dto = taskMapper.convertToDto(getTask());
+
+        Task expected = modelMapper.map(dto, Task.class);
+        Task actual = taskMapper.convertToEntity(dto);
+
+        assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
+    }
+
+    @Test
+    void project_and_user_round_trip_matches_model_mapper() {
+        Project project = getTask().getProject();
+
+        assertThat(projectMapper.convertToDto(project)).usingRecursiveComparison()
+                .isEqualTo(modelMapper.map(project, ProjectDTO.class));
+
+        UserDTO userDTO = userMapper.convertToDto(project.getAssignedManager());
+        assertThat(userMapper.convertToEntity(userDTO)).usingRecursiveComparison()
+                .isEqualTo(modelMapper.map(userDTO, User.class));
+    }
+
+    @Test
+    void null_associations_stay_null() {
+        Task task = getTask();
+        task.setProject(null);
+        task.getAssignedEmployee().setRole(null);
+
+        TaskDTO actual = taskMapper.convertToDto(task);
+
+        assertThat(actual.getProject()).isNull();
+        assertThat(actual.getAssignedEmployee().getRole()).isNull();
+    }
+
+    @Test
+    void mapper_util_uses_typed_mappers() {
+        Role role = new Role("Admin");
+        role.setId(1L);
+
+        RoleDTO actual = mapperUtil.convert(role, new RoleDTO());
+
+        assertThat(actual).usingRecursiveComparison().isEqualTo(new RoleDTO(1L, "Admin"));
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.cydeo.repository;
+
+import com.cydeo.entity.Project;
+import com.cydeo.entity.Task;
+import com.cydeo.entity.User;
+import com.cydeo.enums.Status;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@TestPropertySource(properties = "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect")
+class BatchInsertTest {
+
+    private static final int ROWS = 120;
+
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private ProjectRepository projectRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void task_inserts_are_batched() {
+        // project SP00 (id 1) and employee sam (id 3) are seeded by data.sql
+        Project project = projectRepository.getReferenceById(1L);
+        User employee = userRepository.getReferenceById(3L);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            Task task = new Task();
+            task.setTaskSubject("Task " + i);
+            task.setTaskStatus(Status.OPEN);
+            task.setAssignedDate(LocalDate.now());
+            task.setProject(project);
+            task.setAssignedEmployee(employee);
+            tasks.add(task);
+        }
+
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        taskRepository.saveAll(tasks);
+        entityManager.flush();
+
+        // three sequence calls for 120 ids, then three batches of 50, 50 and 20 rows
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(6);
+        assertThat(tasks).extracting(Task::getId).doesNotHaveDuplicates().allMatch(id -> id > 0);
+        assertThat(taskRepository.count()).isEqualTo(ROWS);
+    }
+
+}
@@ -0,0 +1,172 @@
+package com.cydeo.repository;
+
+import com.cydeo.entity.Project;
+import com.cydeo.entity.Role;
+import com.cydeo.entity.Task;
+import com.cydeo.entity.User;
+import com.cydeo.enums.Gender;
+import com.cydeo.enums.Status;
+import com.cydeo.mapper.ProjectMapper;
+import com.cydeo.mapper.RoleMapper;
+import com.cydeo.mapper.TaskMapper;
+import com.cydeo.mapper.UserMapper;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Every listing is mapped to DTOs the way the services do it; whatever the number of rows,
+// loading and mapping must take a single statement. The second-level cache is emptied first
+// so that it cannot hide lazy loads.
+@DataJpaTest
+@TestPropertySource(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+class FetchPlanTest {
+
+    private static final int MANAGERS = 3;
+    private static final int EMPLOYEES = 6;
+    private static final int TASKS_PER_PROJECT = 10;
+
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private ProjectRepository projectRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    private final UserMapper userMapper = new UserMapper(new RoleMapper());
+    private final ProjectMapper projectMapper = new ProjectMapper(userMapper);
+    private final TaskMapper taskMapper = new TaskMapper(projectMapper, userMapper);
+
+    private Statistics statistics;
+    private Long managerId;
+    private Long employeeId;
+
+    @BeforeEach
+    void setUp() {
+        Role managerRole = roleRepository.getReferenceById(2L);
+        Role employeeRole = roleRepository.getReferenceById(3L);
+
+        List<User> employees = new ArrayList<>();
+        for (int i = 0; i < EMPLOYEES; i++) {
+            employees.add(userRepository.save(user("employee" + i, employeeRole)));
+        }
+
+        int taskCount = 0;
+        for (int m = 0; m < MANAGERS; m++) {
+            User manager = userRepository.save(user("manager" + m, managerRole));
+            for (int p = 0; p < 2; p++) {
+                Project project = new Project();
+                project.setProjectCode("FP" + m + p);
+                project.setProjectName("Fetch plan " + m + p);
+                project.setProjectStatus(Status.OPEN);
+                project.setAssignedManager(manager);
+                projectRepository.save(project);
+
+                for (int t = 0; t < TASKS_PER_PROJECT; t++) {
+                    Task task = new Task();
+                    task.setTaskSubject("Task " + taskCount);
+                    task.setTaskStatus(taskCount % 4 == 0 ? Status.COMPLETE : Status.IN_PROGRESS);
+                    task.setAssignedDate(LocalDate.now());
+                    task.setProject(project);
+                    task.setAssignedEmployee(employees.get(taskCount++ % EMPLOYEES));
+                    taskRepository.save(task);
+                }
+            }
+            managerId = manager.getId();
+        }
+        employeeId = employees.get(0).getId();
+
+        entityManager.flush();
+        entityManager.clear();
+        entityManager.getEntityManagerFactory().getCache().evictAll();
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private User user(String userName, Role role) {
+        User user = new User();
+        user.setFirstName(userName);
+        user.setLastName(userName);
+        user.setUserName(userName);
+        user.setPassWord("abc1");
+        user.setEnabled(true);
+        user.setGender(Gender.FEMALE);
+        user.setRole(role);
+        return user;
+    }
+
+    private <E> List<?> loadAndMap(Supplier<? extends Iterable<E>> listing, Function<E, ?> mapper) {
+        statistics.clear();
+        List<Object> dtos = new ArrayList<>();
+        listing.get().forEach(entity -> dtos.add(mapper.apply(entity)));
+        assertThat(statistics.getPrepareStatementCount()).as("statements").isEqualTo(1);
+        return dtos;
+    }
+
+    @Test
+    void task_listings_take_one_statement() {
+        User employee = userRepository.getReferenceById(employeeId);
+
+        assertThat(loadAndMap(() -> taskRepository.findAll(), taskMapper::convertToDto))
+                .hasSize(MANAGERS * 2 * TASKS_PER_PROJECT);
+        assertThat(loadAndMap(() -> taskRepository.findAllByTaskStatusIsNotAndAssignedEmployee(Status.COMPLETE, employee),
+                taskMapper::convertToDto)).isNotEmpty();
+        assertThat(loadAndMap(() -> taskRepository.findAllByTaskStatusAndAssignedEmployee(Status.COMPLETE, employee),
+                taskMapper::convertToDto)).isNotEmpty();
+        assertThat(loadAndMap(() -> taskRepository.findAllByTaskStatusIsNotAndAssignedEmployeeId(Status.COMPLETE, employeeId),
+                taskMapper::convertToDto)).isNotEmpty();
+        assertThat(loadAndMap(() -> taskRepository.findAllByTaskStatusAndAssignedEmployeeId(Status.COMPLETE, employeeId),
+                taskMapper::convertToDto)).isNotEmpty();
+    }
+
+    @Test
+    void task_pages_take_one_statement() {
+        assertThat(loadAndMap(() -> taskRepository.findAllByOrderByIdAsc(PageRequest.of(0, 25)), taskMapper::convertToDto))
+                .hasSize(25);
+        assertThat(loadAndMap(() -> taskRepository.findAllByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 25)),
+                taskMapper::convertToDto)).hasSize(25);
+        assertThat(loadAndMap(() -> taskRepository.findAllBy(PageRequest.of(1, 25, Sort.by("id"))), taskMapper::convertToDto))
+                .hasSize(25);
+    }
+
+    @Test
+    void project_listings_take_one_statement() {
+        User manager = userRepository.getReferenceById(managerId);
+
+        assertThat(loadAndMap(() -> projectRepository.findAll(Sort.by("projectCode")), projectMapper::convertToDto))
+                .hasSizeGreaterThanOrEqualTo(MANAGERS * 2);
+        assertThat(loadAndMap(() -> projectRepository.findAllByAssignedManager(manager), projectMapper::convertToDto))
+                .hasSize(2);
+        assertThat(loadAndMap(() -> projectRepository.findAllByAssignedManagerId(managerId), projectMapper::convertToDto))
+                .hasSize(2);
+        assertThat(loadAndMap(() -> projectRepository.findAllByProjectStatusIsNotAndAssignedManager(Status.COMPLETE, manager),
+                projectMapper::convertToDto)).hasSize(2);
+        assertThat(loadAndMap(() -> projectRepository.findAllByAssignedManagerIdOrderByProjectCodeAscIdAsc(managerId,
+                PageRequest.of(0, 10)), projectMapper::convertToDto)).hasSize(2);
+        assertThat(loadAndMap(() -> projectRepository.findPageByAssignedManagerIdAfter(managerId, "", 0L,
+                PageRequest.of(0, 10)), projectMapper::convertToDto)).hasSize(2);
+        assertThat(loadAndMap(() -> projectRepository.findAllByAssignedManagerId(managerId, PageRequest.of(0, 10)),
+                projectMapper::convertToDto)).hasSize(2);
+    }
+
+}
@@ -0,0 +1,144 @@
+package com.cydeo.repository;
+
+import com.cydeo.entity.BaseEntity;
+import com.cydeo.entity.KeycloakOutboxEvent;
+import com.cydeo.entity.Project;
+import com.cydeo.entity.Role;
+import com.cydeo.entity.Task;
+import com.cydeo.entity.User;
+import com.cydeo.enums.OutboxEventType;
+import com.cydeo.enums.OutboxStatus;
+import com.cydeo.enums.Status;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationState;
+import org.flywaydb.core.api.MigrationType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.persistence.EntityManager;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Upgrades a database that the application created with ddl-auto=update before the migrations existed: the
+// old schema (db/legacy) with a few rows goes in first, then Flyway baselines it at V1 and migrates it the way
+// the application does on its first start, and Hibernate validates the result.
+//
+// By default this runs on H2. To upgrade a real bigserial schema, point it at an empty scratch Postgres database:
+//   mvn test -Dtest=MigrationUpgradeTest -Dmigration-check.url=jdbc:postgresql://localhost:5432/migration-check \
+//       -Dmigration-check.username=postgres -Dmigration-check.password=... \
+//       -Dmigration-check.dialect=org.hibernate.dialect.PostgreSQLDialect
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=${migration-check.url:jdbc:h2:mem:migration-check;DB_CLOSE_DELAY=-1}",
+        "spring.datasource.username=${migration-check.username:sa}",
+        "spring.datasource.password=${migration-check.password:}",
+        "spring.jpa.database-platform=${migration-check.dialect:org.hibernate.dialect.H2Dialect}",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.show-sql=false",
+        // the legacy rows take the seeded ids
+        "spring.sql.init.mode=never"
+})
+class MigrationUpgradeTest {
+
+    private static final long LEGACY_ROLES = 3;
+    private static final long LEGACY_TASKS = 2;
+
+    @TestConfiguration
+    static class LegacySchema {
+
+        @Bean
+        FlywayMigrationStrategy legacySchemaFirst() {
+            return flyway -> {
+                DataSource dataSource = flyway.getConfiguration().getDataSource();
+                String vendor = new JdbcTemplate(dataSource).execute((Connection connection) ->
+                        connection.getMetaData().getDatabaseProductName().equals("PostgreSQL") ? "postgresql" : "h2");
+                new ResourceDatabasePopulator(new ClassPathResource("db/legacy/" + vendor + ".sql")).execute(dataSource);
+                flyway.migrate();
+            };
+        }
+    }
+
+    @Autowired
+    private Flyway flyway;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private KeycloakOutboxRepository outboxRepository;
+
+    @Test
+    void baselines_at_V1_and_applies_every_later_migration() {
+        List<MigrationInfo> applied = Arrays.asList(flyway.info().applied());
+
+        assertThat(applied.get(0).getType()).isEqualTo(MigrationType.BASELINE);
+        assertThat(applied.get(0).getVersion().getVersion()).isEqualTo("1");
+        assertThat(applied).allSatisfy(migration -> assertThat(migration.getState()).isIn(MigrationState.BASELINE, MigrationState.SUCCESS));
+        assertThat(flyway.info().pending()).isEmpty();
+        assertThat(applied.get(applied.size() - 1).getVersion()).isEqualTo(flyway.info().current().getVersion());
+        assertThat(applied.stream().map(migration -> migration.getVersion().getVersion())).contains("2", "3");
+    }
+
+    @Test
+    void legacy_sequences_are_pooled_and_past_the_legacy_rows() {
+        for (String table : List.of("roles", "users", "projects", "tasks", "keycloak_outbox")) {
+            Long increment = jdbcTemplate.queryForObject(
+                    "SELECT increment FROM information_schema.sequences WHERE lower(sequence_name) = ?", Long.class, table + "_id_seq");
+            assertThat(increment).as(table).isEqualTo(BaseEntity.ID_ALLOCATION_SIZE);
+        }
+
+        Role role = new Role();
+        role.setDescription("Auditor");
+        roleRepository.save(role);
+
+        User manager = userRepository.findByUserNameAndIsDeleted("legacy-manager", false);
+        Task task = new Task();
+        task.setTaskSubject("After the upgrade");
+        task.setTaskStatus(Status.OPEN);
+        task.setAssignedDate(LocalDate.now());
+        task.setProject(entityManager.find(Project.class, 1L));
+        task.setAssignedEmployee(userRepository.findByUserNameAndIsDeleted("legacy-employee", false));
+        taskRepository.save(task);
+        entityManager.flush();
+
+        assertThat(manager.getRole().getDescription()).isEqualTo("Manager");
+        assertThat(role.getId()).isGreaterThan(LEGACY_ROLES);
+        assertThat(task.getId()).isGreaterThan(LEGACY_TASKS);
+    }
+
+    @Test
+    void outbox_is_created_on_a_baselined_database() {
+        KeycloakOutboxEvent event = new KeycloakOutboxEvent();
+        event.setEventType(OutboxEventType.USER_CREATE);
+        event.setStatus(OutboxStatus.PENDING);
+        event.setUserName("legacy-employee");
+        event.setNextAttemptAt(LocalDateTime.now());
+        outboxRepository.saveAndFlush(event);
+
+        assertThat(outboxRepository.countByStatus(OutboxStatus.PENDING)).isEqualTo(1);
+    }
+
+}
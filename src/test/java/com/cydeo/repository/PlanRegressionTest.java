@@ -0,0 +1,302 @@
+package com.cydeo.repository;
+
+import com.cydeo.entity.KeycloakOutboxEvent;
+import com.cydeo.entity.Project;
+import com.cydeo.entity.Role;
+import com.cydeo.entity.Task;
+import com.cydeo.entity.User;
+import com.cydeo.enums.Gender;
+import com.cydeo.enums.OutboxEventType;
+import com.cydeo.enums.OutboxStatus;
+import com.cydeo.enums.Status;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.persistence.EntityManager;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs every hot repository query against the migrated schema and fails when a plan falls back to a full
+// scan of a table. The SQL is captured from Hibernate, so a changed query or a dropped index shows up here.
+//
+// By default this runs on H2 with the db/migration/h2 scripts. To check the real plans, point it at a
+// scratch Postgres database, where the check turns enable_seqscan off so that a Seq Scan means no index fits:
+//   mvn test -Dtest=PlanRegressionTest -Dplan-check.url=jdbc:postgresql://localhost:5432/plan-check \
+//       -Dplan-check.username=postgres -Dplan-check.password=... -Dplan-check.dialect=org.hibernate.dialect.PostgreSQLDialect
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=${plan-check.url:jdbc:h2:mem:plan-check;DB_CLOSE_DELAY=-1}",
+        "spring.datasource.username=${plan-check.username:sa}",
+        "spring.datasource.password=${plan-check.password:}",
+        "spring.jpa.database-platform=${plan-check.dialect:org.hibernate.dialect.H2Dialect}",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.cydeo.repository.PlanRegressionTest$RecordingInspector"
+})
+class PlanRegressionTest {
+
+    private static final int MANAGERS = 20;
+    private static final int EMPLOYEES = 100;
+    private static final int PROJECTS_PER_MANAGER = 10;
+    private static final int TASKS_PER_PROJECT = 25;
+    private static final int OUTBOX_EVENTS = 500;
+
+    private static final Pattern H2_TABLE_SCAN = Pattern.compile("/\\* PUBLIC\\.(\\w+)\\.tableScan");
+    private static final Pattern POSTGRES_SEQ_SCAN = Pattern.compile("Seq Scan on (\\w+)");
+
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private ProjectRepository projectRepository;
+    @Autowired
+    private ProjectTaskStatsRepository projectTaskStatsRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private KeycloakOutboxRepository outboxRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private boolean postgres;
+    private Long managerId;
+    private Long employeeId;
+    private String employeeUserName;
+    private String projectCode;
+    private List<Long> projectIds;
+
+    public static class RecordingInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+    @BeforeEach
+    void seed() {
+        postgres = jdbcTemplate.execute((java.sql.Connection connection) ->
+                connection.getMetaData().getDatabaseProductName().equals("PostgreSQL"));
+
+        Role managerRole = roleRepository.save(role("Plan Manager"));
+        Role employeeRole = roleRepository.save(role("Plan Employee"));
+
+        List<User> employees = new ArrayList<>();
+        for (int i = 0; i < EMPLOYEES; i++) {
+            employees.add(user("plan-employee-" + i, employeeRole));
+        }
+        userRepository.saveAll(employees);
+
+        List<Project> projects = new ArrayList<>();
+        List<Task> tasks = new ArrayList<>();
+        for (int m = 0; m < MANAGERS; m++) {
+            User manager = userRepository.save(user("plan-manager-" + m, managerRole));
+            for (int p = 0; p < PROJECTS_PER_MANAGER; p++) {
+                Project project = new Project();
+                project.setProjectCode(String.format("PL%02d%02d", m, p));
+                project.setProjectName("Plan " + m + "-" + p);
+                project.setProjectStatus(Status.IN_PROGRESS);
+                project.setAssignedManager(manager);
+                projects.add(project);
+                for (int t = 0; t < TASKS_PER_PROJECT; t++) {
+                    Task task = new Task();
+                    task.setTaskSubject("Plan task " + t);
+                    task.setTaskStatus(Status.values()[t % Status.values().length]);
+                    task.setAssignedDate(LocalDate.now());
+                    task.setProject(project);
+                    task.setAssignedEmployee(employees.get(tasks.size() % EMPLOYEES));
+                    tasks.add(task);
+                }
+            }
+            managerId = manager.getId();
+        }
+        projectRepository.saveAll(projects);
+        taskRepository.saveAll(tasks);
+
+        List<KeycloakOutboxEvent> events = new ArrayList<>();
+        for (int i = 0; i < OUTBOX_EVENTS; i++) {
+            KeycloakOutboxEvent event = new KeycloakOutboxEvent();
+            event.setEventType(OutboxEventType.USER_CREATE);
+            event.setStatus(i % 10 == 0 ? OutboxStatus.PENDING : OutboxStatus.DONE);
+            event.setUserName("plan-employee-" + (i % EMPLOYEES));
+            event.setNextAttemptAt(LocalDateTime.now());
+            events.add(event);
+        }
+        outboxRepository.saveAll(events);
+
+        entityManager.flush();
+        entityManager.clear();
+        entityManager.getEntityManagerFactory().getCache().evictAll();
+
+        employeeId = employees.get(0).getId();
+        employeeUserName = employees.get(0).getUserName();
+        projectCode = projects.get(0).getProjectCode();
+        projectIds = List.of(projects.get(0).getId(), projects.get(1).getId());
+
+        if (postgres) {
+            jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+        }
+    }
+
+    private Role role(String description) {
+        Role role = new Role();
+        role.setDescription(description);
+        return role;
+    }
+
+    private User user(String userName, Role role) {
+        User user = new User();
+        user.setFirstName(userName);
+        user.setLastName(userName);
+        user.setUserName(userName);
+        user.setPassWord("abc1");
+        user.setEnabled(true);
+        user.setGender(Gender.MALE);
+        user.setRole(role);
+        return user;
+    }
+
+    // runs the query, then explains every statement it sent and fails on a full scan of any table
+    private void assertNoFullScan(String name, Runnable query) {
+        RecordingInspector.STATEMENTS.clear();
+        query.run();
+        List<String> statements = new ArrayList<>(RecordingInspector.STATEMENTS);
+
+        assertThat(statements).as(name + " statements").isNotEmpty();
+        for (String sql : statements) {
+            String plan = explain(sql);
+            assertThat(fullScans(plan)).as("%s%nSQL: %s%nplan:%n%s", name, sql, plan).isEmpty();
+        }
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.execute("EXPLAIN " + sql, (PreparedStatement statement) -> {
+            ParameterMetaData parameters = statement.getParameterMetaData();
+            for (int i = 1; i <= parameters.getParameterCount(); i++) {
+                bindSample(statement, i, parameters.getParameterType(i));
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    plan.append(rows.getString(1)).append('\n');
+                }
+            }
+            return plan.toString();
+        });
+    }
+
+    // the values only have to be of the right type: the check is about which access paths exist, not row estimates
+    private void bindSample(PreparedStatement statement, int index, int type) throws java.sql.SQLException {
+        switch (type) {
+            case Types.BIGINT:
+            case Types.INTEGER:
+            case Types.SMALLINT:
+            case Types.NUMERIC:
+            case Types.DECIMAL:
+                statement.setLong(index, 1L);
+                break;
+            case Types.BOOLEAN:
+            case Types.BIT:
+                statement.setBoolean(index, false);
+                break;
+            case Types.DATE:
+                statement.setDate(index, java.sql.Date.valueOf(LocalDate.now()));
+                break;
+            case Types.TIMESTAMP:
+                statement.setTimestamp(index, Timestamp.valueOf(LocalDateTime.now()));
+                break;
+            default:
+                statement.setString(index, "x");
+        }
+    }
+
+    private List<String> fullScans(String plan) {
+        Matcher matcher = (postgres ? POSTGRES_SEQ_SCAN : H2_TABLE_SCAN).matcher(plan);
+        List<String> tables = new ArrayList<>();
+        while (matcher.find()) {
+            tables.add(matcher.group(1).toLowerCase());
+        }
+        return tables;
+    }
+
+    @Test
+    void employee_task_listings_use_an_index() {
+        assertNoFullScan("findAllByTaskStatusIsNotAndAssignedEmployeeId",
+                () -> taskRepository.findAllByTaskStatusIsNotAndAssignedEmployeeId(Status.COMPLETE, employeeId));
+        assertNoFullScan("findAllByTaskStatusAndAssignedEmployeeId",
+                () -> taskRepository.findAllByTaskStatusAndAssignedEmployeeId(Status.COMPLETE, employeeId));
+    }
+
+    @Test
+    void project_task_counts_use_an_index() {
+        assertNoFullScan("totalNonCompletedTasks", () -> taskRepository.totalNonCompletedTasks(projectCode));
+        assertNoFullScan("totalCompletedTasks", () -> taskRepository.totalCompletedTasks(projectCode));
+        assertNoFullScan("countTasksGroupedByProject", () -> taskRepository.countTasksGroupedByProject(managerId));
+        assertNoFullScan("countTasksGroupedByProjectIds", () -> taskRepository.countTasksGroupedByProjectIds(projectIds));
+        assertNoFullScan("sumByAssignedManagerId", () -> projectTaskStatsRepository.sumByAssignedManagerId(managerId));
+        assertNoFullScan("sumByProjectIds", () -> projectTaskStatsRepository.sumByProjectIds(projectIds));
+    }
+
+    @Test
+    void manager_project_listings_use_an_index() {
+        assertNoFullScan("findByProjectCode", () -> projectRepository.findByProjectCode(projectCode));
+        assertNoFullScan("findAllByAssignedManagerId", () -> projectRepository.findAllByAssignedManagerId(managerId));
+        assertNoFullScan("findAllByAssignedManagerIdOrderByProjectCodeAscIdAsc",
+                () -> projectRepository.findAllByAssignedManagerIdOrderByProjectCodeAscIdAsc(managerId, PageRequest.of(0, 5)));
+        assertNoFullScan("findPageByAssignedManagerIdAfter",
+                () -> projectRepository.findPageByAssignedManagerIdAfter(managerId, projectCode, 0L, PageRequest.of(0, 5)));
+        assertNoFullScan("findAllByAssignedManagerId(Pageable)",
+                () -> projectRepository.findAllByAssignedManagerId(managerId, PageRequest.of(1, 5)));
+        assertNoFullScan("countByAssignedManagerId", () -> projectRepository.countByAssignedManagerId(managerId));
+    }
+
+    @Test
+    void user_lookups_use_an_index() {
+        assertNoFullScan("findCurrentUser", () -> userRepository.findCurrentUser(employeeUserName));
+        assertNoFullScan("findAllByUserNameInAndIsDeleted",
+                () -> userRepository.findAllByUserNameInAndIsDeleted(List.of(employeeUserName), false));
+        assertNoFullScan("findAllByIsDeletedOrderByFirstNameDescIdDesc",
+                () -> userRepository.findAllByIsDeletedOrderByFirstNameDescIdDesc(false, PageRequest.of(0, 5)));
+        assertNoFullScan("findPageByIsDeletedAfter",
+                () -> userRepository.findPageByIsDeletedAfter(false, "plan-employee-5", Long.MAX_VALUE, PageRequest.of(0, 5)));
+        assertNoFullScan("findAllByIsDeleted",
+                () -> userRepository.findAllByIsDeleted(false, PageRequest.of(1, 5)));
+        assertNoFullScan("findPageWithoutFirstNameByIsDeletedAfter",
+                () -> userRepository.findPageWithoutFirstNameByIsDeletedAfter(false, Long.MAX_VALUE, PageRequest.of(0, 5)));
+        assertNoFullScan("findByRoleDescriptionIgnoreCaseAndIsDeleted",
+                () -> userRepository.findByRoleDescriptionIgnoreCaseAndIsDeleted("plan employee", false));
+    }
+
+    @Test
+    void outbox_polling_uses_an_index() {
+        assertNoFullScan("findDueEvents",
+                () -> outboxRepository.findDueEvents(OutboxStatus.PENDING, LocalDateTime.now(), PageRequest.of(0, 50)));
+        assertNoFullScan("countByStatus", () -> outboxRepository.countByStatus(OutboxStatus.PENDING));
+    }
+
+}
@@ -0,0 +1,126 @@
+package com.cydeo.repository;
+
+import com.cydeo.config.SecondLevelCacheConfig;
+import com.cydeo.entity.Role;
+import com.cydeo.entity.User;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.cache.CacheManager;
+import javax.persistence.EntityManager;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(SecondLevelCacheConfig.class)
+@TestPropertySource(properties = "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect")
+// a session never reads READ_WRITE entries it cached itself, so every lookup runs in its own transaction
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTest {
+
+    private static final String USER_REGION = "users";
+    private static final String ROLE_REGION = "roles";
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private SessionFactory sessionFactory;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        sessionFactory = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class);
+        statistics = sessionFactory.getStatistics();
+    }
+
+    private void warmAndReset(Runnable lookup) {
+        lookup.run();
+        statistics.clear();
+    }
+
+    @Test
+    void user_lookup_by_userName_is_served_from_the_cache() {
+        // "ozzy" is the manager seeded by data.sql
+        warmAndReset(() -> userRepository.findByUserNameAndIsDeleted("ozzy", false));
+
+        User user = userRepository.findByUserNameAndIsDeleted("ozzy", false);
+
+        assertThat(user.getUserName()).isEqualTo("ozzy");
+        assertThat(user.getRole().getDescription()).isEqualTo("Manager");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getNaturalIdCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getDomainDataRegionStatistics(USER_REGION).getHitCount()).isEqualTo(1);
+        assertThat(statistics.getDomainDataRegionStatistics(ROLE_REGION).getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void user_lookup_keeps_the_isDeleted_filter() {
+        assertThat(userRepository.findByUserNameAndIsDeleted("ozzy", true)).isNull();
+        assertThat(userRepository.findByUserNameAndIsDeleted("nobody", false)).isNull();
+    }
+
+    @Test
+    void renamed_user_is_found_under_the_new_userName_only() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            User user = userRepository.findByUserNameAndIsDeleted("ozzy", false);
+            user.setUserName("ozzy-" + user.getId());
+            userRepository.saveAndFlush(user);
+            entityManager.clear();
+
+            assertThat(userRepository.findByUserNameAndIsDeleted("ozzy", false)).isNull();
+            assertThat(userRepository.findByUserNameAndIsDeleted("ozzy-" + user.getId(), false))
+                    .extracting(User::getId).isEqualTo(user.getId());
+            status.setRollbackOnly();
+        });
+    }
+
+    @Test
+    void role_listing_is_served_from_the_query_cache() {
+        warmAndReset(() -> roleRepository.findAll());
+
+        List<Role> roles = roleRepository.findAll();
+
+        assertThat(roles).extracting(Role::getDescription).contains("Admin", "Manager", "Employee");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getDomainDataRegionStatistics(ROLE_REGION).getHitCount()).isEqualTo(roles.size());
+    }
+
+    @Test
+    void every_region_is_bounded() {
+        JCacheRegionFactory regionFactory = (JCacheRegionFactory) sessionFactory
+                .unwrap(SessionFactoryImplementor.class).getCache().getRegionFactory();
+        CacheManager cacheManager = regionFactory.getCacheManager();
+
+        for (String region : List.of(ROLE_REGION, USER_REGION, "users-by-username",
+                "default-query-results-region", "default-update-timestamps-region")) {
+            CaffeineConfiguration<?, ?> configuration = cacheManager.getCache(region)
+                    .getConfiguration(CaffeineConfiguration.class);
+            assertThat(configuration.getMaximumSize()).as(region).isPresent();
+            assertThat(configuration.isStatisticsEnabled()).as(region).isTrue();
+        }
+        assertThat(cacheManager.getCache("default-update-timestamps-region")
+                .getConfiguration(CaffeineConfiguration.class).getExpireAfterWrite()).isEmpty();
+    }
+
+}
@@ -0,0 +1,245 @@
+package com.cydeo.service;
+
+import com.cydeo.dto.CurrentUserDTO;
+import com.cydeo.dto.TaskFilterDTO;
+import com.cydeo.enums.Status;
+import com.cydeo.mapper.ProjectMapper;
+import com.cydeo.mapper.RoleMapper;
+import com.cydeo.mapper.TaskMapper;
+import com.cydeo.mapper.UserMapper;
+import com.cydeo.repository.ProjectRepository;
+import com.cydeo.repository.TaskRepository;
+import com.cydeo.service.impl.ExportServiceImpl;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Rows live in a file-backed H2 database so that the heap only holds what the export itself retains.
+// The row count can be lowered for quick local runs with -Dexport.test.rows=...
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:file:./target/export-test/db;DB_CLOSE_ON_EXIT=FALSE",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        // the file outlives the run, so the schema is recreated by Hibernate rather than migrated
+        "spring.flyway.enabled=false",
+        "spring.jpa.defer-datasource-initialization=true",
+        "spring.jpa.show-sql=false",
+        "spring.sql.init.mode=always"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ExportServiceImplTest {
+
+    private static final int ROWS = Integer.getInteger("export.test.rows", 1_000_000);
+    private static final int BATCH_SIZE = 10_000;
+    private static final long MAX_HEAP_GROWTH = 64L * 1024 * 1024;
+
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private ProjectRepository projectRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final CurrentUserService currentUserService = mock(CurrentUserService.class);
+    private ExportService exportService;
+    private TransactionTemplate transactionTemplate;
+    // same date handling as the ObjectMapper Spring Boot configures
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        UserMapper userMapper = new UserMapper(new RoleMapper());
+        ProjectMapper projectMapper = new ProjectMapper(userMapper);
+        TaskMapper taskMapper = new TaskMapper(projectMapper, userMapper);
+
+        exportService = new ExportServiceImpl(taskRepository, projectRepository, taskMapper, projectMapper, objectMapper, entityManager, currentUserService);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+    }
+
+    @Test
+    void exportTasks_keepsHeapBoundedOverAllRows() {
+        Long projectId = seedProject("EXPORT-ALL");
+        seedTasks(projectId, ROWS, Status.OPEN, LocalDate.of(2022, 1, 1));
+
+        long baseline = usedHeapAfterGc();
+        HeapSamplingOutputStream out = new HeapSamplingOutputStream();
+
+        long exported = export(new TaskFilterDTO("EXPORT-ALL", null, null, null), out);
+
+        assertThat(exported).isEqualTo(ROWS);
+        assertThat(out.lines).isEqualTo(ROWS);
+        assertThat(out.maxUsedHeap - baseline).isLessThan(MAX_HEAP_GROWTH);
+    }
+
+    @Test
+    void exportTasks_appliesFilters() throws IOException {
+        Long projectId = seedProject("EXPORT-FILTER");
+        seedTasks(projectId, 5, Status.OPEN, LocalDate.of(2022, 1, 1));
+        seedTasks(projectId, 3, Status.COMPLETE, LocalDate.of(2022, 2, 1));
+        seedTasks(projectId, 2, Status.COMPLETE, LocalDate.of(2022, 3, 1));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long exported = export(new TaskFilterDTO("EXPORT-FILTER", Status.COMPLETE,
+                LocalDate.of(2022, 1, 15), LocalDate.of(2022, 2, 15)), out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(exported).isEqualTo(3);
+        assertThat(lines).hasSize(3);
+        for (String line : lines) {
+            JsonNode task = objectMapper.readTree(line);
+            assertThat(task.get("taskStatus").asText()).isEqualTo("COMPLETE");
+            assertThat(task.get("assignedDate").asText()).isEqualTo("2022-02-01");
+            assertThat(task.get("project").get("projectCode").asText()).isEqualTo("EXPORT-FILTER");
+            assertThat(task.get("assignedEmployee").get("userName").asText()).isEqualTo("sam");
+        }
+    }
+
+    @Test
+    void exportTasks_includesTasksWithoutAProject() throws IOException {
+        // the other tests use no IN_PROGRESS task and no date in 2021
+        seedTasks(null, 1, Status.IN_PROGRESS, LocalDate.of(2021, 7, 1));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long exported = export(new TaskFilterDTO(null, Status.IN_PROGRESS, LocalDate.of(2021, 7, 1), LocalDate.of(2021, 7, 1)), out);
+
+        assertThat(exported).isEqualTo(1);
+        JsonNode task = objectMapper.readTree(out.toString(StandardCharsets.UTF_8).trim());
+        assertThat(task.hasNonNull("project")).isFalse();
+        assertThat(task.get("assignedEmployee").get("userName").asText()).isEqualTo("sam");
+    }
+
+    @Test
+    void exportProjects_filtersByStatus() throws IOException {
+        seedProject("EXPORT-PROJECT");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long exported = exportProjects(null, Status.IN_PROGRESS, out);
+
+        assertThat(exported).isEqualTo(1);
+        JsonNode project = objectMapper.readTree(out.toString(StandardCharsets.UTF_8).trim());
+        assertThat(project.get("projectCode").asText()).isEqualTo("EXPORT-PROJECT");
+        assertThat(project.get("assignedManager").get("userName").asText()).isEqualTo("ozzy");
+    }
+
+    @Test
+    void exportProjects_coversTheManagersOwnOrEveryProjectForAnAdmin() throws IOException {
+        when(currentUserService.getCurrentUser()).thenReturn(new CurrentUserDTO(3L, "sam", "Manager"));
+        assertThat(exportService.projectExportManagerId()).isEqualTo(3L);
+        when(currentUserService.getCurrentUser()).thenReturn(new CurrentUserDTO(1L, "mike", "Admin"));
+        assertThat(exportService.projectExportManagerId()).isNull();
+
+        // SP00 is the one OPEN project, seeded by data.sql for ozzy
+        assertThat(exportProjects(3L, Status.OPEN, new ByteArrayOutputStream())).isZero();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertThat(exportProjects(2L, Status.OPEN, out)).isEqualTo(1);
+        assertThat(objectMapper.readTree(out.toString(StandardCharsets.UTF_8).trim()).get("projectCode").asText()).isEqualTo("SP00");
+    }
+
+    private long exportProjects(Long managerId, Status status, OutputStream out) {
+        return transactionTemplate.execute(transaction -> {
+            try {
+                return exportService.exportProjects(managerId, status, out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private long export(TaskFilterDTO filter, OutputStream out) {
+        return transactionTemplate.execute(status -> {
+            try {
+                return exportService.exportTasks(filter, out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    // manager 2 ("ozzy") and employee 3 ("sam") are seeded by data.sql
+    private Long seedProject(String projectCode) {
+        jdbcTemplate.update("INSERT INTO projects(id, insert_date_time, insert_user_id, is_deleted, last_update_date_time, last_update_user_id, " +
+                "project_code, project_name, project_detail, project_status, start_date, end_date, manager_id) " +
+                "VALUES (NEXT VALUE FOR projects_id_seq, now(), 2, false, now(), 2, ?, 'Export', 'Export', 'IN_PROGRESS', now(), now(), 2)", projectCode);
+        return jdbcTemplate.queryForObject("SELECT id FROM projects WHERE project_code = ?", Long.class, projectCode);
+    }
+
+    private void seedTasks(Long projectId, int count, Status status, LocalDate assignedDate) {
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[]{"Task " + i, status.name(), assignedDate, projectId});
+            if (rows.size() == BATCH_SIZE || i == count - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO tasks(id, insert_date_time, insert_user_id, is_deleted, last_update_date_time, last_update_user_id, " +
+                        "task_subject, task_detail, task_status, assigned_date, assigned_employee_id, project_id) " +
+                        "VALUES (NEXT VALUE FOR tasks_id_seq, now(), 2, false, now(), 2, ?, 'detail', ?, ?, 3, ?)", rows);
+                rows.clear();
+            }
+        }
+    }
+
+    private static long usedHeapAfterGc() {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    // discards the export and samples the heap every 100k lines
+    private static class HeapSamplingOutputStream extends OutputStream {
+
+        private long lines;
+        private long maxUsedHeap;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n' && ++lines % 100_000 == 0) {
+                maxUsedHeap = Math.max(maxUsedHeap, usedHeapAfterGc());
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                write(b[i]);
+            }
+        }
+
+    }
+
+}
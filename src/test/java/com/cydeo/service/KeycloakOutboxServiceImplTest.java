@@ -0,0 +1,178 @@
+package com.cydeo.service;
+
+import com.cydeo.config.OutboxProperties;
+import com.cydeo.dto.RoleDTO;
+import com.cydeo.dto.UserDTO;
+import com.cydeo.entity.KeycloakOutboxEvent;
+import com.cydeo.enums.OutboxStatus;
+import com.cydeo.repository.KeycloakOutboxRepository;
+import com.cydeo.service.impl.KeycloakOutboxServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@TestPropertySource(properties = "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect")
+class KeycloakOutboxServiceImplTest {
+
+    @Autowired
+    private KeycloakOutboxRepository outboxRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private StubKeycloakService keycloakService;
+    private SimpleMeterRegistry meterRegistry;
+    private KeycloakOutboxServiceImpl outboxService;
+
+    @BeforeEach
+    void setUp() {
+        OutboxProperties properties = new OutboxProperties();
+        properties.setBatchSize(2);
+        properties.setMaxAttempts(2);
+        properties.setInitialBackoffMs(1000);
+        properties.setMaxBackoffMs(60000);
+        properties.setLeaseMs(60000);
+
+        keycloakService = new StubKeycloakService();
+        meterRegistry = new SimpleMeterRegistry();
+        outboxService = new KeycloakOutboxServiceImpl(outboxRepository, keycloakService, properties, meterRegistry, transactionManager);
+    }
+
+    private UserDTO getUserDTO(String username) {
+        UserDTO userDTO = new UserDTO();
+        userDTO.setUserName(username);
+        userDTO.setFirstName("John");
+        userDTO.setLastName("Doe");
+        userDTO.setPassWord("encoded");
+        userDTO.setRole(new RoleDTO(null, "Employee"));
+        return userDTO;
+    }
+
+    private void makeAllDue() {
+        outboxRepository.findAll().forEach(event -> event.setNextAttemptAt(LocalDateTime.now().minusSeconds(1)));
+    }
+
+    @Test
+    void should_dispatch_pending_events_in_batches() {
+        outboxService.enqueueUserCreate(getUserDTO("a@cydeo.com"));
+        outboxService.enqueueUserCreate(getUserDTO("b@cydeo.com"));
+        outboxService.enqueueUserCreate(getUserDTO("c@cydeo.com"));
+
+        assertThat(outboxService.dispatchPending()).isEqualTo(2);
+        assertThat(meterRegistry.get("keycloak.outbox.depth").gauge().value()).isEqualTo(1);
+
+        assertThat(outboxService.dispatchPending()).isEqualTo(1);
+        assertThat(outboxService.dispatchPending()).isZero();
+
+        assertThat(keycloakService.createdUsers).containsExactly("a@cydeo.com", "b@cydeo.com", "c@cydeo.com");
+        assertThat(outboxRepository.findAll()).allMatch(e -> e.getStatus() == OutboxStatus.DONE && e.getPassWord() == null);
+        assertThat(meterRegistry.get("keycloak.outbox.depth").gauge().value()).isZero();
+    }
+
+    @Test
+    void should_back_off_and_fail_after_max_attempts() {
+        outboxService.enqueueUserDelete("a@cydeo.com");
+        keycloakService.unavailable = true;
+
+        outboxService.dispatchPending();
+
+        KeycloakOutboxEvent event = outboxRepository.findAll().get(0);
+        assertThat(event.getStatus()).isEqualTo(OutboxStatus.PENDING);
+        assertThat(event.getAttempts()).isEqualTo(1);
+        assertThat(event.getNextAttemptAt()).isAfter(LocalDateTime.now());
+        assertThat(event.getLastError()).isEqualTo("Keycloak is unavailable");
+
+        // not due yet
+        assertThat(outboxService.dispatchPending()).isZero();
+
+        makeAllDue();
+        outboxService.dispatchPending();
+
+        assertThat(event.getStatus()).isEqualTo(OutboxStatus.FAILED);
+        assertThat(meterRegistry.counter("keycloak.outbox.failed").count()).isEqualTo(1);
+    }
+
+    @Test
+    void should_retry_without_duplicating_user() {
+        outboxService.enqueueUserCreate(getUserDTO("a@cydeo.com"));
+        keycloakService.unavailable = true;
+        outboxService.dispatchPending();
+
+        keycloakService.unavailable = false;
+        makeAllDue();
+        outboxService.dispatchPending();
+
+        List<KeycloakOutboxEvent> events = outboxRepository.findAll();
+        assertThat(events.get(0).getStatus()).isEqualTo(OutboxStatus.DONE);
+        assertThat(keycloakService.createdUsers).containsExactly("a@cydeo.com");
+    }
+
+    @Test
+    void should_not_let_a_delete_overtake_a_create_that_is_backing_off() {
+        outboxService.enqueueUserCreate(getUserDTO("a@cydeo.com"));
+        keycloakService.unavailable = true;
+        outboxService.dispatchPending();
+
+        // deleted in the app while the create waits for its retry
+        keycloakService.unavailable = false;
+        outboxService.enqueueUserDelete("a@cydeo.com");
+        outboxService.enqueueUserCreate(getUserDTO("b@cydeo.com"));
+
+        // the delete is due but held back; other users are not
+        assertThat(outboxService.dispatchPending()).isEqualTo(1);
+        assertThat(keycloakService.createdUsers).containsExactly("b@cydeo.com");
+
+        // the retried create goes first, the delete only once it is done
+        makeAllDue();
+        assertThat(outboxService.dispatchPending()).isEqualTo(1);
+        assertThat(keycloakService.createdUsers).containsExactly("b@cydeo.com", "a@cydeo.com");
+        assertThat(outboxService.dispatchPending()).isEqualTo(1);
+
+        assertThat(keycloakService.createdUsers).containsExactly("b@cydeo.com");
+        assertThat(keycloakService.deletedUsers).containsExactly("a@cydeo.com");
+        assertThat(outboxRepository.findAll()).allMatch(e -> e.getStatus() == OutboxStatus.DONE);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void should_call_keycloak_outside_a_transaction_and_lease_the_batch() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        List<Boolean> inTransaction = new ArrayList<>();
+        List<Integer> claimedMeanwhile = new ArrayList<>();
+        keycloakService.onCall = () -> {
+            inTransaction.add(TransactionSynchronizationManager.isActualTransactionActive());
+            // a second dispatcher running while the call is out finds nothing due
+            claimedMeanwhile.add(outboxService.dispatchPending());
+        };
+        try {
+            transactionTemplate.executeWithoutResult(status -> outboxService.enqueueUserCreate(getUserDTO("a@cydeo.com")));
+
+            assertThat(outboxService.dispatchPending()).isEqualTo(1);
+
+            assertThat(inTransaction).containsExactly(false);
+            assertThat(claimedMeanwhile).containsExactly(0);
+            assertThat(outboxRepository.findAll()).singleElement().satisfies(event -> {
+                assertThat(event.getStatus()).isEqualTo(OutboxStatus.DONE);
+                assertThat(event.getPassWord()).isNull();
+            });
+        } finally {
+            // nothing is rolled back for this test
+            outboxRepository.deleteAll();
+        }
+    }
+
+}
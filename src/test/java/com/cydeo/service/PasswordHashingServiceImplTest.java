@@ -0,0 +1,70 @@
+package com.cydeo.service;
+
+import com.cydeo.exception.PasswordHashingBusyException;
+import com.cydeo.service.impl.PasswordHashingServiceImpl;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+class PasswordHashingServiceImplTest {
+
+    @Test
+    void hashes_on_the_pool_and_records_it() throws Exception {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(4);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PasswordHashingServiceImpl service = new PasswordHashingServiceImpl(encoder, 2, 10, 10_000, meterRegistry);
+        try {
+            String hash = service.encode("Abc1");
+
+            assertThat(encoder.matches("Abc1", hash)).isTrue();
+            // the pool counts a task as completed only after its caller has the result
+            FunctionCounter completed = meterRegistry.get("executor.completed").tag("name", "password-hashing").functionCounter();
+            for (int i = 0; i < 100 && completed.count() < 1; i++) {
+                Thread.sleep(10);
+            }
+            assertThat(completed.count()).isEqualTo(1);
+        } finally {
+            service.destroy();
+        }
+    }
+
+    @Test
+    void callers_are_turned_away_once_the_queue_is_full() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        BCryptPasswordEncoder blocking = new BCryptPasswordEncoder(4) {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.encode(rawPassword);
+            }
+        };
+        // one hash running and one waiting fill a single thread with a queue of one
+        PasswordHashingServiceImpl service = new PasswordHashingServiceImpl(blocking, 1, 1, 10_000, new SimpleMeterRegistry());
+        try {
+            CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> service.encode("Abc1"));
+            CompletableFuture<String> waiting = CompletableFuture.supplyAsync(() -> service.encode("Abc2"));
+            Thread.sleep(200);
+
+            assertThat(catchThrowable(() -> service.encode("Abc3"))).isInstanceOf(PasswordHashingBusyException.class);
+
+            release.countDown();
+            assertThat(blocking.matches("Abc1", running.get(10, TimeUnit.SECONDS))).isTrue();
+            assertThat(blocking.matches("Abc2", waiting.get(10, TimeUnit.SECONDS))).isTrue();
+        } finally {
+            service.destroy();
+        }
+    }
+
+}
@@ -0,0 +1,306 @@
+package com.cydeo.service;
+
+import com.cydeo.config.PaginationProperties;
+import com.cydeo.dto.PageDTO;
+import com.cydeo.dto.PageRequestDTO;
+import com.cydeo.dto.ProjectDTO;
+import com.cydeo.entity.Project;
+import com.cydeo.entity.Task;
+import com.cydeo.entity.User;
+import com.cydeo.enums.Status;
+import com.cydeo.mapper.ProjectMapper;
+import com.cydeo.mapper.RoleMapper;
+import com.cydeo.mapper.TaskMapper;
+import com.cydeo.mapper.UserMapper;
+import com.cydeo.repository.ProjectRepository;
+import com.cydeo.repository.ProjectTaskStatsRepository;
+import com.cydeo.repository.TaskRepository;
+import com.cydeo.repository.UserRepository;
+import com.cydeo.service.impl.CurrentUserServiceImpl;
+import com.cydeo.service.impl.ProjectServiceImpl;
+import com.cydeo.service.impl.ProjectTaskStatsServiceImpl;
+import com.cydeo.service.impl.TaskServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.keycloak.KeycloakPrincipal;
+import org.keycloak.adapters.RefreshableKeycloakSecurityContext;
+import org.keycloak.adapters.springsecurity.account.SimpleKeycloakAccount;
+import org.keycloak.representations.AccessToken;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@TestPropertySource(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class ProjectServiceImplTest {
+
+    @Autowired
+    private ProjectRepository projectRepository;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ProjectTaskStatsRepository projectTaskStatsRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private EntityManager entityManager;
+
+    private ProjectService projectService;
+    private Statistics statistics;
+    private SimpleMeterRegistry meterRegistry;
+    private UserMapper userMapper;
+    private User manager;
+
+    @BeforeEach
+    void setUp() {
+        userMapper = new UserMapper(new RoleMapper());
+        ProjectMapper projectMapper = new ProjectMapper(userMapper);
+        TaskMapper taskMapper = new TaskMapper(projectMapper, userMapper);
+
+        // "ozzy" is the manager seeded by data.sql
+        manager = userRepository.findByUserNameAndIsDeleted("ozzy", false);
+
+        CurrentUserService currentUserService = new CurrentUserServiceImpl(userRepository, 30, 100);
+        PaginationProperties paginationProperties = new PaginationProperties();
+        paginationProperties.setDefaultLimit(100);
+        paginationProperties.setMaxLimit(1000);
+
+        TaskService taskService = new TaskServiceImpl(taskRepository, taskMapper, projectMapper, currentUserService, userMapper, paginationProperties,
+                new ProjectTaskStatsServiceImpl(projectTaskStatsRepository, taskRepository, transactionManager, 8));
+        meterRegistry = new SimpleMeterRegistry();
+        projectService = new ProjectServiceImpl(projectRepository, projectMapper, currentUserService, userMapper, taskService, paginationProperties,
+                300, 1000, meterRegistry);
+
+        AccessToken accessToken = new AccessToken();
+        accessToken.setPreferredUsername("ozzy");
+        accessToken.setSubject("ozzy-subject");
+        RefreshableKeycloakSecurityContext securityContext =
+                new RefreshableKeycloakSecurityContext(null, null, null, accessToken, null, null, null);
+        TestingAuthenticationToken authentication = new TestingAuthenticationToken("ozzy", null, "ROLE_Manager");
+        authentication.setDetails(new SimpleKeycloakAccount(new KeycloakPrincipal<>("ozzy", securityContext), Set.of("Manager"), securityContext));
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private void createProjects(String prefix, int count) {
+        for (int i = 0; i < count; i++) {
+            Project project = new Project();
+            project.setProjectCode(prefix + i);
+            project.setProjectName("Project " + i);
+            project.setProjectStatus(Status.OPEN);
+            project.setStartDate(LocalDate.now());
+            project.setEndDate(LocalDate.now().plusDays(10));
+            project.setAssignedManager(manager);
+            projectRepository.save(project);
+
+            for (Status status : Status.values()) {
+                Task task = new Task();
+                task.setTaskSubject("Task " + i);
+                task.setTaskStatus(status);
+                task.setAssignedDate(LocalDate.now());
+                task.setProject(project);
+                task.setAssignedEmployee(manager);
+                taskRepository.save(task);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private long countStatements() {
+        // warm the current-user cache so only the listing itself is measured
+        projectService.listAllProjectDetails();
+        entityManager.clear();
+        statistics.clear();
+        projectService.listAllProjectDetails();
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    void listAllProjectDetails_statement_count_does_not_grow_with_projects() {
+        createProjects("FEW", 2);
+        long fewProjects = countStatements();
+
+        createProjects("MANY", 20);
+        long manyProjects = countStatements();
+
+        assertThat(manyProjects).isEqualTo(fewProjects);
+    }
+
+    @Test
+    void listAllProjectDetails_returns_task_counts() {
+        createProjects("PC", 1);
+
+        List<ProjectDTO> projects = projectService.listAllProjectDetails();
+
+        ProjectDTO project = projects.stream().filter(p -> p.getProjectCode().equals("PC0")).findFirst().orElseThrow();
+        assertThat(project.getCompleteTaskCounts()).isEqualTo(1);
+        assertThat(project.getUnfinishedTaskCounts()).isEqualTo(2);
+    }
+
+    @Test
+    void current_user_is_looked_up_once() {
+        countStatements();
+
+        // the user lookup is cached, only the project and count queries remain
+        assertThat(statistics.getQueryExecutionCount()).isEqualTo(2);
+    }
+
+    @Test
+    void listAllProjectDetails_walks_keyset_pages_without_count() {
+        createProjects("PC", 5);
+
+        List<String> codes = new ArrayList<>();
+        String cursor = null;
+        do {
+            entityManager.clear();
+            statistics.clear();
+            PageDTO<ProjectDTO> page = projectService.listAllProjectDetails(new PageRequestDTO(2, cursor, null, false));
+            page.getContent().forEach(p -> codes.add(p.getProjectCode()));
+            cursor = page.getPageInfo().getNextCursor();
+
+            assertThat(page.getContent()).hasSizeLessThanOrEqualTo(2);
+            assertThat(page.getPageInfo().getTotalElements()).isNull();
+            assertThat(statistics.getQueries()).noneMatch(q -> q.toLowerCase().startsWith("select count"));
+        } while (cursor != null);
+
+        // data.sql seeds SP00 for the same manager
+        assertThat(codes).containsExactly("PC0", "PC1", "PC2", "PC3", "PC4", "SP00");
+    }
+
+    @Test
+    void listAllProjectDetails_offset_page_with_total() {
+        createProjects("PC", 5);
+
+        PageDTO<ProjectDTO> page = projectService.listAllProjectDetails(new PageRequestDTO(2, null, 1, true));
+
+        assertThat(page.getContent()).extracting(ProjectDTO::getProjectCode).containsExactly("PC2", "PC3");
+        assertThat(page.getPageInfo().getTotalElements()).isEqualTo(6);
+        assertThat(page.getPageInfo().isHasNext()).isTrue();
+    }
+
+    @Test
+    void complete_updates_all_tasks_of_the_project() {
+        createProjects("PC", 2);
+
+        projectService.complete("PC0");
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Task> tasks = taskRepository.findAll();
+        assertThat(tasks).filteredOn(t -> t.getProject().getProjectCode().equals("PC0"))
+                .hasSize(3)
+                .allMatch(t -> t.getTaskStatus() == Status.COMPLETE && t.getLastUpdateDateTime().isAfter(t.getInsertDateTime()));
+        assertThat(tasks).filteredOn(t -> t.getProject().getProjectCode().equals("PC1"))
+                .anyMatch(t -> t.getTaskStatus() != Status.COMPLETE);
+    }
+
+    @Test
+    void delete_soft_deletes_all_tasks_of_the_project() {
+        createProjects("PC", 2);
+
+        projectService.delete("PC0");
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(projectRepository.findByProjectCode("PC0")).isNull();
+        assertThat(taskRepository.findAll()).hasSize(3)
+                .allMatch(t -> t.getProject().getProjectCode().equals("PC1"));
+    }
+
+    private double cachedProjects() {
+        return meterRegistry.get("cache.size").tag("cache", "projects").gauge().value();
+    }
+
+    @Test
+    void getByProjectCode_is_served_from_the_cache() {
+        createProjects("PC", 1);
+
+        projectService.getByProjectCode("PC0");
+        statistics.clear();
+        ProjectDTO project = projectService.getByProjectCode("PC0");
+
+        assertThat(project.getProjectName()).isEqualTo("Project 0");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(meterRegistry.get("cache.gets").tags("cache", "projects", "result", "hit").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tags("cache", "projects", "result", "miss").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void complete_evicts_the_cached_project() {
+        createProjects("PC", 1);
+        assertThat(projectService.getByProjectCode("PC0").getProjectStatus()).isEqualTo(Status.OPEN);
+
+        projectService.complete("PC0");
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(projectService.getByProjectCode("PC0").getProjectStatus()).isEqualTo(Status.COMPLETE);
+    }
+
+    @Test
+    void update_with_a_new_manager_evicts_the_cached_project() {
+        createProjects("PC", 1);
+        ProjectDTO project = projectService.getByProjectCode("PC0");
+
+        User newManager = userRepository.findByUserNameAndIsDeleted("mike", false);
+        ProjectDTO changed = new ProjectDTO(project.getProjectName(), "PC0", userMapper.convertToDto(newManager),
+                project.getStartDate(), project.getEndDate(), project.getProjectDetail(), project.getProjectStatus());
+        projectService.update(changed);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(projectService.getByProjectCode("PC0").getAssignedManager().getUserName()).isEqualTo("mike");
+    }
+
+    @Test
+    void delete_evicts_the_original_and_the_renamed_code() {
+        createProjects("PC", 1);
+        projectService.getByProjectCode("PC0");
+        assertThat(cachedProjects()).isEqualTo(1);
+
+        projectService.delete("PC0");
+
+        assertThat(cachedProjects()).isZero();
+    }
+
+    @Test
+    void evictByAssignedManager_drops_only_that_managers_projects() {
+        createProjects("PC", 2);
+        projectService.getByProjectCode("PC0");
+        projectService.getByProjectCode("PC1");
+
+        projectService.evictByAssignedManager("sam");
+        assertThat(cachedProjects()).isEqualTo(2);
+
+        projectService.evictByAssignedManager("ozzy");
+        assertThat(cachedProjects()).isZero();
+    }
+
+}
@@ -0,0 +1,173 @@
+package com.cydeo.service;
+
+import com.cydeo.config.PaginationProperties;
+import com.cydeo.dto.ProjectTaskCountDTO;
+import com.cydeo.dto.TaskDTO;
+import com.cydeo.entity.Project;
+import com.cydeo.entity.Task;
+import com.cydeo.entity.User;
+import com.cydeo.enums.Status;
+import com.cydeo.mapper.ProjectMapper;
+import com.cydeo.mapper.RoleMapper;
+import com.cydeo.mapper.TaskMapper;
+import com.cydeo.mapper.UserMapper;
+import com.cydeo.repository.ProjectRepository;
+import com.cydeo.repository.ProjectTaskStatsRepository;
+import com.cydeo.repository.TaskRepository;
+import com.cydeo.repository.UserRepository;
+import com.cydeo.service.impl.CurrentUserServiceImpl;
+import com.cydeo.service.impl.ProjectTaskStatsServiceImpl;
+import com.cydeo.service.impl.TaskServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@TestPropertySource(properties = "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect")
+class ProjectTaskStatsServiceImplTest {
+
+    private static final int STRIPES = 8;
+
+    @Autowired
+    private ProjectTaskStatsRepository statsRepository;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private ProjectRepository projectRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private ProjectTaskStatsService statsService;
+    private TaskService taskService;
+    private ProjectMapper projectMapper;
+    private UserMapper userMapper;
+
+    @BeforeEach
+    void setUp() {
+        userMapper = new UserMapper(new RoleMapper());
+        projectMapper = new ProjectMapper(userMapper);
+        statsService = new ProjectTaskStatsServiceImpl(statsRepository, taskRepository, transactionManager, STRIPES);
+        taskService = new TaskServiceImpl(taskRepository, new TaskMapper(projectMapper, userMapper), projectMapper,
+                new CurrentUserServiceImpl(userRepository, 30, 100), userMapper, new PaginationProperties(), statsService);
+    }
+
+    private Project createProject(String code) {
+        Project project = new Project();
+        project.setProjectCode(code);
+        project.setProjectName("Project " + code);
+        project.setProjectStatus(Status.OPEN);
+        project.setStartDate(LocalDate.now());
+        project.setEndDate(LocalDate.now().plusDays(10));
+        project.setAssignedManager(userRepository.findByUserNameAndIsDeleted("ozzy", false));
+        return projectRepository.save(project);
+    }
+
+    private TaskDTO task(Project project, String subject) {
+        User employee = userRepository.findByUserNameAndIsDeleted("sam", false);
+        return new TaskDTO(null, projectMapper.convertToDto(project), userMapper.convertToDto(employee), subject, subject, null, null);
+    }
+
+    private void flushAndAssertCountsMatchTasks(Long projectId) {
+        entityManager.flush();
+        entityManager.clear();
+        assertCountsMatchTasks(projectId);
+    }
+
+    private void assertCountsMatchTasks(Long projectId) {
+        ProjectTaskCountDTO actual = taskRepository.countTasksGroupedByProjectIds(List.of(projectId)).stream().findFirst().orElse(null);
+        ProjectTaskCountDTO counted = statsService.countsByProjects(List.of(projectId)).get(projectId);
+
+        assertThat(counted.getCompletedCount()).isEqualTo(actual == null ? 0 : actual.getCompletedCount());
+        assertThat(counted.getNonCompletedCount()).isEqualTo(actual == null ? 0 : actual.getNonCompletedCount());
+    }
+
+    @Test
+    void counters_follow_every_task_write() {
+        Project project = createProject("ST0");
+        taskService.createTaskCounts(projectMapper.convertToDto(project));
+        assertThat(statsRepository.count()).isGreaterThanOrEqualTo(STRIPES);
+
+        for (int i = 0; i < 5; i++) {
+            taskService.save(task(project, "Task " + i));
+        }
+        flushAndAssertCountsMatchTasks(project.getId());
+
+        List<Task> tasks = taskRepository.findAllByProject(project);
+        TaskDTO completed = taskService.findById(tasks.get(0).getId());
+        completed.setTaskStatus(Status.COMPLETE);
+        taskService.update(completed);
+        flushAndAssertCountsMatchTasks(project.getId());
+
+        taskService.delete(tasks.get(1).getId());
+        flushAndAssertCountsMatchTasks(project.getId());
+
+        taskService.completeByProject(projectMapper.convertToDto(project));
+        flushAndAssertCountsMatchTasks(project.getId());
+        assertThat(statsService.countsByProjects(List.of(project.getId())).get(project.getId()).getCompletedCount()).isEqualTo(4);
+
+        taskService.deleteByProject(projectMapper.convertToDto(project));
+        flushAndAssertCountsMatchTasks(project.getId());
+    }
+
+    @Test
+    void projects_without_counters_are_counted_from_their_tasks() {
+        Project project = createProject("ST1");
+        taskService.save(task(project, "Task"));
+
+        Map<Long, ProjectTaskCountDTO> counts = statsService.countsByProjects(List.of(project.getId()));
+
+        assertThat(counts.get(project.getId()).getNonCompletedCount()).isEqualTo(1);
+        assertThat(statsRepository.findProjectIdsWithoutStats()).contains(project.getId());
+    }
+
+    // reconcile() commits on its own, so this test cannot be rolled back and cleans up instead
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void reconcile_seeds_missing_counters_and_repairs_drift() {
+        // SP00 (id 1) is seeded by data.sql, without counters
+        Project project = projectRepository.findByProjectCode("SP00");
+        try {
+            for (Status status : Status.values()) {
+                Task task = new Task();
+                task.setTaskSubject("Task " + status);
+                task.setTaskStatus(status);
+                task.setAssignedDate(LocalDate.now());
+                task.setProject(project);
+                taskRepository.save(task);
+            }
+
+            assertThat(statsService.reconcile()).isPositive();
+            assertThat(statsRepository.findProjectIdsWithoutStats()).doesNotContain(project.getId());
+            assertCountsMatchTasks(project.getId());
+
+            jdbcTemplate.update("UPDATE project_task_stats SET completed_count = completed_count + 5 WHERE project_id = ? AND slot = 3", project.getId());
+
+            assertThat(statsService.reconcile()).isEqualTo(1);
+            assertCountsMatchTasks(project.getId());
+            assertThat(statsService.reconcile()).isZero();
+        } finally {
+            jdbcTemplate.update("DELETE FROM tasks WHERE project_id = ?", project.getId());
+            jdbcTemplate.update("DELETE FROM project_task_stats");
+        }
+    }
+
+}
@@ -0,0 +1,42 @@
+package com.cydeo.service;
+
+import com.cydeo.dto.UserDTO;
+
+import javax.ws.rs.core.Response;
+import java.util.ArrayList;
+import java.util.List;
+
+// In-memory stand-in for Keycloak, so nothing needs to run on localhost:8080
+public class StubKeycloakService implements KeycloakService {
+
+    public final List<String> createdUsers = new ArrayList<>();
+    public final List<String> deletedUsers = new ArrayList<>();
+    public boolean unavailable;
+    // runs inside every call, before it succeeds or fails
+    public Runnable onCall = () -> {
+    };
+
+    @Override
+    public Response userCreate(UserDTO userDTO) {
+        checkAvailable();
+        if (!createdUsers.contains(userDTO.getUserName())) {
+            createdUsers.add(userDTO.getUserName());
+        }
+        return Response.status(Response.Status.CREATED).build();
+    }
+
+    @Override
+    public void delete(String username) {
+        checkAvailable();
+        createdUsers.remove(username);
+        deletedUsers.add(username);
+    }
+
+    private void checkAvailable() {
+        onCall.run();
+        if (unavailable) {
+            throw new IllegalStateException("Keycloak is unavailable");
+        }
+    }
+
+}
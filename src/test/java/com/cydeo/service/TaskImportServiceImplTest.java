@@ -0,0 +1,158 @@
+package com.cydeo.service;
+
+import com.cydeo.dto.ProjectDTO;
+import com.cydeo.dto.TaskDTO;
+import com.cydeo.dto.TaskImportItemDTO;
+import com.cydeo.dto.TaskImportResultDTO;
+import com.cydeo.dto.UserDTO;
+import com.cydeo.enums.ImportStatus;
+import com.cydeo.enums.Status;
+import com.cydeo.exception.InvalidBatchException;
+import com.cydeo.repository.ProjectRepository;
+import com.cydeo.repository.ProjectTaskStatsRepository;
+import com.cydeo.repository.TaskRepository;
+import com.cydeo.repository.UserRepository;
+import com.cydeo.service.impl.ProjectTaskStatsServiceImpl;
+import com.cydeo.service.impl.TaskImportServiceImpl;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.validation.Validation;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@TestPropertySource(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+// every chunk commits on its own, so the test cannot wrap the import in a rolled back transaction
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TaskImportServiceImplTest {
+
+    private static final int CHUNK_SIZE = 1000;
+    private static final int MAX_ITEMS = 50_000;
+
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private ProjectRepository projectRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ProjectTaskStatsRepository projectTaskStatsRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TaskImportService taskImportService;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        taskImportService = new TaskImportServiceImpl(taskRepository, projectRepository, userRepository,
+                new ProjectTaskStatsServiceImpl(projectTaskStatsRepository, taskRepository, transactionManager, 8),
+                Validation.buildDefaultValidatorFactory().getValidator(), transactionManager, entityManager,
+                CHUNK_SIZE, MAX_ITEMS);
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM tasks");
+    }
+
+    // project SP00 and employee sam are seeded by data.sql
+    private TaskDTO task(String projectCode, String userName, String subject) {
+        ProjectDTO project = new ProjectDTO();
+        project.setProjectCode(projectCode);
+        UserDTO employee = new UserDTO();
+        employee.setUserName(userName);
+        return new TaskDTO(null, project, employee, subject, subject + " detail", null, null);
+    }
+
+    @Test
+    void reports_every_item_and_saves_only_valid_ones() {
+        TaskImportResultDTO result = taskImportService.importTasks(Arrays.asList(
+                task("SP00", "sam", "Valid"),
+                task("SP99", "sam", "Unknown project"),
+                task("SP00", "nobody", "Unknown employee"),
+                task("SP00", "sam", " "),
+                null,
+                task(null, "sam", "No project code")));
+
+        assertThat(result.getReceived()).isEqualTo(6);
+        assertThat(result.getCreated()).isEqualTo(1);
+        assertThat(result.getRejected()).isEqualTo(5);
+        assertThat(result.getFailed()).isZero();
+        assertThat(result.getItems()).extracting(TaskImportItemDTO::getIndex).containsExactly(0, 1, 2, 3, 4, 5);
+        assertThat(result.getItems()).extracting(TaskImportItemDTO::getStatus).containsExactly(ImportStatus.CREATED,
+                ImportStatus.REJECTED, ImportStatus.REJECTED, ImportStatus.REJECTED, ImportStatus.REJECTED, ImportStatus.REJECTED);
+
+        TaskImportItemDTO created = result.getItems().get(0);
+        assertThat(created.getErrors()).isNull();
+        assertThat(taskRepository.findById(created.getId())).hasValueSatisfying(task -> {
+            assertThat(task.getTaskSubject()).isEqualTo("Valid");
+            assertThat(task.getTaskStatus()).isEqualTo(Status.OPEN);
+            assertThat(task.getAssignedDate()).isNotNull();
+        });
+
+        assertThat(result.getItems().get(1).getErrors()).containsExactly("project: no project with code SP99");
+        assertThat(result.getItems().get(2).getErrors()).containsExactly("assignedEmployee: no user with userName nobody");
+        assertThat(result.getItems().get(3).getErrors()).containsExactly("taskSubject: must not be blank");
+        assertThat(result.getItems().get(4).getErrors()).containsExactly("task: must not be null");
+        assertThat(result.getItems().get(5).getErrors()).containsExactly("project.projectCode: must not be blank");
+        assertThat(taskRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void large_batch_resolves_references_once_and_inserts_in_chunks() {
+        List<TaskDTO> tasks = new ArrayList<>(MAX_ITEMS);
+        for (int i = 0; i < MAX_ITEMS; i++) {
+            tasks.add(task("SP00", "sam", "Imported " + i));
+        }
+
+        statistics.clear();
+        TaskImportResultDTO result = taskImportService.importTasks(tasks);
+
+        assertThat(result.getCreated()).isEqualTo(MAX_ITEMS);
+        assertThat(result.getItems()).extracting(TaskImportItemDTO::getId).doesNotHaveDuplicates().doesNotContainNull();
+        // one lookup for the projects and one for the employees, whatever the batch size
+        assertThat(statistics.getQueryExecutionCount()).isEqualTo(2);
+        assertThat(statistics.getTransactionCount()).isEqualTo(MAX_ITEMS / CHUNK_SIZE);
+        assertThat(taskRepository.count()).isEqualTo(MAX_ITEMS);
+    }
+
+    @Test
+    void empty_and_oversized_batches_are_refused() {
+        assertThatThrownBy(() -> taskImportService.importTasks(List.of()))
+                .isInstanceOf(InvalidBatchException.class);
+
+        List<TaskDTO> tasks = new ArrayList<>();
+        for (int i = 0; i <= MAX_ITEMS; i++) {
+            tasks.add(task("SP00", "sam", "Imported " + i));
+        }
+        assertThatThrownBy(() -> taskImportService.importTasks(tasks))
+                .isInstanceOf(InvalidBatchException.class)
+                .hasMessageContaining(String.valueOf(MAX_ITEMS));
+    }
+
+}
@@ -0,0 +1,129 @@
+package com.cydeo.service;
+
+import com.cydeo.config.PaginationProperties;
+import com.cydeo.dto.PageDTO;
+import com.cydeo.dto.PageRequestDTO;
+import com.cydeo.dto.UserDTO;
+import com.cydeo.entity.User;
+import com.cydeo.enums.Gender;
+import com.cydeo.exception.InvalidPageException;
+import com.cydeo.mapper.RoleMapper;
+import com.cydeo.mapper.UserMapper;
+import com.cydeo.repository.UserRepository;
+import com.cydeo.service.impl.UserServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+@DataJpaTest
+@TestPropertySource(properties = "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect")
+class UserServiceImplPagingTest {
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private UserService userService;
+
+    @BeforeEach
+    void setUp() {
+        PaginationProperties paginationProperties = new PaginationProperties();
+        paginationProperties.setDefaultLimit(100);
+        paginationProperties.setMaxLimit(1000);
+        // only the listing is exercised, which needs none of the other collaborators
+        userService = new UserServiceImpl(userRepository, new UserMapper(new RoleMapper()), null, null, null, null, paginationProperties, transactionManager);
+    }
+
+    private void createUser(String userName, String firstName) {
+        User user = new User();
+        user.setFirstName(firstName);
+        user.setLastName("Doe");
+        user.setUserName(userName);
+        user.setPassWord("abc1");
+        user.setEnabled(true);
+        user.setGender(Gender.MALE);
+        user.setRole(userRepository.findByUserNameAndIsDeleted("sam", false).getRole());
+        userRepository.save(user);
+    }
+
+    @Test
+    void keyset_pages_walk_past_users_without_a_first_name() {
+        createUser("named-1@cydeo.com", "Zed");
+        createUser("named-2@cydeo.com", "Zed");
+        for (int i = 0; i < 5; i++) {
+            createUser("unnamed-" + i + "@cydeo.com", null);
+        }
+        entityManager.flush();
+
+        List<String> expected = userRepository.findAllByIsDeletedOrderByFirstNameDesc(false).stream()
+                .map(User::getUserName).collect(Collectors.toList());
+
+        // pages of 2 end on a user without a first name and carry on from there
+        List<String> userNames = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            // a cursor that does not move on would page forever
+            assertThat(++pages).isLessThanOrEqualTo(expected.size());
+            entityManager.clear();
+            PageDTO<UserDTO> page = userService.listAllUsers(new PageRequestDTO(2, cursor, null, false));
+            page.getContent().forEach(user -> userNames.add(user.getUserName()));
+            cursor = page.getPageInfo().getNextCursor();
+        } while (cursor != null);
+
+        assertThat(userNames).hasSameSizeAs(expected).containsExactlyInAnyOrderElementsOf(expected).doesNotHaveDuplicates();
+        assertThat(userNames.subList(0, 2)).containsExactlyInAnyOrder("named-1@cydeo.com", "named-2@cydeo.com");
+        assertThat(userNames.subList(userNames.size() - 5, userNames.size())).allMatch(userName -> userName.startsWith("unnamed-"));
+    }
+
+    @Test
+    void offset_pages_follow_the_keyset_order() {
+        createUser("named-1@cydeo.com", "Zed");
+        for (int i = 0; i < 3; i++) {
+            createUser("unnamed-" + i + "@cydeo.com", null);
+        }
+        entityManager.flush();
+
+        // H2 sorts NULLs low by default, which hides the difference; sort them high as Postgres does
+        entityManager.createNativeQuery("SET DEFAULT_NULL_ORDERING HIGH").executeUpdate();
+        List<String> expected;
+        List<String> userNames = new ArrayList<>();
+        try {
+            expected = userRepository.findAllByIsDeletedOrderByFirstNameDescIdDesc(false, PageRequest.of(0, 1000)).stream()
+                    .map(User::getUserName).collect(Collectors.toList());
+            for (int page = 0; page * 2 < expected.size(); page++) {
+                userService.listAllUsers(new PageRequestDTO(2, null, page, false)).getContent()
+                        .forEach(user -> userNames.add(user.getUserName()));
+            }
+        } finally {
+            entityManager.createNativeQuery("SET DEFAULT_NULL_ORDERING LOW").executeUpdate();
+        }
+
+        assertThat(userNames).containsExactlyElementsOf(expected);
+        assertThat(userNames.get(0)).isEqualTo("named-1@cydeo.com");
+        assertThat(userNames.subList(userNames.size() - 3, userNames.size())).allMatch(userName -> userName.startsWith("unnamed-"));
+    }
+
+    @Test
+    void negative_page_is_rejected() {
+        Throwable thrown = catchThrowable(() -> userService.listAllUsers(new PageRequestDTO(2, null, -1, false)));
+
+        assertThat(thrown).isInstanceOf(InvalidPageException.class).hasMessage("Invalid page");
+    }
+
+}
@@ -15,10 +15,11 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -38,13 +39,15 @@ public class UserServiceImplTest {
     @Mock
     private TaskService taskService;
     @Mock
-    private KeycloakService keycloakService;
+    private KeycloakOutboxService keycloakOutboxService;
     @Mock
-    private BCryptPasswordEncoder bCryptPasswordEncoder;
+    private PasswordHashingService passwordHashingService;
     @Mock
     private UserRepository userRepository;
     @Mock
     private UserMapper userMapper;
+    @Mock
+    private PlatformTransactionManager transactionManager;
 
     @InjectMocks
     private UserServiceImpl userService;
@@ -190,7 +193,7 @@ public class UserServiceImplTest {
     void should_encode_user_password_on_SAVE_operation(){
 
         //given
-        when(bCryptPasswordEncoder.encode(anyString())).thenReturn("encoded-password");
+        when(passwordHashingService.encode(anyString())).thenReturn("encoded-password");
         when(userMapper.convertToEntity(userDTO)).thenAnswer(invocation ->{
             UserDTO input = invocation.getArgument(0);
             user.setPassWord(input.getPassWord());
@@ -205,9 +208,14 @@ public class UserServiceImplTest {
         UserDTO savedUser = userService.save(userDTO);
 
         //then
-        verify(bCryptPasswordEncoder, times(1)).encode(anyString());
+        verify(passwordHashingService, times(1)).encode(anyString());
         assertEquals(expectedPassword, savedUser.getPassWord());
 
+        // hashed before a transaction, and with it a connection, is taken
+        InOrder inOrder = inOrder(passwordHashingService, transactionManager);
+        inOrder.verify(passwordHashingService).encode(anyString());
+        inOrder.verify(transactionManager).getTransaction(any());
+
         assertThat(user.getPassWord()).isEqualTo(expectedPassword);
 
 
@@ -218,7 +226,7 @@ public class UserServiceImplTest {
     void should_encode_user_password_on_UPDATE_operation(){
 
         when(userRepository.findByUserNameAndIsDeleted(anyString(), anyBoolean())).thenReturn(user);
-        when(bCryptPasswordEncoder.encode(anyString())).thenReturn("encoded-password");
+        when(passwordHashingService.encode(anyString())).thenReturn("encoded-password");
         when(userMapper.convertToEntity(userDTO)).thenAnswer(p->{
             UserDTO input = p.getArgument(0);
             user.setPassWord(input.getPassWord());
@@ -233,11 +241,37 @@ public class UserServiceImplTest {
         UserDTO updatedUser = userService.update(userDTO);
 
 
-        verify(bCryptPasswordEncoder, times(1)).encode(anyString());
+        verify(passwordHashingService, times(1)).encode(anyString());
         assertEquals(expectedPassword, updatedUser.getPassWord());
 
     }
 
+    @Test
+    void should_keep_stored_password_on_UPDATE_when_none_is_supplied(){
+
+        String storedHash = "$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z9a5ZMjJ0XKYSAOcCUwF0Dyy";
+
+        user.setPassWord(storedHash);
+        when(userRepository.findByUserNameAndIsDeleted(anyString(), anyBoolean())).thenReturn(user);
+        when(userMapper.convertToEntity(userDTO)).thenAnswer(p->{
+            UserDTO input = p.getArgument(0);
+            user.setPassWord(input.getPassWord());
+            return user;
+        });
+        when(userRepository.save(user)).thenReturn(user);
+        when(userMapper.convertToDto(user)).thenReturn(userDTO);
+
+        // missing, and read back with the stored hash in it
+        for (String password : new String[]{null, storedHash}) {
+            userDTO.setPassWord(password);
+            userService.update(userDTO);
+            assertThat(user.getPassWord()).isEqualTo(storedHash);
+        }
+
+        verify(passwordHashingService, never()).encode(any());
+
+    }
+
     // 	User Story 2: As an admin, I shouldn't be able to delete a manager user,
     // 	if that manager has projects linked to them to prevent data loss.
     //
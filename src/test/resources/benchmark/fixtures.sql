@@ -0,0 +1,21 @@
+-- Benchmark fixtures, loaded after data.sql. Generated with H2's SYSTEM_RANGE so every run sees the same rows:
+-- 200 projects managed by ozzy (id 2), each with 50 tasks assigned to sam (id 3), statuses cycling OPEN, IN_PROGRESS, COMPLETE.
+-- Project ids are 2..201 (SP00 is 1) and task ids 1..10000; the sequences are moved past them at the end.
+
+INSERT INTO projects(id, insert_date_time, insert_user_id, is_deleted, last_update_date_time, last_update_user_id, project_code, project_name,
+                     project_detail, project_status, start_date, end_date, manager_id)
+SELECT X + 1, '2022-01-05 00:00:00', 2, false, '2022-01-05 00:00:00', 2, 'BM' || LPAD(X, 4, '0'), 'Benchmark ' || X,
+       'Benchmark Project ' || X, 'IN_PROGRESS', '2022-01-05', '2022-06-12', 2
+FROM SYSTEM_RANGE(1, 200);
+
+INSERT INTO tasks(id, insert_date_time, insert_user_id, is_deleted, last_update_date_time, last_update_user_id, task_subject, task_detail,
+                  task_status, assigned_date, assigned_employee_id, project_id)
+SELECT (p.id - 2) * 50 + t.X, '2022-01-05 00:00:00', 2, false, '2022-01-05 00:00:00', 2, 'Task ' || t.X, 'Benchmark Task ' || t.X,
+       CASEWHEN(MOD(t.X, 3) = 0, 'OPEN', CASEWHEN(MOD(t.X, 3) = 1, 'IN_PROGRESS', 'COMPLETE')),
+       DATEADD('DAY', MOD(t.X, 150), DATE '2022-01-05'), 3, p.id
+FROM projects p
+         CROSS JOIN SYSTEM_RANGE(1, 50) t
+WHERE p.project_code LIKE 'BM%';
+
+ALTER SEQUENCE projects_id_seq RESTART WITH 202;
+ALTER SEQUENCE tasks_id_seq RESTART WITH 10001;
@@ -0,0 +1,31 @@
+-- The schema ddl-auto=update created for the application before the Flyway migrations, with bigserial spelled
+-- out as H2 has no such type: a sequence named <table>_id_seq that the id column takes its default from.
+
+create sequence roles_id_seq;
+create sequence users_id_seq;
+create sequence projects_id_seq;
+create sequence tasks_id_seq;
+create table roles (id bigint default next value for roles_id_seq not null, insert_date_time timestamp not null, insert_user_id int8 not null, is_deleted boolean, last_update_date_time timestamp not null, last_update_user_id int8 not null, description varchar(255), primary key (id));
+create table users (id bigint default next value for users_id_seq not null, insert_date_time timestamp not null, insert_user_id int8 not null, is_deleted boolean, last_update_date_time timestamp not null, last_update_user_id int8 not null, enabled boolean not null, first_name varchar(255), gender varchar(255), last_name varchar(255), pass_word varchar(255) not null, phone varchar(255), user_name varchar(255) not null, role_id int8, primary key (id));
+create table projects (id bigint default next value for projects_id_seq not null, insert_date_time timestamp not null, insert_user_id int8 not null, is_deleted boolean, last_update_date_time timestamp not null, last_update_user_id int8 not null, end_date date, project_code varchar(255), project_detail varchar(255), project_name varchar(255), project_status varchar(255), start_date date, manager_id int8, primary key (id));
+create table tasks (id bigint default next value for tasks_id_seq not null, insert_date_time timestamp not null, insert_user_id int8 not null, is_deleted boolean, last_update_date_time timestamp not null, last_update_user_id int8 not null, assigned_date date, task_detail varchar(255), task_status varchar(255), task_subject varchar(255), assigned_employee_id int8, project_id int8, primary key (id));
+alter table projects add constraint UK_1batb7mq0elcfcs3d6maqo6sg unique (project_code);
+alter table users add constraint UK_k8d0f2n7n88w1a16yhua64onx unique (user_name);
+alter table projects add constraint FKurl8wb4qjly2c5xwdcpetuxs foreign key (manager_id) references users;
+alter table tasks add constraint FK7iqrtjp2fehh8fpmy5ptd425u foreign key (assigned_employee_id) references users;
+alter table tasks add constraint FKsfhn82y57i3k9uxww1s007acc foreign key (project_id) references projects;
+alter table users add constraint FKp56c1712k691lhsyewcssf40f foreign key (role_id) references roles;
+
+-- rows as the old application inserted them, with ids from the column defaults
+insert into roles (insert_date_time, insert_user_id, is_deleted, last_update_date_time, last_update_user_id, description)
+values ('2022-01-05 00:00:00', 1, false, '2022-01-05 00:00:00', 1, 'Admin'),
+       ('2022-01-05 00:00:00', 1, false, '2022-01-05 00:00:00', 1, 'Manager'),
+       ('2022-01-05 00:00:00', 1, false, '2022-01-05 00:00:00', 1, 'Employee');
+insert into users (insert_date_time, insert_user_id, is_deleted, last_update_date_time, last_update_user_id, enabled, first_name, gender, last_name, pass_word, phone, user_name, role_id)
+values ('2022-01-05 00:00:00', 1, false, '2022-01-05 00:00:00', 1, true, 'Legacy', 'MALE', 'Manager', 'abc1', '', 'legacy-manager', 2),
+       ('2022-01-05 00:00:00', 1, false, '2022-01-05 00:00:00', 1, true, 'Legacy', 'FEMALE', 'Employee', 'abc1', '', 'legacy-employee', 3);
+insert into projects (insert_date_time, insert_user_id, is_deleted, last_update_date_time, last_update_user_id, end_date, project_code, project_detail, project_name, project_status, start_date, manager_id)
+values ('2022-01-05 00:00:00', 1, false, '2022-01-05 00:00:00', 1, '2022-06-12', 'LEGACY', 'Legacy Project', 'Legacy', 'OPEN', '2022-01-05', 1);
+insert into tasks (insert_date_time, insert_user_id, is_deleted, last_update_date_time, last_update_user_id, assigned_date, task_detail, task_status, task_subject, assigned_employee_id, project_id)
+values ('2022-01-05 00:00:00', 1, false, '2022-01-05 00:00:00', 1, '2022-01-05', 'detail', 'OPEN', 'Legacy task', 2, 1),
+       ('2022-01-05 00:00:00', 1, false, '2022-01-05 00:00:00', 1, '2022-01-05', 'detail', 'OPEN', 'Legacy task', 2, 1);